@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Runs the benchmarks with the GC profiler attached (to report the allocation per operation).
+ * <p>
+ * The arguments are the usual JMH ones (e.g. {@code Parser -f 1 -i 3}); without a benchmark selection all the benchmarks are run.
+ * </p>
+ */
+public final class BenchmarkRunner{
+
+	private BenchmarkRunner(){}
+
+
+	public static void main(final String[] args) throws CommandLineOptionException, RunnerException{
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		final OptionsBuilder options = new OptionsBuilder();
+		options.parent(commandLineOptions)
+			.addProfiler(GCProfiler.class);
+		if(commandLineOptions.getIncludes().isEmpty())
+			options.include(BenchmarkRunner.class.getPackageName() + ".*");
+
+		new Runner(options.build())
+			.run();
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import io.github.mtrevisan.boxon.annotations.bindings.ByteOrder;
+import io.github.mtrevisan.boxon.core.helpers.BitReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Micro-benchmark of the reads of {@link BitReader}, aligned ({@code offset} = 0) and unaligned to the byte boundary.
+ * <p>Each invocation reads {@value #READS} values, the reported time is per single read.</p>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BitReaderBenchmark{
+
+	private static final int READS = 256;
+
+
+	/** Data for the reads of a given number of bits. */
+	@State(Scope.Benchmark)
+	public static class VariableWidth{
+		@Param({"1", "3", "8", "13", "16", "31", "32", "63", "64"})
+		private int width;
+		@Param({"0", "3"})
+		private int offset;
+
+		private byte[] data;
+
+		@Setup
+		public void setup(){
+			data = createData(offset, width, width);
+		}
+	}
+
+	/** Data for the reads of primitive types (up to 64 bits each). */
+	@State(Scope.Benchmark)
+	public static class FixedWidth{
+		@Param({"0", "3"})
+		private int offset;
+
+		private byte[] data;
+
+		@Setup
+		public void setup(){
+			data = createData(offset, Long.SIZE, offset);
+		}
+	}
+
+
+	private static byte[] createData(final int offset, final int width, final long seed){
+		final byte[] data = new byte[(offset + READS * width + Byte.SIZE - 1) / Byte.SIZE];
+		new Random(seed).nextBytes(data);
+		return data;
+	}
+
+	private static BitReader createReader(final byte[] data, final int offset){
+		final BitReader reader = BitReader.wrap(data);
+		reader.skip(offset);
+		return reader;
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(READS)
+	public void readBits(final VariableWidth state, final Blackhole blackhole){
+		final BitReader reader = createReader(state.data, state.offset);
+		final int width = state.width;
+		for(int i = 0; i < READS; i ++)
+			blackhole.consume(reader.readBits(width));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(READS)
+	public void readBitSet(final VariableWidth state, final Blackhole blackhole){
+		final BitReader reader = createReader(state.data, state.offset);
+		final int width = state.width;
+		for(int i = 0; i < READS; i ++)
+			blackhole.consume(reader.readBitSet(width));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(READS)
+	public void readBigInteger(final VariableWidth state, final Blackhole blackhole){
+		final BitReader reader = createReader(state.data, state.offset);
+		final int width = state.width;
+		for(int i = 0; i < READS; i ++)
+			blackhole.consume(reader.readBigInteger(width, ByteOrder.BIG_ENDIAN));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(READS)
+	public void readByte(final FixedWidth state, final Blackhole blackhole){
+		final BitReader reader = createReader(state.data, state.offset);
+		for(int i = 0; i < READS; i ++)
+			blackhole.consume(reader.readByte());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(READS)
+	public void readShort(final FixedWidth state, final Blackhole blackhole){
+		final BitReader reader = createReader(state.data, state.offset);
+		for(int i = 0; i < READS; i ++)
+			blackhole.consume(reader.readShort(ByteOrder.BIG_ENDIAN));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(READS)
+	public void readInt(final FixedWidth state, final Blackhole blackhole){
+		final BitReader reader = createReader(state.data, state.offset);
+		for(int i = 0; i < READS; i ++)
+			blackhole.consume(reader.readInt(ByteOrder.BIG_ENDIAN));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(READS)
+	public void readLong(final FixedWidth state, final Blackhole blackhole){
+		final BitReader reader = createReader(state.data, state.offset);
+		for(int i = 0; i < READS; i ++)
+			blackhole.consume(reader.readLong(ByteOrder.BIG_ENDIAN));
+	}
+
+}
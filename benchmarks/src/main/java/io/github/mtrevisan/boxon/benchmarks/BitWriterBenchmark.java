@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import io.github.mtrevisan.boxon.core.helpers.BitWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Micro-benchmark of the writes of {@link BitWriter}, aligned ({@code offset} = 0) and unaligned to the byte boundary.
+ * <p>Each invocation writes {@value #WRITES} values, the reported time is per single write.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BitWriterBenchmark{
+
+	private static final int WRITES = 256;
+
+
+	@Param({"1", "3", "8", "13", "16", "31", "32", "63", "64"})
+	private int width;
+	@Param({"0", "3"})
+	private int offset;
+
+	private BitSet[] values;
+
+
+	@Setup
+	public void setup(){
+		final Random random = new Random(width);
+		values = new BitSet[WRITES];
+		for(int i = 0; i < WRITES; i ++)
+			values[i] = BitSet.valueOf(new long[]{random.nextLong() & (width == Long.SIZE? -1l: (1l << width) - 1)});
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(WRITES)
+	public byte[] writeBitSet(){
+		final BitWriter writer = BitWriter.create();
+		writer.skipBits(offset);
+		for(int i = 0; i < WRITES; i ++)
+			writer.writeBitSet(values[i], width);
+		return writer.array();
+	}
+
+}
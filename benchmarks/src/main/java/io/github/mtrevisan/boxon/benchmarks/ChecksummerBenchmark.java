@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import io.github.mtrevisan.boxon.annotations.checksummers.Checksummer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Checksum;
+
+
+/**
+ * Micro-benchmark of the {@link Checksummer checksummers}, both one-shot and incremental.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChecksummerBenchmark{
+
+	private static final String CHECKSUMMERS_PACKAGE = Checksummer.class.getPackageName();
+
+
+	@Param({"CRC7", "CRC8CCITT", "CRC8DallasMaxim", "CRC16", "CRC16CCITT_FALSE", "CRC16CCITT_XMODEM", "CRC32", "BSD16"})
+	private String algorithm;
+	@Param({"64", "1024", "16384", "65536"})
+	private int size;
+
+	private Checksummer checksummer;
+	private byte[] data;
+
+
+	@Setup
+	public void setup() throws ReflectiveOperationException{
+		final Constructor<?> constructor = Class.forName(CHECKSUMMERS_PACKAGE + "." + algorithm)
+			.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		checksummer = (Checksummer)constructor.newInstance();
+
+		data = new byte[size];
+		new Random(size).nextBytes(data);
+	}
+
+
+	@Benchmark
+	public Number calculateChecksum(){
+		return checksummer.calculateChecksum(data, 0, size);
+	}
+
+	@Benchmark
+	public long accumulate(){
+		final Checksum accumulator = checksummer.createAccumulator();
+		accumulator.update(data, 0, size);
+		return accumulator.getValue();
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import io.github.mtrevisan.boxon.core.Composer;
+import io.github.mtrevisan.boxon.core.Core;
+import io.github.mtrevisan.boxon.core.Parser;
+import io.github.mtrevisan.boxon.core.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * End-to-end benchmark of {@link Composer#compose(Object)}, the message is the one obtained by parsing the sample payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComposerBenchmark{
+
+	@Param({"QUECLINK_ACK_HEX", "QUECLINK_ACK_ASCII"})
+	private Protocol protocol;
+
+	private Composer composer;
+	private Object message;
+
+
+	@Setup
+	public void setup() throws Exception{
+		final Core core = protocol.createCore();
+		composer = Composer.create(core);
+
+		final List<Response<byte[], Object>> result = Parser.create(core)
+			.parse(protocol.getPayload());
+		if(result.size() != 1 || result.getFirst().hasError())
+			throw new IllegalStateException("Cannot parse the payload of " + protocol);
+		message = result.getFirst().getMessage();
+	}
+
+
+	@Benchmark
+	public Response<Object, byte[]> compose(){
+		return composer.compose(message);
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import io.github.mtrevisan.boxon.core.Configurator;
+import io.github.mtrevisan.boxon.core.Core;
+import io.github.mtrevisan.boxon.core.CoreBuilder;
+import io.github.mtrevisan.boxon.core.Response;
+import io.github.mtrevisan.boxon.core.codecs.queclink.REGConfigurationASCII;
+import io.github.mtrevisan.boxon.exceptions.ProtocolException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * End-to-end benchmark of {@link Configurator#composeConfiguration(String, String, Map)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfiguratorBenchmark{
+
+	private static final String PROTOCOL_VERSION = "1.20";
+	private static final String MESSAGE_START = "AT+GTREG";
+
+
+	private Configurator configurator;
+	private Map<String, Object> configurationData;
+
+
+	@Setup
+	public void setup() throws Exception{
+		final Core core = CoreBuilder.builder()
+			.withDefaultCodecs()
+			.withConfiguration(REGConfigurationASCII.class)
+			.build();
+		configurator = Configurator.create(core);
+
+		configurationData = new HashMap<>(11);
+		configurationData.put("Weekday", "TUESDAY|WEDNESDAY");
+		configurationData.put("Update Over-The-Air", "TRUE");
+		configurationData.put("Header", "GTREG");
+		configurationData.put("Download protocol", "HTTP");
+		configurationData.put("Download URL", Map.of(
+			"URL", "http://url.com",
+			"username", "username",
+			"password", "password"
+		));
+		configurationData.put("Update mode", 0);
+		configurationData.put("Maximum download retry count", 2);
+		configurationData.put("Message counter", "007B");
+		configurationData.put("Operation mode", 1);
+		configurationData.put("Password", "pass");
+		configurationData.put("Download timeout", 25);
+
+		if(compose().hasError())
+			throw new IllegalStateException("Cannot compose the configuration");
+	}
+
+
+	@Benchmark
+	public Response<String, byte[]> compose() throws ProtocolException{
+		return configurator.composeConfiguration(PROTOCOL_VERSION, MESSAGE_START, configurationData);
+	}
+
+}
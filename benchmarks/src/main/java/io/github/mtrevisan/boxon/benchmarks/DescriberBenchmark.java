@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import io.github.mtrevisan.boxon.core.Core;
+import io.github.mtrevisan.boxon.core.CoreBuilder;
+import io.github.mtrevisan.boxon.core.Describer;
+import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageHex;
+import io.github.mtrevisan.boxon.core.codecs.queclink.DeviceTypes;
+import io.github.mtrevisan.boxon.core.codecs.queclink.REGConfigurationASCII;
+import io.github.mtrevisan.boxon.exceptions.BoxonException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Benchmark of the {@link Describer} methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DescriberBenchmark{
+
+	private Describer describer;
+
+
+	@Setup
+	public void setup() throws Exception{
+		final Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", DeviceTypes.<Byte>create()
+				.with((byte)0x46, "QUECLINK_GB200S"))
+			.withContext(DescriberBenchmark.class, "headerLength")
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageHex.class)
+			.withConfiguration(REGConfigurationASCII.class)
+			.build();
+		describer = Describer.create(core);
+	}
+
+	private static int headerLength(){
+		return 4;
+	}
+
+
+	@Benchmark
+	public List<Map<String, Object>> describeParsing() throws BoxonException{
+		return describer.describeParsing();
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> describeTemplate() throws BoxonException{
+		return describer.describeTemplate();
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> describeConfiguration() throws BoxonException{
+		return describer.describeConfiguration();
+	}
+
+}
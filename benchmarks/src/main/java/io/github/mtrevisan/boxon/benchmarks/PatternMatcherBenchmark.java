@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import io.github.mtrevisan.boxon.core.parsers.matchers.BNDMPatternMatcher;
+import io.github.mtrevisan.boxon.core.parsers.matchers.KMPPatternMatcher;
+import io.github.mtrevisan.boxon.core.parsers.matchers.KRPatternMatcher;
+import io.github.mtrevisan.boxon.core.parsers.matchers.PatternMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Micro-benchmark of the {@link PatternMatcher pattern matchers}, searching each header of a template set (as done while resynchronizing
+ * after a decoding error).
+ * <p>The source is random data with the headers at its end, so that every search runs through the whole source.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternMatcherBenchmark{
+
+	/** Header set of the Queclink templates. */
+	private static final String[] QUECLINK_HEADERS = {"+ACK", "+ACK:", "+BCK:", "+RESP:", "+BUFF:", "+SACK:GTHBD", "AT+"};
+	/** Header set of short, overlapping, headers. */
+	private static final String[] SHORT_HEADERS = {"tc1", "tc2", "tc3", "tc4", "tc5"};
+
+
+	@Param({"BNDM", "KMP", "KR"})
+	private String matcher;
+	@Param({"QUECLINK", "SHORT"})
+	private String headerSet;
+	@Param({"256", "4096"})
+	private int size;
+
+	private PatternMatcher patternMatcher;
+	private byte[] source;
+	private byte[][] patterns;
+	private int[][] processedPatterns;
+
+
+	@Setup
+	public void setup(){
+		patternMatcher = switch(matcher){
+			case "BNDM" -> BNDMPatternMatcher.getInstance();
+			case "KMP" -> KMPPatternMatcher.getInstance();
+			case "KR" -> KRPatternMatcher.getInstance();
+			default -> throw new IllegalArgumentException("Unknown matcher: " + matcher);
+		};
+
+		final String[] headers = (headerSet.equals("QUECLINK")? QUECLINK_HEADERS: SHORT_HEADERS);
+		final int length = headers.length;
+		patterns = new byte[length][];
+		processedPatterns = new int[length][];
+		source = new byte[size];
+		final boolean[] headerStarts = new boolean[1 << Byte.SIZE];
+		for(int i = 0; i < length; i ++)
+			headerStarts[headers[i].charAt(0)] = true;
+		final Random random = new Random(size);
+		for(int i = 0; i < size; i ++){
+			//printable characters, but never the first character of a header
+			byte value;
+			do{
+				value = (byte)('a' + random.nextInt(26));
+			}while(headerStarts[value]);
+			source[i] = value;
+		}
+		int position = size;
+		for(int i = 0; i < length; i ++){
+			patterns[i] = headers[i].getBytes(StandardCharsets.US_ASCII);
+			processedPatterns[i] = patternMatcher.preProcessPattern(patterns[i]);
+
+			position -= patterns[i].length;
+		}
+		for(int i = 0; i < length; i ++){
+			System.arraycopy(patterns[i], 0, source, position, patterns[i].length);
+			position += patterns[i].length;
+		}
+	}
+
+
+	@Benchmark
+	public void indexOf(final Blackhole blackhole){
+		for(int i = 0, length = patterns.length; i < length; i ++)
+			blackhole.consume(patternMatcher.indexOf(source, 1, patterns[i], processedPatterns[i]));
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import io.github.mtrevisan.boxon.core.Core;
+import io.github.mtrevisan.boxon.core.CoreBuilder;
+import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageASCII;
+import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageHex;
+import io.github.mtrevisan.boxon.core.codecs.queclink.DeviceTypes;
+import io.github.mtrevisan.boxon.core.codecs.teltonika.MessageHex;
+import io.github.mtrevisan.boxon.exceptions.BoxonException;
+import io.github.mtrevisan.boxon.helpers.StringHelper;
+
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * The protocols (templates and sample payloads) the benchmarks are run over.
+ */
+public enum Protocol{
+
+	/** Queclink ACK message, binary. */
+	QUECLINK_ACK_HEX(ACKMessageHex.class, (byte)0x46, "QUECLINK_GB200S",
+		StringHelper.hexToByteArray("2b41434b066f2446010a0311235e40035110420600ffff07e30405083639001265b60d0a")),
+	/** Queclink ACK message, ASCII. */
+	QUECLINK_ACK_ASCII(ACKMessageASCII.class, (byte)0xCF, "QUECLINK_GV350M",
+		"+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$".getBytes(StandardCharsets.US_ASCII)),
+	/** Teltonika codec 8 message. */
+	TELTONIKA(MessageHex.class, (byte)0x00, null,
+		StringHelper.hexToByteArray("000000000000003608010000016B40D8EA30010000000000000000000000000000000105021503010101425E0F01F10000601A014E0000000000000000010000C7CF"));
+
+
+	private final Class<?> templateClass;
+	private final byte deviceTypeCode;
+	private final String deviceTypeName;
+	private final byte[] payload;
+
+
+	Protocol(final Class<?> templateClass, final byte deviceTypeCode, final String deviceTypeName, final byte[] payload){
+		this.templateClass = templateClass;
+		this.deviceTypeCode = deviceTypeCode;
+		this.deviceTypeName = deviceTypeName;
+		this.payload = payload;
+	}
+
+
+	/**
+	 * Create a core with the template of this protocol.
+	 *
+	 * @return	The core.
+	 * @throws BoxonException	If the core cannot be built.
+	 * @throws NoSuchMethodException	If the context method cannot be found.
+	 */
+	public Core createCore() throws BoxonException, NoSuchMethodException{
+		final CoreBuilder builder = CoreBuilder.builder();
+		if(deviceTypeName != null)
+			builder.withContext("deviceTypes", DeviceTypes.<Byte>create()
+					.with(deviceTypeCode, deviceTypeName))
+				.withContext(Protocol.class, "headerLength");
+		return builder.withDefaultCodecs()
+			.withTemplate(templateClass)
+			.build();
+	}
+
+	/**
+	 * The sample payload of this protocol.
+	 *
+	 * @return	The payload.
+	 */
+	public byte[] getPayload(){
+		return payload.clone();
+	}
+
+
+	private static int headerLength(){
+		return 4;
+	}
+
+}
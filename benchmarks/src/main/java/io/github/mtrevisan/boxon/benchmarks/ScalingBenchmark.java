@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import io.github.mtrevisan.boxon.core.Core;
+import io.github.mtrevisan.boxon.core.Parser;
+import io.github.mtrevisan.boxon.core.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Benchmark of the parsing under concurrency: a parser shared among all the threads, a parser for each thread (on a shared core), and a
+ * core (and parser) for each thread.
+ * <p>Run it through {@link ScalingRunner} to obtain the scaling efficiency and the contended structures.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScalingBenchmark{
+
+	/** Serializes the creation of the cores (the template parser is shared among them). */
+	private static final Object CORE_CREATION_LOCK = new Object();
+
+
+	@State(Scope.Benchmark)
+	public static class SharedState{
+		@Param({"QUECLINK_ACK_HEX"})
+		private Protocol protocol;
+
+		private Core core;
+		private Parser parser;
+		private byte[] payload;
+
+		@Setup
+		public void setup() throws Exception{
+			synchronized(CORE_CREATION_LOCK){
+				core = protocol.createCore();
+			}
+			parser = Parser.create(core);
+			payload = protocol.getPayload();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadParserState{
+		private Parser parser;
+
+		@Setup
+		public void setup(final SharedState shared){
+			parser = Parser.create(shared.core);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadCoreState{
+		private Parser parser;
+
+		@Setup
+		public void setup(final SharedState shared) throws Exception{
+			synchronized(CORE_CREATION_LOCK){
+				parser = Parser.create(shared.protocol.createCore());
+			}
+		}
+	}
+
+
+	@Benchmark
+	public List<Response<byte[], Object>> sharedParser(final SharedState shared){
+		return shared.parser.parse(shared.payload);
+	}
+
+	@Benchmark
+	public List<Response<byte[], Object>> parserPerThread(final SharedState shared, final ThreadParserState state){
+		return state.parser.parse(shared.payload);
+	}
+
+	@Benchmark
+	public List<Response<byte[], Object>> corePerThread(final SharedState shared, final ThreadCoreState state){
+		return state.parser.parse(shared.payload);
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.benchmarks;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+
+/**
+ * Runs {@link ScalingBenchmark} at an increasing number of threads, both on platform and on virtual threads, and reports:
+ * <ul>
+ *	<li>the throughput and the scaling efficiency (throughput over the single-thread throughput times the number of threads),</li>
+ *	<li>the contended structures, that is the monitors ({@code synchronized}) and the parked locks (e.g. {@code ReentrantLock}),
+ *		along with the Boxon method that acquires them, and the total time spent waiting on them,</li>
+ *	<li>the virtual threads pinned to their carrier, along with the Boxon method that pins them.</li>
+ * </ul>
+ * <p>
+ * The contention is recorded through the JDK Flight Recorder ({@code jdk.JavaMonitorEnter}, {@code jdk.ThreadPark},
+ * {@code jdk.VirtualThreadPinned}).<br />
+ * The arguments are the usual JMH ones (e.g. {@code -wi 1 -i 3}), plus an optional {@code -threads 1,2,4} to change the thread counts.
+ * </p>
+ */
+public final class ScalingRunner{
+
+	private static final int[] DEFAULT_THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+	private static final String[] BENCHMARKS = {"sharedParser", "parserPerThread", "corePerThread"};
+	private static final String[] EXECUTORS = {"PLATFORM", "VIRTUAL"};
+
+	private static final String BOXON_PACKAGE = "io.github.mtrevisan.boxon.";
+	private static final String BENCHMARKS_PACKAGE = ScalingRunner.class.getPackageName();
+	private static final int TOP_ENTRIES = 5;
+
+
+	private record Contention(String structure, long count, Duration duration){}
+
+
+	private ScalingRunner(){}
+
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException{
+		int[] threadCounts = DEFAULT_THREAD_COUNTS;
+		if(args.length >= 2 && args[0].equals("-threads")){
+			threadCounts = Stream.of(args[1].split(","))
+				.mapToInt(Integer::parseInt)
+				.toArray();
+			args = Arrays.copyOfRange(args, 2, args.length);
+		}
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+		final Path recordingsDirectory = Files.createTempDirectory("boxon-scaling");
+		for(final String executor : EXECUTORS)
+			for(final String benchmark : BENCHMARKS){
+				System.out.printf("%n=== %s, %s threads ===%n", benchmark, executor.toLowerCase());
+
+				double singleThreadScore = Double.NaN;
+				for(final int threads : threadCounts){
+					final Path recording = recordingsDirectory.resolve(benchmark + "-" + executor + "-" + threads + ".jfr");
+					final double score = run(commandLineOptions, benchmark, executor, threads, recording);
+					if(Double.isNaN(singleThreadScore))
+						singleThreadScore = score / threads;
+
+					System.out.printf("threads %2d: %10.1f ops/ms, efficiency %5.1f%%%n", threads, score,
+						100. * score / (threads * singleThreadScore));
+					report(recording);
+				}
+			}
+	}
+
+	private static double run(final CommandLineOptions commandLineOptions, final String benchmark, final String executor, final int threads,
+			final Path recording) throws RunnerException{
+		final OptionsBuilder options = new OptionsBuilder();
+		options.parent(commandLineOptions)
+			.include(ScalingBenchmark.class.getName() + "." + benchmark + "$")
+			.threads(threads)
+			.verbosity(VerboseMode.SILENT)
+			.jvmArgsAppend("-Djmh.executor=" + executor, "-Xlog:jfr+startup=error",
+				"-XX:StartFlightRecording:filename=" + recording
+					+ ",jdk.JavaMonitorEnter#threshold=0ms,jdk.ThreadPark#threshold=0ms,jdk.VirtualThreadPinned#threshold=0ms");
+
+		final Collection<RunResult> results = new Runner(options.build())
+			.run();
+		return results.iterator().next()
+			.getPrimaryResult()
+			.getScore();
+	}
+
+	private static void report(final Path recording) throws IOException{
+		if(!Files.exists(recording))
+			return;
+
+		final Map<String, Contention> contentions = new HashMap<>(0);
+		final Map<String, Contention> pinnings = new HashMap<>(0);
+		for(final RecordedEvent event : RecordingFile.readAllEvents(recording)){
+			//skip the waits of the harness
+			final String frame = boxonFrame(event.getStackTrace());
+			if(frame == null)
+				continue;
+
+			switch(event.getEventType().getName()){
+				case "jdk.JavaMonitorEnter" -> accumulate(contentions, structure(event.getClass("monitorClass"), frame), event);
+				case "jdk.ThreadPark" -> accumulate(contentions, structure(event.getClass("parkedClass"), frame), event);
+				case "jdk.VirtualThreadPinned" -> accumulate(pinnings, frame, event);
+				default -> {}
+			}
+		}
+		Files.delete(recording);
+
+		print("contended", contentions.values());
+		print("pinned", pinnings.values());
+	}
+
+	private static String structure(final RecordedClass type, final String frame){
+		return (type != null? type.getName() + " @ " + frame: frame);
+	}
+
+	/** The first frame of the stack trace that belongs to Boxon (the benchmark classes excluded), {@code null} if none. */
+	private static String boxonFrame(final RecordedStackTrace stackTrace){
+		if(stackTrace != null)
+			for(final RecordedFrame frame : stackTrace.getFrames()){
+				final String typeName = frame.getMethod().getType().getName();
+				if(typeName.startsWith(BOXON_PACKAGE) && !typeName.startsWith(BENCHMARKS_PACKAGE))
+					return typeName + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+			}
+		return null;
+	}
+
+	private static void accumulate(final Map<String, Contention> contentions, final String structure, final RecordedEvent event){
+		contentions.merge(structure, new Contention(structure, 1l, event.getDuration()),
+			(a, b) -> new Contention(structure, a.count + b.count, a.duration.plus(b.duration)));
+	}
+
+	private static void print(final String kind, final Collection<Contention> contentions){
+		final List<Contention> sorted = new ArrayList<>(contentions);
+		sorted.sort((a, b) -> b.duration.compareTo(a.duration));
+		for(int i = 0, length = Math.min(TOP_ENTRIES, sorted.size()); i < length; i ++){
+			final Contention contention = sorted.get(i);
+			System.out.printf("    %s %6d times, %8.3f ms: %s%n", kind, contention.count, contention.duration.toNanos() / 1_000_000.,
+				contention.structure);
+		}
+	}
+
+}
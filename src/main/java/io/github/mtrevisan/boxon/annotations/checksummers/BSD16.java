@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.boxon.annotations.checksummers;
 
+import java.util.zip.Checksum;
+
 
 /**
  * Calculates a 16-bit BSD checksum from a sequence of bytes.
@@ -40,11 +42,45 @@ public final class BSD16 implements Checksummer{
 
 	@Override
 	public Number calculateChecksum(final byte[] data, final int start, final int end){
-		int checksum = 0;
-		for(int i = Math.max(start, 0), length = Math.min(end, data.length); i < length; i ++)
-			//apply circular right shift and add a new value
-			checksum = ((checksum >>> 1) + ((checksum & 1) << LEFT_SHIFT) + (data[i] & 0xFF));
-		return (short)checksum;
+		return (short)update(0, data, Math.max(start, 0), Math.min(end, data.length));
+	}
+
+	@Override
+	public Checksum createAccumulator(){
+		return new Checksum(){
+			private int checksum;
+
+			@Override
+			public void update(final int datum){
+				checksum = BSD16.update(checksum, datum);
+			}
+
+			@Override
+			public void update(final byte[] data, final int offset, final int length){
+				checksum = BSD16.update(checksum, data, offset, offset + length);
+			}
+
+			@Override
+			public long getValue(){
+				return (checksum & 0xFFFF);
+			}
+
+			@Override
+			public void reset(){
+				checksum = 0;
+			}
+		};
+	}
+
+	private static int update(int checksum, final byte[] data, final int start, final int end){
+		for(int i = start; i < end; i ++)
+			checksum = update(checksum, data[i]);
+		return checksum;
+	}
+
+	private static int update(final int checksum, final int datum){
+		//apply circular right shift and add a new value
+		return ((checksum >>> 1) + ((checksum & 1) << LEFT_SHIFT) + (datum & 0xFF));
 	}
 
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.annotations.checksummers;
+
+import java.util.Arrays;
+import java.util.zip.Checksum;
+
+
+/**
+ * Accumulates the data in a buffer and delegates the calculation to a {@link Checksummer} upon request of the value.
+ */
+final class BufferedChecksum implements Checksum{
+
+	private final Checksummer checksummer;
+
+	private byte[] buffer = new byte[64];
+	private int count;
+
+
+	BufferedChecksum(final Checksummer checksummer){
+		this.checksummer = checksummer;
+	}
+
+
+	@Override
+	public void update(final int datum){
+		ensureCapacity(count + 1);
+		buffer[count ++] = (byte)datum;
+	}
+
+	@Override
+	public void update(final byte[] data, final int offset, final int length){
+		ensureCapacity(count + length);
+		System.arraycopy(data, offset, buffer, count, length);
+		count += length;
+	}
+
+	private void ensureCapacity(final int minCapacity){
+		if(minCapacity > buffer.length)
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, minCapacity));
+	}
+
+	@Override
+	public long getValue(){
+		return checksummer.calculateChecksum(buffer, 0, count)
+			.longValue();
+	}
+
+	@Override
+	public void reset(){
+		count = 0;
+	}
+
+}
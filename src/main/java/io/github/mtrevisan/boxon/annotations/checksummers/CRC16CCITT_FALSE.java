@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.boxon.annotations.checksummers;
 
+import java.util.zip.Checksum;
+
 
 /**
  * Calculates a 16-bit Cyclic Redundancy Check of a byte sequence using the CRC-CCITT FALSE algorithm.
@@ -41,4 +43,9 @@ public final class CRC16CCITT_FALSE implements Checksummer{
 			.shortValue();
 	}
 
+	@Override
+	public Checksum createAccumulator(){
+		return CRCEngine.create(CRCParameters.CRC16_CCITT_FALSE);
+	}
+
 }
@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.boxon.annotations.checksummers;
 
+import java.util.zip.Checksum;
+
 
 /**
  * Calculates a 32-bit Cyclic Redundancy Check of a byte sequence using the CRC-IBM algorithm.
@@ -39,4 +41,9 @@ public final class CRC32 implements Checksummer{
 			.intValue();
 	}
 
+	@Override
+	public Checksum createAccumulator(){
+		return CRCEngine.create(CRCParameters.CRC32);
+	}
+
 }
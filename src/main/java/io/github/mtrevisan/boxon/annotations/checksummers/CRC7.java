@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.boxon.annotations.checksummers;
 
+import java.util.zip.Checksum;
+
 
 /**
  * Calculates a 7-bit Cyclic Redundancy Check of a byte sequence using the CRC algorithm.
@@ -39,4 +41,9 @@ public final class CRC7 implements Checksummer{
 			.byteValue();
 	}
 
+	@Override
+	public Checksum createAccumulator(){
+		return CRCEngine.create(CRCParameters.CRC7);
+	}
+
 }
@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.boxon.annotations.checksummers;
 
+import java.util.zip.Checksum;
+
 
 /**
  * Calculates an 8-bit Cyclic Redundancy Check of a byte sequence using CCITT algorithm.
@@ -39,4 +41,9 @@ public final class CRC8CCITT implements Checksummer{
 			.byteValue();
 	}
 
+	@Override
+	public Checksum createAccumulator(){
+		return CRCEngine.create(CRCParameters.CRC8_CCITT);
+	}
+
 }
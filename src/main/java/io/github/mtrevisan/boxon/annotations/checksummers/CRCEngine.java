@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.annotations.checksummers;
+
+import io.github.mtrevisan.boxon.helpers.Memoizer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+
+/**
+ * Table-driven, incremental, Cyclic Redundancy Check calculator.
+ * <p>
+ * The lookup tables are built once for each combination of width, polynomial, and input reflection, and eight bytes are processed at
+ * each step (slicing-by-8).<br />
+ * Whenever the parameters describe the standard CRC-32 or CRC-32C algorithms, the calculation is delegated to {@link java.util.zip.CRC32}
+ * or {@link CRC32C}, so that the JVM intrinsics are used.
+ * </p>
+ *
+ * @see <a href="https://www.sunshine2k.de/articles/coding/crc/understanding_crc.html">Understanding and implementing CRC (Cyclic Redundancy Check) calculation</a>
+ * @see <a href="https://create.stephan-brumme.com/crc32/#slicing-by-8-overview">Fast CRC32 - Slicing-by-8</a>
+ */
+public final class CRCEngine implements Checksum{
+
+	private static final int TABLE_SIZE = 1 << Byte.SIZE;
+	private static final int SLICES = Long.BYTES;
+
+	private static final long CRC32_POLYNOMIAL = 0x04C1_1DB7l;
+	private static final long CRC32C_POLYNOMIAL = 0x1EDC_6F41l;
+	private static final long CRC32_MASK = 0xFFFF_FFFFl;
+
+	private static final VarHandle LONG_LITTLE_ENDIAN = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+	private static final VarHandle LONG_BIG_ENDIAN = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+	private static final Function<TableKey, long[][]> TABLES = Memoizer.memoize(CRCEngine::createTables);
+
+
+	private record TableKey(int width, long polynomial, boolean reflected){}
+
+
+	private final int width;
+	private final boolean reflectInput;
+	private final boolean reflectOutput;
+	private final long crcMask;
+	private final long xorOutputValue;
+	/** Initial value of the register (already reflected, or shifted to the MSB, depending on {@link #reflectInput}). */
+	private final long initialRegister;
+	private final long[][] tables;
+
+	private long register;
+
+
+	/**
+	 * Create a CRC calculator.
+	 * <p>The parameters are read at creation time, later changes to them do not affect the returned calculator.</p>
+	 *
+	 * @param parameters	The parameters of the CRC algorithm.
+	 * @return	A CRC calculator, backed by the JVM intrinsics whenever possible.
+	 */
+	public static Checksum create(final CRCParameters parameters){
+		final Checksum intrinsic = createIntrinsic(parameters);
+		return (intrinsic != null? intrinsic: new CRCEngine(parameters));
+	}
+
+	private static Checksum createIntrinsic(final CRCParameters parameters){
+		if(parameters.width != Integer.SIZE || !parameters.reflectInput || !parameters.reflectOutput
+				|| (parameters.initialValue & CRC32_MASK) != CRC32_MASK || (parameters.xorOutputValue & CRC32_MASK) != CRC32_MASK)
+			return null;
+
+		final long polynomial = (parameters.polynomial & CRC32_MASK);
+		if(polynomial == CRC32_POLYNOMIAL)
+			return new java.util.zip.CRC32();
+		if(polynomial == CRC32C_POLYNOMIAL)
+			return new CRC32C();
+		return null;
+	}
+
+
+	private CRCEngine(final CRCParameters parameters){
+		width = parameters.width;
+		reflectInput = parameters.reflectInput;
+		reflectOutput = parameters.reflectOutput;
+		crcMask = mask(width);
+		xorOutputValue = (parameters.xorOutputValue & crcMask);
+
+		final long initialValue = (parameters.initialValue & crcMask);
+		initialRegister = (reflectInput
+			? reflect(initialValue, width)
+			: initialValue << (Long.SIZE - width));
+		tables = TABLES.apply(new TableKey(width, parameters.polynomial & crcMask, reflectInput));
+
+		register = initialRegister;
+	}
+
+
+	@Override
+	public void update(final int datum){
+		register = (reflectInput
+			? (register >>> Byte.SIZE) ^ tables[0][(int)(register ^ datum) & 0xFF]
+			: (register << Byte.SIZE) ^ tables[0][(int)((register >>> (Long.SIZE - Byte.SIZE)) ^ datum) & 0xFF]);
+	}
+
+	@Override
+	public void update(final byte[] data, final int offset, final int length){
+		final int end = offset + length;
+		register = (reflectInput
+			? updateReflected(register, data, offset, end)
+			: updateNormal(register, data, offset, end));
+	}
+
+	private long updateReflected(long crc, final byte[] data, int offset, final int end){
+		final long[] t0 = tables[0];
+		final long[] t1 = tables[1];
+		final long[] t2 = tables[2];
+		final long[] t3 = tables[3];
+		final long[] t4 = tables[4];
+		final long[] t5 = tables[5];
+		final long[] t6 = tables[6];
+		final long[] t7 = tables[7];
+		for(final int limit = end - SLICES; offset <= limit; offset += SLICES){
+			crc ^= (long)LONG_LITTLE_ENDIAN.get(data, offset);
+			crc = t7[(int)crc & 0xFF]
+				^ t6[(int)(crc >>> 8) & 0xFF]
+				^ t5[(int)(crc >>> 16) & 0xFF]
+				^ t4[(int)(crc >>> 24) & 0xFF]
+				^ t3[(int)(crc >>> 32) & 0xFF]
+				^ t2[(int)(crc >>> 40) & 0xFF]
+				^ t1[(int)(crc >>> 48) & 0xFF]
+				^ t0[(int)(crc >>> 56)];
+		}
+		for(; offset < end; offset ++)
+			crc = (crc >>> Byte.SIZE) ^ t0[(int)(crc ^ data[offset]) & 0xFF];
+		return crc;
+	}
+
+	private long updateNormal(long crc, final byte[] data, int offset, final int end){
+		final long[] t0 = tables[0];
+		final long[] t1 = tables[1];
+		final long[] t2 = tables[2];
+		final long[] t3 = tables[3];
+		final long[] t4 = tables[4];
+		final long[] t5 = tables[5];
+		final long[] t6 = tables[6];
+		final long[] t7 = tables[7];
+		for(final int limit = end - SLICES; offset <= limit; offset += SLICES){
+			crc ^= (long)LONG_BIG_ENDIAN.get(data, offset);
+			crc = t7[(int)(crc >>> 56)]
+				^ t6[(int)(crc >>> 48) & 0xFF]
+				^ t5[(int)(crc >>> 40) & 0xFF]
+				^ t4[(int)(crc >>> 32) & 0xFF]
+				^ t3[(int)(crc >>> 24) & 0xFF]
+				^ t2[(int)(crc >>> 16) & 0xFF]
+				^ t1[(int)(crc >>> 8) & 0xFF]
+				^ t0[(int)crc & 0xFF];
+		}
+		for(; offset < end; offset ++)
+			crc = (crc << Byte.SIZE) ^ t0[(int)((crc >>> (Long.SIZE - Byte.SIZE)) ^ data[offset]) & 0xFF];
+		return crc;
+	}
+
+	@Override
+	public long getValue(){
+		long crc = (reflectInput
+			? register
+			: register >>> (Long.SIZE - width));
+		if(reflectInput != reflectOutput)
+			crc = reflect(crc, width);
+		return (crc ^ xorOutputValue) & crcMask;
+	}
+
+	@Override
+	public void reset(){
+		register = initialRegister;
+	}
+
+
+	/**
+	 * Creates the lookup tables for the slicing-by-8 algorithm.
+	 * <p>
+	 * If the input is reflected the register is kept aligned to the LSB and the polynomial is reflected, otherwise the register is kept
+	 * aligned to the MSB (this way CRCs narrower than a byte can be handled in the same way).
+	 * </p>
+	 *
+	 * @param key	The characteristics of the CRC algorithm.
+	 * @return	The eight lookup tables.
+	 */
+	private static long[][] createTables(final TableKey key){
+		final long[][] tables = new long[SLICES][TABLE_SIZE];
+
+		final long[] t0 = tables[0];
+		if(key.reflected){
+			final long polynomial = reflect(key.polynomial, key.width);
+			for(int i = 0; i < TABLE_SIZE; i ++){
+				long crc = i;
+				for(int j = 0; j < Byte.SIZE; j ++)
+					crc = ((crc & 1) != 0? (crc >>> 1) ^ polynomial: crc >>> 1);
+				t0[i] = crc;
+			}
+			for(int k = 1; k < SLICES; k ++)
+				for(int i = 0; i < TABLE_SIZE; i ++){
+					final long previous = tables[k - 1][i];
+					tables[k][i] = (previous >>> Byte.SIZE) ^ t0[(int)previous & 0xFF];
+				}
+		}
+		else{
+			final long polynomial = key.polynomial << (Long.SIZE - key.width);
+			for(int i = 0; i < TABLE_SIZE; i ++){
+				long crc = (long)i << (Long.SIZE - Byte.SIZE);
+				for(int j = 0; j < Byte.SIZE; j ++)
+					crc = (crc < 0? (crc << 1) ^ polynomial: crc << 1);
+				t0[i] = crc;
+			}
+			for(int k = 1; k < SLICES; k ++)
+				for(int i = 0; i < TABLE_SIZE; i ++){
+					final long previous = tables[k - 1][i];
+					tables[k][i] = (previous << Byte.SIZE) ^ t0[(int)(previous >>> (Long.SIZE - Byte.SIZE))];
+				}
+		}
+		return tables;
+	}
+
+	private static long mask(final int width){
+		return (width == Long.SIZE? -1l: (1l << width) - 1);
+	}
+
+	/**
+	 * Reflects the order of bits in a value.
+	 *
+	 * @param value	The value to reflect.
+	 * @param bitCount	The number of bits to reflect.
+	 * @return	The reflected value.
+	 */
+	static long reflect(final long value, final int bitCount){
+		return Long.reverse(value) >>> (Long.SIZE - bitCount);
+	}
+
+}
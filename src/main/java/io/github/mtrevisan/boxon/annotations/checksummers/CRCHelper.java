@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.boxon.annotations.checksummers;
 
+import java.util.zip.Checksum;
+
 
 /**
  * An abstract class for calculating Cyclic Redundancy Checks (CRC).
@@ -61,55 +63,9 @@ public final class CRCHelper{
 	 * @return	The computed CRC value.
 	 */
 	public static Number calculateCRC(final CRCParameters parameters, final byte[] data, final int start, final int end){
-		final int width = parameters.width;
-		final int bitOffsetToByteSize = Math.max(Byte.SIZE - width, 0);
-		final int bitsToShift = Math.max(width - Byte.SIZE, 0);
-		final long highBitMask = (1l << (width - 1)) << bitOffsetToByteSize;
-		final long crcMask = (highBitMask << 1) - 1;
-		final long polynomial = (parameters.polynomial << bitOffsetToByteSize);
-		final boolean reflectInput = parameters.reflectInput;
-
-		long crc = (parameters.initialValue << bitOffsetToByteSize);
-		for(int i = start; i < end; i ++){
-			final long datum = (reflectInput? reflect(data[i], Byte.SIZE): data[i]);
-
-			//move byte into MSB of CRC and XOR with CRC
-			crc ^= (datum << bitsToShift);
-
-			for(int j = 0; j < Byte.SIZE; j ++){
-				final boolean highBit = ((crc & highBitMask) != 0);
-				crc <<= 1;
-				if(highBit)
-					crc ^= polynomial;
-			}
-
-			crc &= crcMask;
-		}
-
-		crc >>>= bitOffsetToByteSize;
-		if(parameters.reflectOutput)
-			crc = reflect(crc, width);
-		crc ^= parameters.xorOutputValue;
-		return crc & crcMask;
-	}
-
-	/**
-	 * Reflects the order of bits in a value.
-	 *
-	 * @param value	The value to reflect.
-	 * @param bitCount	The number of bits to reflect.
-	 * @return	The reflected value.
-	 */
-	private static long reflect(final long value, final int bitCount){
-		long reflected = 0;
-		long topBit = 1l;
-		for(int i = 0; i < bitCount; i ++){
-			if((value & topBit) != 0)
-				reflected |= (1l << (bitCount - 1 - i));
-
-			topBit <<= 1;
-		}
-		return reflected;
+		final Checksum engine = CRCEngine.create(parameters);
+		engine.update(data, start, end - start);
+		return engine.getValue();
 	}
 
 }
@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.boxon.annotations.checksummers;
 
+import java.util.zip.Checksum;
+
 
 /** The checksum algorithm to be applied. */
 public interface Checksummer{
@@ -38,4 +40,14 @@ public interface Checksummer{
 	 */
 	Number calculateChecksum(byte[] data, int start, int end);
 
+	/**
+	 * Creates an accumulator that calculates the checksum incrementally, as the data becomes available.
+	 * <p>The default implementation buffers the data and calls {@link #calculateChecksum(byte[], int, int)} upon request of the value.</p>
+	 *
+	 * @return	A new checksum accumulator.
+	 */
+	default Checksum createAccumulator(){
+		return new BufferedChecksum(this);
+	}
+
 }
@@ -27,6 +27,11 @@ package io.github.mtrevisan.boxon.annotations.converters;
 
 /**
  * The converter to be applied to value read from a bind annotation.
+ * <p>
+ * The value read by a {@link io.github.mtrevisan.boxon.annotations.bindings.BindInteger BindInteger} is cast to the input type of the
+ * converter, element by element when bound as an array (e.g. {@code byte[]}, {@code int[]}, or {@code BigInteger[]}); an input type that
+ * is not an array of numbers (e.g. {@code Object}) receives an array of {@link java.math.BigInteger BigInteger}s.
+ * </p>
  *
  * @param <IN>	The type of the input to the function.
  * @param <OUT>	The type of the output to the function.
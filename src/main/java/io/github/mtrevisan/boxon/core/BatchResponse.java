@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collections;
+import java.util.Map;
+
+
+/**
+ * Response class for a batch of encoding phases.
+ * <p>
+ * The composed messages are stored back to back into a single buffer; a message that cannot be composed occupies no space, and its
+ * error is reported at its index.
+ * </p>
+ */
+@SuppressWarnings("WeakerAccess")
+public final class BatchResponse{
+
+	/** The composed messages, back to back. */
+	private final ByteBuffer buffer;
+	/** The start of each message in {@link #buffer}; the last element is the end of the last message. */
+	private final int[] offsets;
+	/** The number of messages. */
+	private final int size;
+	/** The errors, by index of the message. */
+	private final Map<Integer, Exception> errors;
+
+
+	/**
+	 * Construct a batch response.
+	 *
+	 * @param buffer	The buffer containing the composed messages.
+	 * @param offsets	The start of each message, followed by the end of the last one.
+	 * @param size	The number of messages.
+	 * @param errors	The errors, by index of the message (can be {@code null}).
+	 * @return	The instance.
+	 */
+	static BatchResponse create(final ByteBuffer buffer, final int[] offsets, final int size, final Map<Integer, Exception> errors){
+		return new BatchResponse(buffer, offsets, size, errors);
+	}
+
+
+	private BatchResponse(final ByteBuffer buffer, final int[] offsets, final int size, final Map<Integer, Exception> errors){
+		this.buffer = buffer.asReadOnlyBuffer();
+		this.offsets = offsets;
+		this.size = size;
+		this.errors = (errors != null? errors: Collections.emptyMap());
+	}
+
+
+	/**
+	 * The number of messages in the batch, including those in error.
+	 *
+	 * @return	The number of messages.
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * Returns whether there is an error in any of the messages.
+	 *
+	 * @return	Whether there is an error.
+	 */
+	public boolean hasErrors(){
+		return !errors.isEmpty();
+	}
+
+	/**
+	 * The error occurred while composing the message at the given index.
+	 *
+	 * @param index	The index of the message.
+	 * @return	The exception resulting from composing the message, or {@code null} if there was no error.
+	 */
+	public Exception getError(final int index){
+		return errors.get(index);
+	}
+
+	/**
+	 * The position of the first byte of the message at the given index, within the buffer.
+	 *
+	 * @param index	The index of the message.
+	 * @return	The start of the message.
+	 */
+	public int getStart(final int index){
+		return offsets[index];
+	}
+
+	/**
+	 * The position past the last byte of the message at the given index, within the buffer.
+	 *
+	 * @param index	The index of the message.
+	 * @return	The end of the message.
+	 */
+	public int getEnd(final int index){
+		return offsets[index + 1];
+	}
+
+	/**
+	 * A read-only view of the message at the given index.
+	 *
+	 * @param index	The index of the message.
+	 * @return	The message, or {@code null} if there was an error.
+	 */
+	public ByteBuffer getMessage(final int index){
+		return (errors.containsKey(index)? null: buffer.slice(offsets[index], offsets[index + 1] - offsets[index]));
+	}
+
+	/**
+	 * A read-only view of all the composed messages, back to back.
+	 *
+	 * @return	The buffer containing the messages.
+	 */
+	public ByteBuffer getBuffer(){
+		return buffer.duplicate();
+	}
+
+	/**
+	 * Read-only views of the composed messages (those in error are skipped), suitable for a gathering write (see
+	 * {@link GatheringByteChannel#write(ByteBuffer[])}).
+	 *
+	 * @return	The messages.
+	 */
+	public ByteBuffer[] getMessages(){
+		final ByteBuffer[] messages = new ByteBuffer[size - errors.size()];
+		for(int i = 0, j = 0; i < size; i ++)
+			if(!errors.containsKey(i))
+				messages[j ++] = buffer.slice(offsets[i], offsets[i + 1] - offsets[i]);
+		return messages;
+	}
+
+	/**
+	 * Writes all the composed messages into the given channel, with as few writes as possible.
+	 * <p>The channel must be in blocking mode, as the write is repeated until all the {@code byte}s are written.</p>
+	 *
+	 * @param channel	The channel to write to.
+	 * @return	The number of {@code byte}s written.
+	 * @throws IOException	If an I/O error occurs.
+	 * @throws IllegalArgumentException	If the channel is in non-blocking mode.
+	 */
+	public long writeTo(final WritableByteChannel channel) throws IOException{
+		if(channel instanceof final SelectableChannel selectableChannel && !selectableChannel.isBlocking())
+			throw new IllegalArgumentException("Channel must be in blocking mode");
+
+		final ByteBuffer source = buffer.duplicate();
+		long written = 0l;
+		while(source.hasRemaining())
+			written += channel.write(source);
+		return written;
+	}
+
+}
@@ -29,7 +29,18 @@ import io.github.mtrevisan.boxon.core.helpers.templates.Template;
 import io.github.mtrevisan.boxon.core.parsers.TemplateParser;
 import io.github.mtrevisan.boxon.exceptions.BoxonException;
 import io.github.mtrevisan.boxon.exceptions.EncodeException;
-import io.github.mtrevisan.boxon.io.BitWriterInterface;
+import io.github.mtrevisan.boxon.logs.EventListener;
+import io.github.mtrevisan.boxon.logs.jfr.MessageEncodedEvent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 
 /**
@@ -38,7 +49,22 @@ import io.github.mtrevisan.boxon.io.BitWriterInterface;
 @SuppressWarnings("WeakerAccess")
 public final class Composer{
 
+	/** Initial capacity of the buffer of the first message composed, in {@code byte}s. */
+	private static final int DEFAULT_SIZE_HINT = 64;
+	/** Number of messages assumed for a batch of unknown size. */
+	private static final int DEFAULT_BATCH_SIZE = 16;
+	/** Maximum initial capacity of the buffer of a batch, in {@code byte}s. */
+	private static final int MAX_BATCH_CAPACITY = 64 * 1024 * 1024;
+
+
 	private final TemplateParser templateParser;
+	private final EventListener eventListener;
+
+	/**
+	 * Size of the last message composed, used as initial capacity of the buffer of the next one, to avoid growing it byte by byte
+	 * (a stale value read by a concurrent thread is harmless).
+	 */
+	private int sizeHint = DEFAULT_SIZE_HINT;
 
 
 	/**
@@ -54,6 +80,17 @@ public final class Composer{
 
 	private Composer(final Core core){
 		templateParser = core.getTemplateParser();
+		eventListener = core.getEventListener();
+	}
+
+
+	/**
+	 * The initial capacity of the buffer of the next message.
+	 *
+	 * @return	The size of the last message composed.
+	 */
+	int getSizeHint(){
+		return sizeHint;
 	}
 
 
@@ -65,27 +102,190 @@ public final class Composer{
 	 * @return	The composition response.
 	 */
 	public <T> Response<T, byte[]> compose(final T data){
-		final BitWriter writer = BitWriter.create();
+		final BitWriter writer = BitWriter.create(sizeHint);
 		final EncodeException error = compose(writer, data);
 
 		return Response.create(data, writer, error);
 	}
 
+	/**
+	 * Compose a message into the given buffer, starting at its current position.
+	 * <p>
+	 * If the buffer is backed by an accessible array, the message is encoded straight into it (the {@code byte}s after the position may then
+	 * be overwritten even if the composition fails); otherwise (a direct or read-only buffer) the message is encoded into an internal array
+	 * and copied into the buffer in bulk.<br />
+	 * The position of the buffer is left untouched if the composition fails, or if it has not enough space for the whole message.
+	 * </p>
+	 *
+	 * @param data	The message (template) to be composed.
+	 * @param buffer	The buffer to write the message to (its position is advanced past the message).
+	 * @param <T>	The class of the source data.
+	 * @return	The composition response, whose message is a view of the buffer containing the composed message.
+	 */
+	public <T> Response<T, ByteBuffer> compose(final T data, final ByteBuffer buffer){
+		return (buffer.hasArray()
+			? composeInto(data, buffer)
+			: composeAndCopy(data, buffer));
+	}
+
+	private <T> Response<T, ByteBuffer> composeInto(final T data, final ByteBuffer buffer){
+		final BitWriter writer = BitWriter.wrap(buffer);
+		EncodeException error;
+		try{
+			error = compose(writer, data);
+		}
+		catch(final BufferOverflowException boe){
+			error = EncodeException.create(boe);
+		}
+
+		ByteBuffer message = null;
+		if(error == null){
+			final int start = buffer.position();
+			final int size = writer.position();
+			buffer.position(start + size);
+			message = buffer.slice(start, size);
+		}
+		else if(hasOverflowed(error))
+			error = EncodeException.create("Not enough space in buffer: {} bytes available", buffer.remaining());
+		return Response.create(data, message, error);
+	}
+
+	private static boolean hasOverflowed(final Throwable error){
+		Throwable cause = error;
+		while(cause != null && !(cause instanceof BufferOverflowException))
+			cause = cause.getCause();
+		return (cause != null);
+	}
+
+	private <T> Response<T, ByteBuffer> composeAndCopy(final T data, final ByteBuffer buffer){
+		final BitWriter writer = BitWriter.create(Math.min(sizeHint, buffer.remaining()));
+		EncodeException error = compose(writer, data);
+
+		ByteBuffer message = null;
+		if(error == null){
+			final int size = writer.position();
+			if(size <= buffer.remaining()){
+				final int start = buffer.position();
+				writer.writeTo(buffer);
+				message = buffer.slice(start, size);
+			}
+			else
+				error = EncodeException.create("Not enough space in buffer: needed {} bytes, {} available", size, buffer.remaining());
+		}
+		return Response.create(data, message, error);
+	}
+
+	/**
+	 * Compose a message and write it into the given channel.
+	 * <p>
+	 * Nothing is written if the composition fails.<br />
+	 * The message is encoded into an internal array (the encoding may go back to patch the {@code byte}s already written, e.g. a checksum,
+	 * so no {@code byte} can be handed to the channel before the whole message is encoded), that the channel then reads from directly.
+	 * </p>
+	 *
+	 * @param data	The message (template) to be composed.
+	 * @param channel	The channel to write the message to (in blocking mode).
+	 * @param <T>	The class of the source data.
+	 * @return	The composition response, whose message is the number of {@code byte}s written.
+	 * @throws IOException	If an I/O error occurs.
+	 * @throws IllegalArgumentException	If the channel is in non-blocking mode.
+	 */
+	public <T> Response<T, Integer> compose(final T data, final WritableByteChannel channel) throws IOException{
+		final BitWriter writer = BitWriter.create(sizeHint);
+		final EncodeException error = compose(writer, data);
+
+		if(error == null)
+			writer.writeTo(channel);
+		return Response.create(data, (error == null? writer.position(): null), error);
+	}
+
+	/**
+	 * Compose a message and write it into the given stream.
+	 * <p>
+	 * Nothing is written if the composition fails.<br />
+	 * The message is encoded into an internal array (the encoding may go back to patch the {@code byte}s already written, e.g. a checksum,
+	 * so no {@code byte} can be handed to the stream before the whole message is encoded), that is then written to the stream at once.
+	 * </p>
+	 *
+	 * @param data	The message (template) to be composed.
+	 * @param out	The stream to write the message to.
+	 * @param <T>	The class of the source data.
+	 * @return	The composition response, whose message is the number of {@code byte}s written.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public <T> Response<T, Integer> compose(final T data, final OutputStream out) throws IOException{
+		final BitWriter writer = BitWriter.create(sizeHint);
+		final EncodeException error = compose(writer, data);
+
+		if(error == null)
+			writer.writeTo(out);
+		return Response.create(data, (error == null? writer.position(): null), error);
+	}
+
+	/**
+	 * Compose a batch of messages back to back into a single buffer.
+	 * <p>The messages are encoded one after the other into the same writer, without allocating a writer or a response for each.</p>
+	 *
+	 * @param data	The messages (templates) to be composed.
+	 * @return	The batch response, holding the buffer and the position of each message.
+	 */
+	public BatchResponse composeAll(final Iterable<?> data){
+		final int expectedSize = (data instanceof final Collection<?> collection? collection.size(): DEFAULT_BATCH_SIZE);
+		final BitWriter writer = BitWriter.create((int)Math.min((long)sizeHint * expectedSize, MAX_BATCH_CAPACITY));
+		int[] offsets = new int[expectedSize + 1];
+		Map<Integer, Exception> errors = null;
+		int size = 0;
+		for(final Object message : data){
+			if(size + 1 == offsets.length)
+				offsets = Arrays.copyOf(offsets, offsets.length << 1);
+
+			final int start = writer.position();
+			final EncodeException error = compose(writer, message);
+			if(error != null){
+				//discard the partially written message
+				writer.rewind(start);
+
+				if(errors == null)
+					errors = new HashMap<>(1);
+				errors.put(size, error);
+			}
+			offsets[++ size] = writer.position();
+		}
+		return BatchResponse.create(writer.asByteBuffer(), offsets, size, errors);
+	}
+
 	/**
 	 * Compose a single message.
 	 *
 	 * @param data	The message to be composed.
 	 * @return	The error, if any.
 	 */
-	private EncodeException compose(final BitWriterInterface writer, final Object data){
+	private EncodeException compose(final BitWriter writer, final Object data){
+		final MessageEncodedEvent jfrEvent = MessageEncodedEvent.beginIfEnabled();
+		final boolean messageEventEnabled = eventListener.hasCapability(EventListener.CAPABILITY_MESSAGE_EVENTS);
+		final long start = (messageEventEnabled? System.nanoTime(): 0l);
+		final int startPosition = writer.position();
+		Template<?> template = null;
 		try{
-			final Template<?> template = templateParser.getTemplate(data.getClass());
+			template = templateParser.getTemplate(data.getClass());
 
 			templateParser.encode(template, writer, null, data);
+			writer.flush();
+			sizeHint = Math.max(writer.position() - startPosition, 1);
+
+			if(messageEventEnabled)
+				eventListener.encodedMessage(template.getName(), writer.position() - startPosition, System.nanoTime() - start);
+			if(jfrEvent != null)
+				jfrEvent.complete(template.getName(), writer.position() - startPosition, null);
 
 			return null;
 		}
 		catch(final BoxonException be){
+			if(messageEventEnabled)
+				eventListener.encodingFailed((template != null? template.getName(): null), be);
+			if(jfrEvent != null)
+				jfrEvent.complete((template != null? template.getName(): null), writer.position() - startPosition, be);
+
 			return EncodeException.create(be);
 		}
 	}
@@ -34,6 +34,9 @@ import io.github.mtrevisan.boxon.exceptions.ConfigurationException;
 import io.github.mtrevisan.boxon.exceptions.TemplateException;
 import io.github.mtrevisan.boxon.logs.EventListener;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 
 /**
  * Common data used by {@link Parser}, {@link Describer}, {@link Composer}, and {@link Configurator}.
@@ -84,6 +87,13 @@ public final class Core{
 	}
 
 
+	/**
+	 * Build each template the first time a message matches its header, instead of when it is loaded.
+	 */
+	void setLazyTemplates(){
+		templateParser.withLazyLoading(true);
+	}
+
 	/**
 	 * Loads all the protocol classes annotated with {@link TemplateHeader}.
 	 *
@@ -95,6 +105,21 @@ public final class Core{
 		templateParser.withTemplatesFrom(basePackageClasses);
 	}
 
+	/**
+	 * Replaces all the templates with the protocol classes annotated with {@link TemplateHeader}.
+	 * <p>
+	 * The new templates are loaded aside and then published at once: the messages being parsed meanwhile complete with the previous
+	 * templates, and the previous templates are kept if an error occurs.
+	 * </p>
+	 *
+	 * @param basePackageClasses	Classes to be used as a starting point from which to load annotated classes.
+	 * @throws AnnotationException	If an annotation error occurs.
+	 * @throws TemplateException	If a template error occurs.
+	 */
+	public void reloadTemplates(final Class<?>... basePackageClasses) throws AnnotationException, TemplateException{
+		templateParser.reloadTemplatesFrom(basePackageClasses);
+	}
+
 	/**
 	 * Load the specified protocol class annotated with {@link TemplateHeader}.
 	 *
@@ -106,6 +131,17 @@ public final class Core{
 		templateParser.withTemplate(templateClass);
 	}
 
+	/**
+	 * Load the specified protocol class annotated with {@link TemplateHeader}, already validated, without validating its annotations again.
+	 *
+	 * @param templateClass	Template class.
+	 * @throws AnnotationException	If an annotation error occurs.
+	 * @throws TemplateException	If a template error occurs.
+	 */
+	void addValidatedTemplate(final Class<?> templateClass) throws AnnotationException, TemplateException{
+		templateParser.withValidatedTemplate(templateClass);
+	}
+
 
 	/**
 	 * Loads all the protocol classes annotated with {@link ConfigurationHeader}.
@@ -129,6 +165,35 @@ public final class Core{
 		configurationParser.withConfiguration(configurationClass);
 	}
 
+	/**
+	 * Load the specified protocol class annotated with {@link ConfigurationHeader}, already validated, without validating its annotations
+	 * again.
+	 *
+	 * @param configurationClass	Configuration class.
+	 * @throws AnnotationException	If no annotation was found.
+	 * @throws ConfigurationException	If a configuration error occurs.
+	 */
+	void addValidatedConfiguration(final Class<?> configurationClass) throws AnnotationException, ConfigurationException{
+		configurationParser.withValidatedConfiguration(configurationClass);
+	}
+
+
+	/**
+	 * Writes a snapshot of the loaded templates and configurations, and of the SpEL expressions parsed so far, to be restored through
+	 * {@link CoreBuilder#fromSnapshot(Path)}.
+	 * <p>
+	 * Writing the snapshot after some messages are parsed allows to also record the expressions that are parsed lazily.<br />
+	 * Only the names of the classes (with the fingerprints of their class files) and the expressions are recorded: the templates are built
+	 * again on restore.
+	 * </p>
+	 *
+	 * @param path	The file to be written.
+	 * @throws IOException	If an I/O error occurs, or the class file of a template or configuration cannot be read.
+	 */
+	public void writeSnapshot(final Path path) throws IOException{
+		CoreSnapshot.write(this, path);
+	}
+
 
 	TemplateParser getTemplateParser(){
 		return templateParser;
@@ -39,7 +39,11 @@ import io.github.mtrevisan.boxon.io.Codec;
 import io.github.mtrevisan.boxon.io.Evaluator;
 import io.github.mtrevisan.boxon.logs.EventListener;
 
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.StreamCorruptedException;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +60,7 @@ public final class CoreBuilder{
 	private enum ConfigurationStep{
 		EVENT_LISTENER,
 		CONTEXT,
+		LOADING_MODE,
 		CODEC,
 		TEMPLATE,
 		CONFIGURATION
@@ -84,6 +89,67 @@ public final class CoreBuilder{
 	}
 
 
+	/**
+	 * Create a core builder with the templates and configurations contained in a snapshot written by {@link Core#writeSnapshot(Path)}.
+	 * <p>
+	 * The classes are loaded directly, without scanning any package, and the recorded SpEL expressions are parsed while building.<br />
+	 * The annotations are not validated again if the snapshot was written by the same version of this library, as the class files of the
+	 * classes and of all the classes they reference (converters, validators, nested templates, ...) are verified to be unchanged; if the
+	 * version of the library is not known (e.g. it is not run as a module nor from a jar with a version in its manifest) they are validated.<br />
+	 * The templates are still built by reflection, so a snapshot saves the scanning, the validation, and the parsing of the expressions, but
+	 * not the whole cost of a cold start.<br />
+	 * Event listener, context, and codecs are not part of the snapshot, and have to be given as usual.
+	 * </p>
+	 *
+	 * @param path	The snapshot file.
+	 * @return	A core builder.
+	 * @throws StreamCorruptedException	If the file is not a snapshot, or it was written by an incompatible version (of the snapshot format
+	 * 	or of this library).
+	 * @throws InvalidClassException	If a class cannot be found, or it was changed since the snapshot was written.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public static CoreBuilder fromSnapshot(final Path path) throws IOException{
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if(classLoader == null)
+			classLoader = CoreBuilder.class.getClassLoader();
+		final CoreSnapshot snapshot = CoreSnapshot.read(path, classLoader);
+
+		final CoreBuilder builder = builder();
+		final List<String> expressions = snapshot.getExpressions();
+		builder.addMethod(ConfigurationStep.TEMPLATE, () -> {
+				for(int i = 0, length = expressions.size(); i < length; i ++)
+					Evaluator.prepare(expressions.get(i));
+			}
+		);
+		final boolean verified = snapshot.isVerified();
+		final List<Class<?>> templates = snapshot.getTemplates();
+		for(int i = 0, length = templates.size(); i < length; i ++){
+			final Class<?> templateClass = templates.get(i);
+
+			builder.addMethod(ConfigurationStep.TEMPLATE, () -> {
+					if(verified)
+						builder.core.addValidatedTemplate(templateClass);
+					else
+						builder.core.addTemplate(templateClass);
+				}
+			);
+		}
+		final List<Class<?>> configurations = snapshot.getConfigurations();
+		for(int i = 0, length = configurations.size(); i < length; i ++){
+			final Class<?> configurationClass = configurations.get(i);
+
+			builder.addMethod(ConfigurationStep.CONFIGURATION, () -> {
+					if(verified)
+						builder.core.addValidatedConfiguration(configurationClass);
+					else
+						builder.core.addConfiguration(configurationClass);
+				}
+			);
+		}
+		return builder;
+	}
+
+
 	private CoreBuilder(){
 		core = Core.create();
 	}
@@ -242,6 +308,21 @@ public final class CoreBuilder{
 	}
 
 
+	/**
+	 * Register the templates by their headers only, building and validating each of them the first time a message matches it.
+	 * <p>
+	 * Startup time and memory then depend on the templates actually used; a template that cannot be built is reported to the event
+	 * listener when first matched, and is removed.
+	 * </p>
+	 *
+	 * @return	This instance, used for chaining.
+	 */
+	public CoreBuilder withLazyTemplates(){
+		addMethod(ConfigurationStep.LOADING_MODE, core::setLazyTemplates);
+
+		return this;
+	}
+
 	/**
 	 * Loads all the protocol classes annotated with {@link TemplateHeader}.
 	 *
@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.core;
+
+import io.github.mtrevisan.boxon.core.helpers.configurations.ConfigurationMessage;
+import io.github.mtrevisan.boxon.core.helpers.templates.Template;
+import io.github.mtrevisan.boxon.helpers.JavaHelper;
+import io.github.mtrevisan.boxon.io.Evaluator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.StreamCorruptedException;
+import java.lang.annotation.Annotation;
+import java.lang.module.ModuleDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+
+/**
+ * Binary snapshot of the templates and configurations loaded into a {@link Core}, together with the SpEL expressions parsed so far.
+ * <p>
+ * Each class is stored along with the fingerprint of its class file and of the class files of every class it references: its
+ * superclasses, the types of its fields, and the classes named by its annotations (converters, validators, checksum algorithms, nested
+ * templates, ...), transitively. The snapshot also records the version of the library that wrote it. This way a snapshot taken from a
+ * different version of the protocol classes, or of the library, is rejected instead of silently used without validating the annotations.
+ * </p>
+ * <p>
+ * NOTE: only the names of the classes and the expressions are stored: the templates are still built by reflection on restore, so what is
+ * saved is the scanning of the packages, the validation of the annotations, and the parsing of the expressions, not the whole cost of a
+ * cold start.
+ * </p>
+ * <p>
+ * The layout is:
+ * <pre>{@code
+ * int magic, short version, UTF libraryVersion,
+ * int templateCount, (UTF className, long fingerprint)*,
+ * int configurationCount, (UTF className, long fingerprint)*,
+ * int expressionCount, (UTF expression)*
+ * }</pre>
+ * </p>
+ */
+final class CoreSnapshot{
+
+	private static final int MAGIC = 0x4258_534E;
+	private static final short VERSION = 2;
+
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+
+	private final List<Class<?>> templates;
+	private final List<Class<?>> configurations;
+	private final List<String> expressions;
+	/** Whether the snapshot was written by the same version of the library (so that the annotations need not be validated again). */
+	private final boolean verified;
+
+
+	/**
+	 * Writes the snapshot of the given core.
+	 *
+	 * @param core	The core.
+	 * @param path	The file to be written.
+	 * @throws IOException	If an I/O error occurs, or the class file of a template or configuration cannot be read.
+	 */
+	static void write(final Core core, final Path path) throws IOException{
+		final Collection<Template<?>> templates = core.getTemplateParser()
+			.getTemplates();
+		final List<ConfigurationMessage<?>> configurations = core.getConfigurationParser()
+			.getConfigurations();
+		final Collection<String> expressions = Evaluator.getParsedExpressions();
+
+		try(final DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))){
+			os.writeInt(MAGIC);
+			os.writeShort(VERSION);
+			os.writeUTF(libraryVersion());
+
+			//a template with more than one header start is present more than once
+			final List<Class<?>> templateTypes = new ArrayList<>(templates.size());
+			for(final Template<?> template : templates)
+				if(!templateTypes.contains(template.getType()))
+					templateTypes.add(template.getType());
+			writeClasses(os, templateTypes);
+
+			final List<Class<?>> configurationTypes = new ArrayList<>(configurations.size());
+			for(int i = 0, length = configurations.size(); i < length; i ++)
+				configurationTypes.add(configurations.get(i).getType());
+			writeClasses(os, configurationTypes);
+
+			final List<String> expressionList = List.copyOf(expressions);
+			os.writeInt(expressionList.size());
+			for(int i = 0, length = expressionList.size(); i < length; i ++)
+				os.writeUTF(expressionList.get(i));
+		}
+	}
+
+	private static void writeClasses(final DataOutputStream os, final List<Class<?>> types) throws IOException{
+		os.writeInt(types.size());
+		for(int i = 0, length = types.size(); i < length; i ++){
+			final Class<?> type = types.get(i);
+
+			final long fingerprint = fingerprint(type);
+			if(fingerprint < 0)
+				throw new IOException("Cannot read the class file of " + type.getName());
+
+			os.writeUTF(type.getName());
+			os.writeLong(fingerprint);
+		}
+	}
+
+
+	/**
+	 * Reads a snapshot, verifying that every class it references is the same that was present when it was written.
+	 *
+	 * @param path	The file to be read.
+	 * @param classLoader	The class loader used to load the classes.
+	 * @return	The snapshot.
+	 * @throws StreamCorruptedException	If the file is not a snapshot, or it was written by an incompatible version.
+	 * @throws InvalidClassException	If a class cannot be found, or it was changed since the snapshot was written.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	static CoreSnapshot read(final Path path, final ClassLoader classLoader) throws IOException{
+		try(final DataInputStream is = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))){
+			if(is.readInt() != MAGIC)
+				throw new StreamCorruptedException("Not a snapshot: " + path);
+			final short version = is.readShort();
+			if(version != VERSION)
+				throw new StreamCorruptedException("Unsupported snapshot version " + version + ": " + path);
+			final String writerVersion = is.readUTF();
+			final String readerVersion = libraryVersion();
+			final boolean versionKnown = (!writerVersion.isEmpty() && !readerVersion.isEmpty());
+			if(versionKnown && !writerVersion.equals(readerVersion))
+				throw new StreamCorruptedException("Snapshot written by version " + writerVersion + " of the library, " + readerVersion
+					+ " in use: " + path);
+
+			final List<Class<?>> templates = readClasses(is, classLoader);
+			final List<Class<?>> configurations = readClasses(is, classLoader);
+
+			final int expressionCount = is.readInt();
+			final List<String> expressions = new ArrayList<>(expressionCount);
+			for(int i = 0; i < expressionCount; i ++)
+				expressions.add(is.readUTF());
+
+			return new CoreSnapshot(List.copyOf(templates), List.copyOf(configurations), List.copyOf(expressions), versionKnown);
+		}
+	}
+
+	private CoreSnapshot(final List<Class<?>> templates, final List<Class<?>> configurations, final List<String> expressions,
+			final boolean verified){
+		this.templates = templates;
+		this.configurations = configurations;
+		this.expressions = expressions;
+		this.verified = verified;
+	}
+
+	private static List<Class<?>> readClasses(final DataInputStream is, final ClassLoader classLoader) throws IOException{
+		final int length = is.readInt();
+		final List<Class<?>> types = new ArrayList<>(length);
+		for(int i = 0; i < length; i ++){
+			final String className = is.readUTF();
+			final long fingerprint = is.readLong();
+
+			final Class<?> type = loadClass(className, classLoader);
+			if(fingerprint(type) != fingerprint)
+				throw new InvalidClassException(className, "class changed since the snapshot was written");
+
+			types.add(type);
+		}
+		return types;
+	}
+
+	private static Class<?> loadClass(final String className, final ClassLoader classLoader) throws InvalidClassException{
+		try{
+			return Class.forName(className, false, classLoader);
+		}
+		catch(final ClassNotFoundException | LinkageError e){
+			final InvalidClassException ice = new InvalidClassException(className, "class not found");
+			ice.initCause(e);
+			throw ice;
+		}
+	}
+
+
+	/**
+	 * The template classes.
+	 *
+	 * @return	The template classes.
+	 */
+	List<Class<?>> getTemplates(){
+		return templates;
+	}
+
+	/**
+	 * The configuration classes.
+	 *
+	 * @return	The configuration classes.
+	 */
+	List<Class<?>> getConfigurations(){
+		return configurations;
+	}
+
+	/**
+	 * The SpEL expressions to be parsed in advance.
+	 *
+	 * @return	The expressions.
+	 */
+	List<String> getExpressions(){
+		return expressions;
+	}
+
+	/**
+	 * Whether the snapshot was written by the same version of the library, so that the annotations of its classes, whose class files (and
+	 * the ones they reference) are unchanged, need not be validated again.
+	 *
+	 * @return	Whether the annotations can be trusted without validation.
+	 */
+	boolean isVerified(){
+		return verified;
+	}
+
+
+	/**
+	 * The version of this library, as recorded in its module descriptor or, failing that, in the manifest of its jar.
+	 *
+	 * @return	The version, or an empty string if it is not known (the annotations are then validated again on restore).
+	 */
+	static String libraryVersion(){
+		final ModuleDescriptor descriptor = CoreSnapshot.class.getModule()
+			.getDescriptor();
+		String version = (descriptor != null? descriptor.rawVersion().orElse(null): null);
+		if(version == null)
+			version = CoreSnapshot.class.getPackage()
+				.getImplementationVersion();
+		return (version != null? version: JavaHelper.EMPTY_STRING);
+	}
+
+	/**
+	 * Calculates the CRC-32C of the class files of the given type and of all the classes it references (see
+	 * {@link #referencedTypes(Class)}).
+	 *
+	 * @param type	The class.
+	 * @return	The fingerprint (a non-negative number), or {@code -1} if a class file cannot be read.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	static long fingerprint(final Class<?> type) throws IOException{
+		final CRC32C crc = new CRC32C();
+		for(final Class<?> referencedType : referencedTypes(type)){
+			final String name = referencedType.getName();
+			try(final InputStream is = referencedType.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + CLASS_FILE_EXTENSION)){
+				if(is == null)
+					return -1l;
+
+				crc.update(is.readAllBytes());
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Collects the given type and, transitively, its superclasses, the types of its fields, and the classes named by the annotations on it
+	 * and on its fields, leaving out the ones loaded by the bootstrap class loader (whose version is that of the runtime).
+	 *
+	 * @param type	The class.
+	 * @return	The referenced classes, ordered by name.
+	 */
+	static Collection<Class<?>> referencedTypes(final Class<?> type){
+		final Map<String, Class<?>> types = new TreeMap<>();
+		addReferencedTypes(type, types);
+		return types.values();
+	}
+
+	private static void addReferencedTypes(final Class<?> cls, final Map<String, Class<?>> types){
+		Class<?> type = cls;
+		while(type.isArray())
+			type = type.getComponentType();
+		if(type.isPrimitive() || type.getClassLoader() == null || types.putIfAbsent(type.getName(), type) != null)
+			return;
+
+		addReferencedTypes(type.getDeclaredAnnotations(), types);
+		final Field[] fields = type.getDeclaredFields();
+		for(int i = 0, length = fields.length; i < length; i ++){
+			final Field field = fields[i];
+
+			addReferencedTypes(field.getType(), types);
+			addReferencedTypes(field.getDeclaredAnnotations(), types);
+		}
+		final Class<?> superclass = type.getSuperclass();
+		if(superclass != null)
+			addReferencedTypes(superclass, types);
+	}
+
+	private static void addReferencedTypes(final Annotation[] annotations, final Map<String, Class<?>> types){
+		for(int i = 0, length = annotations.length; i < length; i ++)
+			addReferencedTypes(annotations[i], types);
+	}
+
+	private static void addReferencedTypes(final Annotation annotation, final Map<String, Class<?>> types){
+		final Method[] attributes = annotation.annotationType()
+			.getDeclaredMethods();
+		for(int i = 0, length = attributes.length; i < length; i ++){
+			final Object value = readAttribute(annotation, attributes[i]);
+
+			if(value instanceof final Class<?> cls)
+				addReferencedTypes(cls, types);
+			else if(value instanceof final Class<?>[] classes)
+				for(int j = 0, count = classes.length; j < count; j ++)
+					addReferencedTypes(classes[j], types);
+			else if(value instanceof final Annotation nestedAnnotation)
+				addReferencedTypes(nestedAnnotation, types);
+			else if(value instanceof final Annotation[] nestedAnnotations)
+				addReferencedTypes(nestedAnnotations, types);
+		}
+	}
+
+	private static Object readAttribute(final Annotation annotation, final Method attribute){
+		try{
+			return attribute.invoke(annotation);
+		}
+		catch(final ReflectiveOperationException | RuntimeException ignored){
+			//an annotation not accessible from here is not one of this library, and plays no part in the validation
+			return null;
+		}
+	}
+
+}
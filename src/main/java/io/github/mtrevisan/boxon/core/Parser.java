@@ -31,16 +31,27 @@ import io.github.mtrevisan.boxon.core.parsers.TemplateLoader;
 import io.github.mtrevisan.boxon.core.parsers.TemplateParser;
 import io.github.mtrevisan.boxon.exceptions.DataException;
 import io.github.mtrevisan.boxon.exceptions.DecodeException;
+import io.github.mtrevisan.boxon.exceptions.TemplateException;
 import io.github.mtrevisan.boxon.helpers.GenericHelper;
 import io.github.mtrevisan.boxon.io.Evaluator;
+import io.github.mtrevisan.boxon.logs.EventListener;
+import io.github.mtrevisan.boxon.logs.jfr.MessageDecodedEvent;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -48,7 +59,31 @@ import java.util.List;
  */
 public final class Parser{
 
+	/** Default size of the window used to read a file, in {@code byte}s. */
+	private static final int DEFAULT_FILE_WINDOW_SIZE = 64 * 1024 * 1024;
+	/** Size under which a file is not split further when streamed, in {@code byte}s. */
+	private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+
+	/** The parsing can go on. */
+	private static final int STATUS_PROCEED = 0;
+	/** The parsing was stopped (by the visitor, or because no more messages can be found). */
+	private static final int STATUS_STOP = 1;
+	/** The message at the current position straddles the end of the window, and should be parsed again from the next one. */
+	private static final int STATUS_CARRY_OVER = 2;
+
+	/** The window is followed by more input. */
+	private static final int WINDOW_PARTIAL = 0;
+	/** The window holds the end of the input. */
+	private static final int WINDOW_LAST = 1;
+	/** The window holds the end of a range of the input, right before the start of a message. */
+	private static final int WINDOW_LAST_BEFORE_MESSAGE = 2;
+
+
 	private final TemplateParser templateParser;
+	private final EventListener eventListener;
+
+	private int fileWindowSize = DEFAULT_FILE_WINDOW_SIZE;
+	private boolean shareSources;
 
 
 	/**
@@ -64,6 +99,7 @@ public final class Parser{
 
 	private Parser(final Core core){
 		templateParser = core.getTemplateParser();
+		eventListener = core.getEventListener();
 	}
 
 
@@ -118,6 +154,41 @@ public final class Parser{
 	}
 
 
+	/**
+	 * Sets the size of the window used to read a file.
+	 * <p>
+	 * A file is read one window at a time, so files of any size can be parsed; a message that straddles the end of a window is parsed
+	 * again from the start of the next one, hence the window should be way larger than the longest message.
+	 * </p>
+	 *
+	 * @param windowSize	The size of the window, in {@code byte}s.
+	 * @return	This instance, used for chaining.
+	 */
+	public Parser withFileWindowSize(final int windowSize){
+		if(windowSize <= 0)
+			throw DataException.create("Window size must be positive: {}", windowSize);
+
+		fileWindowSize = windowSize;
+
+		return this;
+	}
+
+	/**
+	 * Makes the responses reference the input instead of holding a copy of the frame that originates the message.
+	 * <p>
+	 * This saves a copy for each message, but a retained response keeps the whole input (the window, when parsing a file) alive: use it
+	 * only if the responses are consumed while parsing, otherwise retain the {@link Response#copySource() copy of the frame}.
+	 * </p>
+	 *
+	 * @return	This instance, used for chaining.
+	 */
+	public Parser withSharedSources(){
+		shareSources = true;
+
+		return this;
+	}
+
+
 	/**
 	 * Parse a message from a file containing a binary stream.
 	 *
@@ -129,8 +200,9 @@ public final class Parser{
 	 * @throws SecurityException	If a security manager exists and its {@code checkRead} method denies read access to the file.
 	 */
 	public List<Response<byte[], Object>> parse(final File file) throws IOException{
-		final BitReader reader = BitReader.wrap(file);
-		return parse(reader);
+		final List<Response<byte[], Object>> response = new ArrayList<>(1);
+		parse(file, new ConsumerVisitor(response::add));
+		return response;
 	}
 
 	/**
@@ -155,6 +227,190 @@ public final class Parser{
 		return parse(reader);
 	}
 
+	/**
+	 * Parse a message from a file containing a binary stream, handing each response to the given consumer as soon as it is available.
+	 *
+	 * @param file	The file containing the binary stream.
+	 * @param consumer	The consumer of each response (either a message or an error).
+	 * @throws IOException	If an I/O error occurs.
+	 * @throws FileNotFoundException	If the file does not exist, is a directory rather than a regular file,
+	 * 	or for some other reason cannot be opened for reading.
+	 * @throws SecurityException	If a security manager exists and its {@code checkRead} method denies read access to the file.
+	 */
+	public void parse(final File file, final Consumer<Response<byte[], Object>> consumer) throws IOException{
+		parse(file, new ConsumerVisitor(consumer));
+	}
+
+	/**
+	 * Parse a message, handing each response to the given consumer as soon as it is available.
+	 *
+	 * @param payload	The message to be parsed.
+	 * @param consumer	The consumer of each response (either a message or an error).
+	 */
+	public void parse(final byte[] payload, final Consumer<Response<byte[], Object>> consumer){
+		parse(payload, new ConsumerVisitor(consumer));
+	}
+
+	/**
+	 * Parse a message, handing each response to the given consumer as soon as it is available.
+	 *
+	 * @param buffer	The message to be parsed backed by a {@link ByteBuffer}.
+	 * @param consumer	The consumer of each response (either a message or an error).
+	 */
+	public void parse(final ByteBuffer buffer, final Consumer<Response<byte[], Object>> consumer){
+		parse(buffer, new ConsumerVisitor(consumer));
+	}
+
+	/**
+	 * Parse a message from a file containing a binary stream, notifying the visitor as soon as each message is decoded.
+	 *
+	 * @param file	The file containing the binary stream.
+	 * @param visitor	The visitor notified of each message, error, and resynchronization, that can stop the parsing.
+	 * @throws IOException	If an I/O error occurs.
+	 * @throws FileNotFoundException	If the file does not exist, is a directory rather than a regular file,
+	 * 	or for some other reason cannot be opened for reading.
+	 * @throws SecurityException	If a security manager exists and its {@code checkRead} method denies read access to the file.
+	 */
+	public void parse(final File file, final ParserVisitor visitor) throws IOException{
+		try(final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+			long offset = 0l;
+			final long size = channel.size();
+			while(offset >= 0l && offset < size)
+				offset = parseWindow(channel, offset, size, false, visitor);
+		}
+	}
+
+	/**
+	 * Returns a stream of the messages contained into a file.
+	 * <p>
+	 * The file is split into chunks that begin at the start of a message (as found by the resynchronization logic), so that, if the
+	 * stream is parallel, each chunk can be parsed independently.<br />
+	 * The returned stream holds an open file, so it should be closed (e.g. with a try-with-resources statement).
+	 * </p>
+	 *
+	 * @param file	The file containing the binary stream.
+	 * @return	The stream of responses, in the order they appear in the file.
+	 * @throws IOException	If an I/O error occurs.
+	 * @throws SecurityException	If a security manager exists and its {@code checkRead} method denies read access to the file.
+	 */
+	public Stream<Response<byte[], Object>> stream(final Path file) throws IOException{
+		final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try{
+			final ResponseSpliterator spliterator = new ResponseSpliterator(this, channel, 0l, channel.size(),
+				Math.min(MIN_CHUNK_SIZE, fileWindowSize));
+			return StreamSupport.stream(spliterator, false)
+				.onClose(() -> closeChannel(channel));
+		}
+		catch(final IOException | RuntimeException e){
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static void closeChannel(final FileChannel channel){
+		try{
+			channel.close();
+		}
+		catch(final IOException ioe){
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+	/**
+	 * Parse a window of a file.
+	 *
+	 * @param channel	The channel to read the file from.
+	 * @param offset	The position of the start of the window.
+	 * @param end	The position past the last byte to parse.
+	 * @param messageFollows	Whether a message starts at {@code end}.
+	 * @param visitor	The visitor notified of each message, error, and resynchronization.
+	 * @return	The position from which to parse the next window, or {@code -1} if the parsing was stopped.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	long parseWindow(final FileChannel channel, final long offset, final long end, final boolean messageFollows,
+			final ParserVisitor visitor) throws IOException{
+		final int length = (int)Math.min(fileWindowSize, end - offset);
+		final int window = (offset + length < end
+			? WINDOW_PARTIAL
+			: (messageFollows? WINDOW_LAST_BEFORE_MESSAGE: WINDOW_LAST));
+		final BitReader reader = BitReader.wrap(readWindow(channel, offset, length));
+
+		final int status = parse(reader, offset, window, visitor);
+
+		//on carry-over the reader is left at the start of the message to parse again
+		return (status != STATUS_STOP? offset + reader.position(): -1l);
+	}
+
+	/**
+	 * Finds the start of the first message at or after the given position.
+	 * <p>
+	 * The search reads a small probe first, doubling it (up to a window) only while no message start is found, so that a split does not read
+	 * a whole window.
+	 * </p>
+	 *
+	 * @param channel	The channel to read the file from.
+	 * @param position	The position from which to start the search (must be positive).
+	 * @param end	The position past the last byte to search.
+	 * @param probe	The buffer to read the first probe into, reused between searches (its capacity is the size of the first probe).
+	 * @return	The position of the start of the message, or {@code -1} if none is found within a window.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	long findNextMessageStart(final FileChannel channel, final long position, final long end, final ByteBuffer probe) throws IOException{
+		//the search starts from the byte after the current position of the reader
+		final long offset = position - 1;
+		final int maxLength = (int)Math.min(fileWindowSize, end - offset);
+		final int maxHeaderLength = templateParser.getMaxHeaderLength();
+		int length = Math.min(probe.capacity(), maxLength);
+		//the whole backing array is searched, so the probe is reused only when it is filled
+		ByteBuffer buffer = (length == probe.capacity()? probe.clear(): ByteBuffer.allocate(length));
+		while(true){
+			final BitReader reader = BitReader.wrap(readWindow(channel, offset, buffer));
+
+			final int index = templateParser.findNextMessageIndex(reader);
+			//a longer header that straddles the end of the probe may start before the one found
+			if(length == maxLength || index >= 0 && index + maxHeaderLength <= length)
+				return (index >= 0? offset + index: -1l);
+
+			length = (int)Math.min((long)length << 1, maxLength);
+			buffer = ByteBuffer.allocate(length);
+		}
+	}
+
+	private static ByteBuffer readWindow(final FileChannel channel, final long offset, final int length) throws IOException{
+		//NOTE: the window is read into a heap buffer (instead of being mapped) because template lookup and checksum need the backing array,
+		// and it is not reused because the responses may reference it (see withSharedSources)
+		return readWindow(channel, offset, ByteBuffer.allocate(length));
+	}
+
+	private static ByteBuffer readWindow(final FileChannel channel, final long offset, final ByteBuffer window) throws IOException{
+		while(window.hasRemaining())
+			if(channel.read(window, offset + window.position()) < 0)
+				throw new EOFException("Unexpected end of file at position " + (offset + window.position()));
+		return window.clear();
+	}
+
+	/**
+	 * Parse a message, notifying the visitor as soon as each message is decoded.
+	 *
+	 * @param payload	The message to be parsed.
+	 * @param visitor	The visitor notified of each message, error, and resynchronization, that can stop the parsing.
+	 */
+	public void parse(final byte[] payload, final ParserVisitor visitor){
+		final BitReader reader = BitReader.wrap(payload);
+		parse(reader, visitor);
+	}
+
+	/**
+	 * Parse a message, notifying the visitor as soon as each message is decoded.
+	 *
+	 * @param buffer	The message to be parsed backed by a {@link ByteBuffer}.
+	 * @param visitor	The visitor notified of each message, error, and resynchronization, that can stop the parsing.
+	 */
+	public void parse(final ByteBuffer buffer, final ParserVisitor visitor){
+		final BitReader reader = BitReader.wrap(buffer);
+		parse(reader, visitor);
+	}
+
 	/**
 	 * Parse a message.
 	 *
@@ -163,54 +419,180 @@ public final class Parser{
 	 */
 	private List<Response<byte[], Object>> parse(final BitReader reader){
 		final List<Response<byte[], Object>> response = new ArrayList<>(1);
+		parse(reader, new ConsumerVisitor(response::add));
+		return response;
+	}
 
-		while(reader.hasRemaining()){
+	/**
+	 * Parse a message.
+	 *
+	 * @param reader	The message to be parsed backed by a {@link BitReader}.
+	 * @param visitor	The visitor notified of each message, error, and resynchronization.
+	 */
+	private void parse(final BitReader reader, final ParserVisitor visitor){
+		parse(reader, 0l, WINDOW_LAST, visitor);
+	}
+
+	/**
+	 * Parse a message, or a window of it.
+	 *
+	 * @param reader	The message to be parsed backed by a {@link BitReader}.
+	 * @param offset	The position in the input of the first byte of the reader.
+	 * @param window	The kind of window held by the reader.
+	 * @param visitor	The visitor notified of each message, error, and resynchronization.
+	 * @return	The status of the parsing.
+	 */
+	private int parse(final BitReader reader, final long offset, final int window, final ParserVisitor visitor){
+		int status = STATUS_PROCEED;
+		while(status == STATUS_PROCEED && reader.hasRemaining()){
 			//save the state of the reader (restored upon a decoding error)
 			reader.createSavepoint();
 
-			if(parse(reader, response))
-				break;
+			status = parseNext(reader, offset, window, visitor);
 		}
-
-		//check if there are unread bytes
-		assertNoLeftBytes(reader, response);
-
-		return response;
+		return status;
 	}
 
-	private boolean parse(final BitReader reader, final Collection<Response<byte[], Object>> response){
-		try{
-			final Template<?> template = templateParser.getTemplate(reader);
+	/**
+	 * Parse the next message.
+	 *
+	 * @param reader	The message to be parsed backed by a {@link BitReader}.
+	 * @param offset	The position in the input of the first byte of the reader.
+	 * @param window	The kind of window held by the reader.
+	 * @param visitor	The visitor notified of each message, error, and resynchronization.
+	 * @return	The status of the parsing.
+	 */
+	private int parseNext(final BitReader reader, final long offset, final int window, final ParserVisitor visitor){
+		final MessageDecodedEvent jfrEvent = MessageDecodedEvent.beginIfEnabled();
+		final boolean messageEventEnabled = eventListener.hasCapability(EventListener.CAPABILITY_MESSAGE_EVENTS);
+		final long start = (messageEventEnabled? System.nanoTime(): 0l);
+		final int startPosition = reader.position();
+
+		//a missing template is frequent on noisy input, so it's not signaled through an exception
+		final Template<?> template = templateParser.findTemplate(reader);
+		if(template == null){
+			final Exception error = TemplateException.createStackless("Cannot find any template for given raw message");
+			return handleError(reader, offset, window, visitor, startPosition, null, error, messageEventEnabled, jfrEvent);
+		}
 
+		try{
 			final Object partialDecodedMessage = templateParser.decode(template, reader, null);
 
-			final Response<byte[], Object> partialResponse = Response.create(reader, partialDecodedMessage);
-			response.add(partialResponse);
+			//a message that reaches the end of the window may be truncated (unless it is the only one in the window)
+			if(window == WINDOW_PARTIAL && !reader.hasRemaining() && startPosition > 0)
+				return carryOver(reader, startPosition);
+
+			if(messageEventEnabled)
+				eventListener.decodedMessage(template.getName(), reader.position() - startPosition, System.nanoTime() - start);
+			if(jfrEvent != null)
+				jfrEvent.complete(template.getName(), reader.position() - startPosition, null);
+
+			final Response<byte[], Object> partialResponse = Response.create(reader, offset, startPosition, reader.position(),
+				shareSources, partialDecodedMessage);
+			return (visitor.onMessage(partialResponse)? STATUS_PROCEED: STATUS_STOP);
 		}
 		catch(final Exception e){
-			final DecodeException de = DecodeException.create(reader.position(), e);
-			final Response<byte[], Object> partialResponse = Response.create(reader, de);
-			response.add(partialResponse);
-
-			//restore the state of the reader
-			reader.restoreSavepoint();
+			return handleError(reader, offset, window, visitor, startPosition, template.getName(), e, messageEventEnabled, jfrEvent);
+		}
+	}
 
-			final int position = templateParser.findNextMessageIndex(reader);
-			if(position < 0)
-				//cannot find any template for the message
-				return true;
+	private int handleError(final BitReader reader, final long offset, final int window, final ParserVisitor visitor,
+			final int startPosition, final String templateName, final Exception error, final boolean messageEventEnabled,
+			final MessageDecodedEvent jfrEvent){
+		//restore the state of the reader
+		final int errorPosition = reader.position();
+		reader.restoreSavepoint();
+
+		//a message that fails on reaching the end of the window is truncated: parse it again from the start of the next window (before
+		// searching for a header, that could be found within the payload of the message itself)
+		if(window == WINDOW_PARTIAL && startPosition > 0 && reachedLimit(reader, errorPosition, error))
+			return carryOver(reader, startPosition);
+
+		int position = templateParser.findNextMessageIndex(reader);
+		if(position < 0){
+			//no other message in the window: the message may be truncated (unless it is the only one in the window)
+			if(window == WINDOW_PARTIAL && startPosition > 0)
+				return carryOver(reader, startPosition);
+
+			//the next message starts right after the window
+			if(window == WINDOW_LAST_BEFORE_MESSAGE)
+				position = reader.limit();
+		}
 
-			reader.position(position);
+		if(messageEventEnabled)
+			eventListener.decodingFailed(templateName, error);
+		if(jfrEvent != null)
+			jfrEvent.complete(templateName, errorPosition - startPosition, error);
+
+		final DecodeException de = DecodeException.create(offset + errorPosition, error);
+
+		//the frame of the error spans up to where the decoding resumes
+		final Response<byte[], Object> partialResponse = Response.create(reader, offset, startPosition,
+			(position < 0? reader.limit(): position), shareSources, de);
+		if(!visitor.onError(partialResponse))
+			return STATUS_STOP;
+
+		if(position < 0){
+			if(window == WINDOW_PARTIAL){
+				//the window starts with a message without an end: skip it
+				reader.position(reader.limit());
+				return STATUS_PROCEED;
+			}
+
+			//cannot find any template for the message
+			assertNoLeftBytes(reader, offset, visitor);
+			return STATUS_STOP;
 		}
-		return false;
+
+		if(messageEventEnabled)
+			eventListener.resynchronized(position - startPosition);
+
+		final boolean proceed = visitor.onResync(offset + startPosition, offset + position);
+		reader.position(position);
+		return (proceed? STATUS_PROCEED: STATUS_STOP);
+	}
+
+	private static boolean reachedLimit(final BitReader reader, final int errorPosition, final Throwable error){
+		if(errorPosition >= reader.limit())
+			return true;
+
+		Throwable cause = error;
+		while(cause != null && !(cause instanceof BufferUnderflowException))
+			cause = cause.getCause();
+		return (cause != null);
+	}
+
+	private static int carryOver(final BitReader reader, final int startPosition){
+		reader.position(startPosition);
+		return STATUS_CARRY_OVER;
 	}
 
-	private static void assertNoLeftBytes(final BitReader reader, final Collection<Response<byte[], Object>> response){
+	private static void assertNoLeftBytes(final BitReader reader, final long offset, final ParserVisitor visitor){
 		if(reader.hasRemaining()){
 			final int position = reader.position();
 			final Exception error = DataException.create("There are remaining unread bytes");
-			final DecodeException pe = DecodeException.create(position, error);
-			response.add(Response.create(pe));
+			final DecodeException pe = DecodeException.create(offset + position, error);
+			visitor.onError(Response.create(pe));
+		}
+	}
+
+
+	/**
+	 * Adapter that hands every response, be it a message or an error, to a consumer.
+	 *
+	 * @param consumer	The consumer of the responses.
+	 */
+	private record ConsumerVisitor(Consumer<Response<byte[], Object>> consumer) implements ParserVisitor{
+		@Override
+		public boolean onMessage(final Response<byte[], Object> response){
+			consumer.accept(response);
+			return true;
+		}
+
+		@Override
+		public boolean onError(final Response<byte[], Object> response){
+			consumer.accept(response);
+			return true;
 		}
 	}
 
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.core;
+
+
+/**
+ * Receives the outcome of a parse as soon as each message is decoded, without accumulating them.
+ * <p>Each callback tells whether the parsing should proceed; returning {@code false} stops it.</p>
+ *
+ * @see Parser#parse(byte[], ParserVisitor)
+ */
+public interface ParserVisitor{
+
+	/**
+	 * Called when a message is successfully decoded.
+	 *
+	 * @param response	The response containing the decoded message.
+	 * @return	Whether to continue parsing.
+	 */
+	boolean onMessage(Response<byte[], Object> response);
+
+	/**
+	 * Called when a message cannot be decoded.
+	 *
+	 * @param response	The response containing the error.
+	 * @return	Whether to continue parsing.
+	 */
+	boolean onError(Response<byte[], Object> response);
+
+	/**
+	 * Called after an error, when the start of the next message is found.
+	 *
+	 * @param fromPosition	The position of the message in error, in {@code byte}s.
+	 * @param toPosition	The position where parsing resumes, in {@code byte}s.
+	 * @return	Whether to continue parsing.
+	 */
+	default boolean onResync(final long fromPosition, final long toPosition){
+		return true;
+	}
+
+}
@@ -27,9 +27,16 @@ package io.github.mtrevisan.boxon.core;
 import io.github.mtrevisan.boxon.core.helpers.BitReader;
 import io.github.mtrevisan.boxon.core.helpers.BitWriter;
 
+import java.nio.ByteBuffer;
+
 
 /**
  * Response class for a single encoding/decoding phase.
+ * <p>
+ * A decoding response holds a copy of the frame that originates the message, along with its offsets within the input (see
+ * {@link #getSourceBuffer()} and {@link #copySource()}), so that a retained response does not keep the whole input alive.<br />
+ * If the parser shares the sources (see {@link Parser#withSharedSources()}) the response references the input instead.
+ * </p>
  *
  * @param <S>	The source class.
  * @param <M>	The message class.
@@ -39,6 +46,10 @@ public final class Response<S, M>{
 
 	/** The source data for the message. */
 	private final S source;
+	/** The (read-only) buffer spanning the frame that originates the message. */
+	private final ByteBuffer sourceBuffer;
+	/** The position in the input of the first byte of the frame. */
+	private final long sourceStart;
 
 	/** Successfully processed message. */
 	private final M message;
@@ -61,28 +72,63 @@ public final class Response<S, M>{
 		return new Response<>(source, writer.array(), error);
 	}
 
+	/**
+	 * Construct a response from a given source and processed message or error.
+	 *
+	 * @param source	The source data that originates the message.
+	 * @param message	The processed message.
+	 * @param error	The error.
+	 * @param <S>	The source class.
+	 * @param <M>	The message class.
+	 * @return	The instance.
+	 */
+	static <S, M> Response<S, M> create(final S source, final M message, final Exception error){
+		return new Response<>(source, message, error);
+	}
+
 	/**
 	 * Construct a response from a given source and processed message.
 	 *
 	 * @param reader	The reader to read the source data from.
+	 * @param offset	The position in the input of the first byte of the reader.
+	 * @param start	The index in the reader of the first byte of the frame that originates the message.
+	 * @param end	The index in the reader past the last byte of the frame that originates the message.
+	 * @param shareSource	Whether to reference the input instead of copying the frame.
 	 * @param message	The processed message.
 	 * @param <M>	The message class.
 	 * @return	The instance.
 	 */
-	static <M> Response<byte[], M> create(final BitReader reader, final M message){
-		return new Response<>(reader.array(), message, null);
+	static <M> Response<byte[], M> create(final BitReader reader, final long offset, final int start, final int end,
+			final boolean shareSource, final M message){
+		return create(reader, offset, start, end, shareSource, message, null);
 	}
 
 	/**
 	 * Construct a response from a given object and error.
 	 *
 	 * @param reader	The reader to read the source data from.
+	 * @param offset	The position in the input of the first byte of the reader.
+	 * @param start	The index in the reader of the first byte of the frame that generates the error.
+	 * @param end	The index in the reader past the last byte of the frame that generates the error.
+	 * @param shareSource	Whether to reference the input instead of copying the frame.
 	 * @param error	The error.
 	 * @param <M>	The message class.
 	 * @return	The instance.
 	 */
-	static <M> Response<byte[], M> create(final BitReader reader, final Exception error){
-		return new Response<>(reader.array(), null, error);
+	static <M> Response<byte[], M> create(final BitReader reader, final long offset, final int start, final int end,
+			final boolean shareSource, final Exception error){
+		return create(reader, offset, start, end, shareSource, null, error);
+	}
+
+	private static <M> Response<byte[], M> create(final BitReader reader, final long offset, final int start, final int end,
+			final boolean shareSource, final M message, final Exception error){
+		final ByteBuffer input = reader.asReadOnlyBuffer();
+		if(shareSource)
+			return new Response<>(reader.array(), input.slice(start, end - start), offset + start, message, error);
+
+		final byte[] frame = new byte[end - start];
+		input.get(start, frame);
+		return new Response<>(frame, ByteBuffer.wrap(frame).asReadOnlyBuffer(), offset + start, message, error);
 	}
 
 	/**
@@ -107,6 +153,16 @@ public final class Response<S, M>{
 	 */
 	private Response(final S source, final M message, final Exception error){
 		this.source = source;
+		sourceBuffer = null;
+		sourceStart = -1l;
+		this.message = message;
+		this.error = error;
+	}
+
+	private Response(final S source, final ByteBuffer sourceBuffer, final long sourceStart, final M message, final Exception error){
+		this.source = source;
+		this.sourceBuffer = sourceBuffer;
+		this.sourceStart = sourceStart;
 		this.message = message;
 		this.error = error;
 	}
@@ -114,6 +170,10 @@ public final class Response<S, M>{
 
 	/**
 	 * The source for the processed message.
+	 * <p>
+	 * For a decoding response this is the frame that originates the message, unless the parser shares the sources, in which case it is
+	 * the whole input the message was parsed from (the window, when parsing a file; see {@link #getSourceStart()}).
+	 * </p>
 	 *
 	 * @return	The source for the processed message.
 	 */
@@ -121,6 +181,49 @@ public final class Response<S, M>{
 		return source;
 	}
 
+	/**
+	 * The position of the first byte of the frame that originates the message, within the input (buffer or file).
+	 *
+	 * @return	The start offset of the frame, or {@code -1} if this is not a decoding response.
+	 */
+	public long getSourceStart(){
+		return sourceStart;
+	}
+
+	/**
+	 * The position past the last byte of the frame that originates the message, within the input (buffer or file).
+	 *
+	 * @return	The end offset of the frame, or {@code -1} if this is not a decoding response.
+	 */
+	public long getSourceEnd(){
+		return (sourceBuffer != null? sourceStart + sourceBuffer.capacity(): -1l);
+	}
+
+	/**
+	 * A read-only view of the frame that originates the message.
+	 * <p>If the parser shares the sources, the view shares its content with the input buffer.</p>
+	 *
+	 * @return	The read-only buffer of the frame, or {@code null} if this is not a decoding response.
+	 */
+	public ByteBuffer getSourceBuffer(){
+		return (sourceBuffer != null? sourceBuffer.duplicate(): null);
+	}
+
+	/**
+	 * A copy of the frame that originates the message.
+	 * <p>Useful to release the input buffer whenever a response of a parser that shares the sources is retained for later processing.</p>
+	 *
+	 * @return	The bytes of the frame, or {@code null} if this is not a decoding response.
+	 */
+	public byte[] copySource(){
+		if(sourceBuffer == null)
+			return null;
+
+		final byte[] frame = new byte[sourceBuffer.capacity()];
+		sourceBuffer.get(0, frame);
+		return frame;
+	}
+
 	/**
 	 * The message processed from the given {@link #source}.
 	 *
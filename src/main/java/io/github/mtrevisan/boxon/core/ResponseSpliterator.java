@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+
+/**
+ * Spliterator over the messages contained into a range of a file.
+ * <p>
+ * The range is split in half, moving the boundary forward to the start of the next message, so that each part can be parsed on its own;
+ * each part is parsed one window at a time, buffering only the responses of the current window.
+ * </p>
+ */
+final class ResponseSpliterator implements Spliterator<Response<byte[], Object>>{
+
+	/** The size of the first probe read to find the start of a message when splitting. */
+	private static final int PROBE_SIZE = 4 * 1024;
+
+	private final Parser parser;
+	private final FileChannel channel;
+	/** The position past the last byte of the range. */
+	private final long end;
+	/** Whether a message starts at {@link #end} (that is, the range was split from a larger one). */
+	private final boolean messageFollows;
+	/** The size under which the range is not split further. */
+	private final int minChunkSize;
+
+	/** The position from which to parse the next window, or {@code -1} if the parsing was stopped. */
+	private long position;
+	/** Whether the traversal has started (after which the range cannot be split anymore). */
+	private boolean started;
+	/** The buffer the probes are read into, allocated on the first split. */
+	private ByteBuffer probe;
+	private final Queue<Response<byte[], Object>> pending = new ArrayDeque<>();
+	private final ParserVisitor collector = new ParserVisitor(){
+		@Override
+		public boolean onMessage(final Response<byte[], Object> response){
+			return pending.add(response);
+		}
+
+		@Override
+		public boolean onError(final Response<byte[], Object> response){
+			return pending.add(response);
+		}
+	};
+
+
+	ResponseSpliterator(final Parser parser, final FileChannel channel, final long start, final long end, final int minChunkSize){
+		this(parser, channel, start, end, false, minChunkSize);
+	}
+
+	private ResponseSpliterator(final Parser parser, final FileChannel channel, final long start, final long end,
+			final boolean messageFollows, final int minChunkSize){
+		this.parser = parser;
+		this.channel = channel;
+		this.end = end;
+		this.messageFollows = messageFollows;
+		this.minChunkSize = minChunkSize;
+
+		position = start;
+	}
+
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super Response<byte[], Object>> action){
+		started = true;
+		try{
+			while(pending.isEmpty() && position >= 0l && position < end)
+				position = parser.parseWindow(channel, position, end, messageFollows, collector);
+		}
+		catch(final IOException ioe){
+			throw new UncheckedIOException(ioe);
+		}
+
+		final Response<byte[], Object> response = pending.poll();
+		if(response == null)
+			return false;
+
+		action.accept(response);
+		return true;
+	}
+
+	@Override
+	public Spliterator<Response<byte[], Object>> trySplit(){
+		if(started || end - position < 2l * minChunkSize)
+			return null;
+
+		try{
+			final long middle = position + ((end - position) >>> 1);
+			if(probe == null)
+				probe = ByteBuffer.allocate(PROBE_SIZE);
+			final long boundary = parser.findNextMessageStart(channel, middle, end, probe);
+			if(boundary < 0l)
+				return null;
+
+			final ResponseSpliterator prefix = new ResponseSpliterator(parser, channel, position, boundary, true, minChunkSize);
+			position = boundary;
+			return prefix;
+		}
+		catch(final IOException ioe){
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+	/**
+	 * Each message is at least one byte long, so the number of remaining bytes is an upper bound of the number of remaining messages.
+	 *
+	 * @return	The estimated number of remaining messages.
+	 */
+	@Override
+	public long estimateSize(){
+		return pending.size() + Math.max(end - position, 0l);
+	}
+
+	@Override
+	public int characteristics(){
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+
+}
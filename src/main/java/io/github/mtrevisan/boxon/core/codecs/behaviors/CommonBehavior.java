@@ -64,7 +64,7 @@ public abstract class CommonBehavior{
 	 * @param arraySize	The size of the array to be read.
 	 * @return	The array of objects read from the {@link BitReaderInterface}.
 	 */
-	public final Object readArrayWithoutAlternatives(final BitReaderInterface reader, final int arraySize){
+	public Object readArrayWithoutAlternatives(final BitReaderInterface reader, final int arraySize){
 		final Object array = createArray(arraySize);
 		for(int i = 0; i < arraySize; i ++){
 			final Object element = readValue(reader);
@@ -80,7 +80,7 @@ public abstract class CommonBehavior{
 	 * @param writer	The {@link BitWriterInterface} used to write the array.
 	 * @param array	The array of objects to be written.
 	 */
-	public final void writeArrayWithoutAlternatives(final BitWriterInterface writer, final Object array){
+	public void writeArrayWithoutAlternatives(final BitWriterInterface writer, final Object array){
 		for(int i = 0, length = Array.getLength(array); i < length; i ++){
 			final Object element = Array.get(array, i);
 
@@ -118,7 +118,8 @@ public abstract class CommonBehavior{
 		if(collectionBinding == null)
 			instance = DataTypeCaster.cast((BigInteger)instance, inputType);
 		else if(collectionBinding instanceof BindAsArray && inputType != null){
-			inputType = inputType.getComponentType();
+			//an input type that is not an array (e.g. `Object`) receives an array of big integers
+			inputType = (inputType.isArray()? inputType.getComponentType(): BigInteger.class);
 			if(inputType != instance.getClass().getComponentType())
 				instance = DataTypeCaster.cast(instance, inputType);
 		}
@@ -41,7 +41,11 @@ import java.util.BitSet;
 /**
  * Represents the behavior for handling integer values in a {@link BitSet}.
  * <p>
- * This class extends {@link BitSetBehavior} and adds support for specifying the byte order of the integer values.
+ * This class extends {@link BitSetBehavior} and adds support for specifying the byte order of the integer values.<br />
+ * Arrays of values up to {@link Long#SIZE} bits are read into the narrowest primitive array that can hold them ({@code byte[]},
+ * {@code short[]}, {@code int[]}, or {@code long[]}), and primitive arrays are written without boxing their elements.<br />
+ * This array is an intermediate value: it is always cast to the array type declared by the converter (or the validator, or the field),
+ * and to an array of {@link BigInteger}s whenever the declared type is not an array, so the public types are the same as before.
  * </p>
  */
 public final class IntegerBehavior extends BitSetBehavior{
@@ -62,6 +66,115 @@ public final class IntegerBehavior extends BitSetBehavior{
 		return CodecHelper.createArray(BigInteger.class, arraySize);
 	}
 
+	@Override
+	public Object readArrayWithoutAlternatives(final BitReaderInterface reader, final int arraySize){
+		if(size > Long.SIZE)
+			return super.readArrayWithoutAlternatives(reader, arraySize);
+
+		if(size <= Byte.SIZE)
+			return readByteArray(reader, arraySize);
+		if(size <= Short.SIZE)
+			return readShortArray(reader, arraySize);
+		if(size <= Integer.SIZE)
+			return readIntArray(reader, arraySize);
+		return readLongArray(reader, arraySize);
+	}
+
+	private byte[] readByteArray(final BitReaderInterface reader, final int arraySize){
+		if(size == Byte.SIZE)
+			return reader.readBytes(arraySize);
+
+		final byte[] array = new byte[arraySize];
+		for(int i = 0; i < arraySize; i ++)
+			array[i] = (byte)readLong(reader);
+		return array;
+	}
+
+	private short[] readShortArray(final BitReaderInterface reader, final int arraySize){
+		final short[] array = new short[arraySize];
+		if(size == Short.SIZE)
+			for(int i = 0; i < arraySize; i ++)
+				array[i] = reader.readShort(byteOrder);
+		else
+			for(int i = 0; i < arraySize; i ++)
+				array[i] = (short)readLong(reader);
+		return array;
+	}
+
+	private int[] readIntArray(final BitReaderInterface reader, final int arraySize){
+		final int[] array = new int[arraySize];
+		if(size == Integer.SIZE)
+			for(int i = 0; i < arraySize; i ++)
+				array[i] = reader.readInt(byteOrder);
+		else
+			for(int i = 0; i < arraySize; i ++)
+				array[i] = (int)readLong(reader);
+		return array;
+	}
+
+	private long[] readLongArray(final BitReaderInterface reader, final int arraySize){
+		final long[] array = new long[arraySize];
+		if(size == Long.SIZE)
+			for(int i = 0; i < arraySize; i ++)
+				array[i] = reader.readLong(byteOrder);
+		else
+			for(int i = 0; i < arraySize; i ++)
+				array[i] = readLong(reader);
+		return array;
+	}
+
+	private long readLong(final BitReaderInterface reader){
+		return BitSetHelper.toObjectiveType(reader.readBits(size), size, byteOrder);
+	}
+
+	@Override
+	public void writeArrayWithoutAlternatives(final BitWriterInterface writer, final Object array){
+		if(size > Long.SIZE || !writePrimitiveArray(writer, array))
+			super.writeArrayWithoutAlternatives(writer, array);
+	}
+
+	private boolean writePrimitiveArray(final BitWriterInterface writer, final Object array){
+		switch(array){
+			case final byte[] values when size == Byte.SIZE -> writer.writeBytes(values);
+			case final byte[] values -> {
+				for(int i = 0, length = values.length; i < length; i ++)
+					writeLong(writer, values[i]);
+			}
+			case final short[] values when size == Short.SIZE -> {
+				for(int i = 0, length = values.length; i < length; i ++)
+					writer.writeShort(values[i], byteOrder);
+			}
+			case final short[] values -> {
+				for(int i = 0, length = values.length; i < length; i ++)
+					writeLong(writer, values[i]);
+			}
+			case final int[] values when size == Integer.SIZE -> {
+				for(int i = 0, length = values.length; i < length; i ++)
+					writer.writeInt(values[i], byteOrder);
+			}
+			case final int[] values -> {
+				for(int i = 0, length = values.length; i < length; i ++)
+					writeLong(writer, values[i]);
+			}
+			case final long[] values when size == Long.SIZE -> {
+				for(int i = 0, length = values.length; i < length; i ++)
+					writer.writeLong(values[i], byteOrder);
+			}
+			case final long[] values -> {
+				for(int i = 0, length = values.length; i < length; i ++)
+					writeLong(writer, values[i]);
+			}
+			default -> {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void writeLong(final BitWriterInterface writer, final long value){
+		writer.writeBits(BitSetHelper.createBitmap(size, value, byteOrder), size);
+	}
+
 	@Override
 	public Object readValue(final BitReaderInterface reader){
 		return reader.readBigInteger(size, byteOrder);
@@ -69,10 +182,14 @@ public final class IntegerBehavior extends BitSetBehavior{
 
 	@Override
 	public void writeValue(final BitWriterInterface writer, final Object value){
-		final BigInteger v = DataTypeCaster.reinterpretToBigInteger((Number)value);
-		final BitSet bitmap = BitSetHelper.createBitSet(size, v, byteOrder);
+		if(size <= Long.SIZE)
+			//avoid the round trip through a big integer and a bit set
+			writeLong(writer, ((Number)value).longValue());
+		else{
+			final BigInteger v = DataTypeCaster.reinterpretToBigInteger((Number)value);
+			final BitSet bitmap = BitSetHelper.createBitSet(size, v, byteOrder);
 
-		writer.writeBitSet(bitmap, size);
+			writer.writeBitSet(bitmap, size);
+		}
 	}
-
 }
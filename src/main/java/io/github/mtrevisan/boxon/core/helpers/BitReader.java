@@ -127,6 +127,11 @@ public final class BitReader extends BitReaderData implements BitReaderInterface
 		return DataTypeReaderWriter.read(this, byteOrder, type);
 	}
 
+	@Override
+	public long readBits(final int length){
+		return readNumber(length);
+	}
+
 	@Override
 	public byte readByte(){
 		return (byte)readNumber(Byte.SIZE);
@@ -135,8 +140,7 @@ public final class BitReader extends BitReaderData implements BitReaderInterface
 	@Override
 	public byte[] readBytes(final int length){
 		final byte[] array = new byte[length];
-		for(int i = 0; i < length; i ++)
-			array[i] = readByte();
+		readBytes(array);
 		return array;
 	}
 
@@ -160,6 +164,10 @@ public final class BitReader extends BitReaderData implements BitReaderInterface
 
 	@Override
 	public BigInteger readBigInteger(final int size, final ByteOrder byteOrder){
+		//a value that fits in a `long` does not need to go through a bit set
+		if(size <= Long.SIZE)
+			return BigInteger.valueOf(BitSetHelper.toObjectiveType(readNumber(size), size, byteOrder));
+
 		final BitSet bitmap = readBitSet(size);
 		return BitSetHelper.toObjectiveType(bitmap, size, byteOrder);
 	}
@@ -31,10 +31,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.BitSet;
-import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -63,11 +63,10 @@ abstract class BitReaderData{
 		}
 	}
 
-	private final BitConsumer skipBufferConsumer = (bitsToProcess, length) -> {};
-
-
 	/** The backing {@link ByteBuffer}. */
 	private final ByteBuffer buffer;
+	/** Read-only view of {@link #buffer}, created upon request. */
+	private ByteBuffer readOnlyBuffer;
 
 	/** The cache used when reading bits. */
 	private byte cache;
@@ -117,103 +116,126 @@ abstract class BitReaderData{
 	/**
 	 * Reads the next {@code length} bits and composes a long in big-endian notation.
 	 *
-	 * @param bitsToRead	The number of bits to read.
+	 * @param bitsToRead	The number of bits to read (MUST BE less than or equals to {@link Long#SIZE}).
 	 * @return	A long value at the {@link BitReader}'s current position.
 	 */
 	final synchronized long readNumber(final int bitsToRead){
-		final AtomicLong bitmap = new AtomicLong(0l);
-		final BitConsumer numberBufferConsumer = (bitsToProcess, length) -> readFromCache(bitmap, bitsToProcess, length);
-		readBits(bitsToRead, numberBufferConsumer);
-		return bitmap.get();
+		return readBits(bitsToRead);
 	}
 
-	private void readFromCache(final AtomicLong atomicBitmap, final int bitsToRead, final int length){
-		long bitmap = atomicBitmap.get();
-
-		final long mask = composeMask(length);
-		final int shift = remainingBitsInCache - length;
-
-		if(shift == 0)
-			bitmap |= (cache & mask) << bitsToRead;
+	/**
+	 * Fills the given array with the next {@code byte}s.
+	 * <p>Whenever the reading position is aligned to a {@code byte}, the {@code byte}s are copied in bulk.</p>
+	 *
+	 * @param array	The array to fill.
+	 */
+	final synchronized void readBytes(final byte[] array){
+		if(remainingBitsInCache == 0)
+			buffer.get(array);
 		else
-			bitmap |= (cache & mask) >>> shift;
-		cache &= (byte)~mask;
-
-		atomicBitmap.set(bitmap);
+			for(int i = 0, length = array.length; i < length; i ++)
+				array[i] = (byte)readBits(Byte.SIZE);
 	}
 
 	/**
 	 * Reads the next {@code length} bits and composes a {@link BitSet} in little-endian notation.
+	 * <p>
+	 * The bits are read a word at a time and merged into the words of the {@link BitSet}, whenever the reading position is aligned to a
+	 * {@code byte} (and {@code bitsToRead} is a multiple of {@link Long#SIZE}) no shifting is needed.
+	 * </p>
 	 *
 	 * @param bitsToRead	The number of bits to read.
 	 * @return	A {@link BitSet} value at the {@link BitReader}'s current position.
 	 */
 	public final synchronized BitSet readBitSet(final int bitsToRead){
-		final BitSet bitmap = new BitSet(bitsToRead);
-		final BitConsumer bitmapBufferConsumer = (bitsToProcess, length) -> readFromCache(bitmap, bitsToProcess, length);
-		readBits(bitsToRead, bitmapBufferConsumer);
-		return bitmap;
+		final long[] words = new long[(bitsToRead + Long.SIZE - 1) >>> 6];
+		int offset = bitsToRead;
+		while(offset > 0){
+			//the first bit read goes into the index `bitsToRead - 1`
+			final int length = Math.min(offset, Long.SIZE);
+			offset -= length;
+
+			final long chunk = readBits(length);
+
+			final int index = offset >>> 6;
+			final int shift = offset & (Long.SIZE - 1);
+			words[index] |= chunk << shift;
+			if(shift > 0 && length > Long.SIZE - shift)
+				words[index + 1] |= chunk >>> (Long.SIZE - shift);
+		}
+		return BitSet.valueOf(words);
 	}
 
 	/**
-	 * Add {@code size} bits from the cache starting from <a href="https://en.wikipedia.org/wiki/Bit_numbering#Bit_significance_and_indexing">MSB</a>
-	 * with a given offset.
+	 * Skips the next {@code length} bits.
 	 *
-	 * @param bitmap	The bit set into which to transfer {@code size} bits from the cache.
-	 * @param offset	The offset for the indexes.
-	 * @param size	The number of bits to read from the <a href="https://en.wikipedia.org/wiki/Bit_numbering#Bit_significance_and_indexing">MSB</a>
-	 * 	of the cache.
+	 * @param bitsToSkip	The number of bits to skip.
 	 */
-	private void readFromCache(final BitSet bitmap, int offset, final int size){
-		offset += size - 1;
-		final int consumed = byteComplement(remainingBitsInCache);
-		int skip;
-		while(cache != 0 && (skip = countLeadingZerosInCache() - consumed) < size){
-			bitmap.set(offset - skip);
-
-			cache ^= (byte)(0x80 >>> (skip + consumed));
+	final synchronized void skipBits(int bitsToSkip){
+		final int length = Math.min(bitsToSkip, remainingBitsInCache);
+		if(length > 0){
+			readBits(length);
+			bitsToSkip -= length;
 		}
-	}
 
-	private int countLeadingZerosInCache(){
-		return Integer.numberOfLeadingZeros(cache & 0xFF) - (Integer.SIZE - Byte.SIZE);
+		//skip whole bytes directly
+		final int bytesToSkip = bitsToSkip >>> 3;
+		if(bytesToSkip > 0){
+			if(bytesToSkip > buffer.remaining())
+				throw new BufferUnderflowException();
+
+			buffer.position(buffer.position() + bytesToSkip);
+			bitsToSkip &= Byte.SIZE - 1;
+		}
+
+		if(bitsToSkip > 0)
+			readBits(bitsToSkip);
 	}
 
 	/**
-	 * Skips the next {@code length} bits.
+	 * Reads the next {@code length} bits, starting from the <a href="https://en.wikipedia.org/wiki/Bit_numbering#Bit_significance_and_indexing">MSB</a>
+	 * of the cache.
+	 * <p>The cache holds the bits not yet read of the current {@code byte} aligned to the LSB, the bits already read are zeroed.</p>
 	 *
-	 * @param bitsToSkip	The number of bits to skip.
+	 * @param bitsToRead	The number of bits to read (MUST BE less than or equals to {@link Long#SIZE}).
+	 * @return	The bits read, aligned to the LSB.
 	 */
-	final synchronized void skipBits(final int bitsToSkip){
-		readBits(bitsToSkip, skipBufferConsumer);
-	}
+	private long readBits(int bitsToRead){
+		long value = 0l;
 
-	@FunctionalInterface
-	public interface BitConsumer{
-		void consume(int t, int u);
-	}
+		//consume the cache
+		if(remainingBitsInCache > 0){
+			final int length = Math.min(bitsToRead, remainingBitsInCache);
+			bitsToRead -= length;
 
-		/**
-	 * Reads the specified number of bits from the buffer and processes them using the provided bi-consumer.
-	 *
-	 * @param bitsToProcess	The number of bits to process.
-	 * @param bitConsumer	The bi-consumer function to process the bits.
-	 */
-	private void readBits(int bitsToProcess, final BitConsumer bitConsumer){
-		while(bitsToProcess > 0){
-			//if the cache is empty and there are more bits to be read, fill it
-			if(remainingBitsInCache == 0){
-				cache = buffer.get();
-				remainingBitsInCache = Byte.SIZE;
-			}
+			value = consumeCache(length);
+		}
 
-			final int length = Math.min(bitsToProcess, remainingBitsInCache);
-			bitsToProcess -= length;
+		//read whole words and bytes directly
+		if(bitsToRead == Long.SIZE)
+			return (buffer.order() == ByteOrder.BIG_ENDIAN? buffer.getLong(): Long.reverseBytes(buffer.getLong()));
+		while(bitsToRead >= Byte.SIZE){
+			bitsToRead -= Byte.SIZE;
 
-			bitConsumer.consume(bitsToProcess, length);
+			value = (value << Byte.SIZE) | (buffer.get() & 0xFFl);
+		}
 
-			remainingBitsInCache -= length;
+		//fill the cache with the next byte, if needed
+		if(bitsToRead > 0){
+			cache = buffer.get();
+			remainingBitsInCache = Byte.SIZE;
+
+			value = (value << bitsToRead) | consumeCache(bitsToRead);
 		}
+		return value;
+	}
+
+	private long consumeCache(final int length){
+		remainingBitsInCache -= length;
+
+		final long value = (cache & 0xFF) >>> remainingBitsInCache;
+		cache &= (byte)((1 << remainingBitsInCache) - 1);
+		return value;
 	}
 
 	private static int byteComplement(final int bits){
@@ -274,9 +296,6 @@ abstract class BitReaderData{
 		return (terminator != forecastCache);
 	}
 
-	private static long composeMask(final int length){
-		return (0xFFl << byteComplement(length)) & 0xFFl;
-	}
 
 	private byte[] peekString(final byte[] peekBuffer){
 		//make a copy of internal variables
@@ -332,6 +351,27 @@ abstract class BitReaderData{
 		return buffer.array();
 	}
 
+	/**
+	 * Returns a read-only view of the buffer that backs this reader.
+	 * <p>The view shares the content of the backing buffer, its position and limit are independent of the ones of this reader.</p>
+	 *
+	 * @return	The read-only view of the backing buffer.
+	 */
+	public final synchronized ByteBuffer asReadOnlyBuffer(){
+		if(readOnlyBuffer == null)
+			readOnlyBuffer = buffer.asReadOnlyBuffer();
+		return readOnlyBuffer;
+	}
+
+	/**
+	 * Returns the limit of the backing {@link ByteBuffer} in {@code byte}s.
+	 *
+	 * @return	The limit of the backing buffer in {@code byte}s.
+	 */
+	public final synchronized int limit(){
+		return buffer.limit();
+	}
+
 	/**
 	 * Gets the position of the backing {@link ByteBuffer} in integral number of {@code byte}s (lower bound).
 	 *
@@ -25,6 +25,7 @@
 package io.github.mtrevisan.boxon.core.helpers;
 
 import io.github.mtrevisan.boxon.annotations.bindings.ByteOrder;
+import io.github.mtrevisan.boxon.helpers.JavaHelper;
 import io.github.mtrevisan.boxon.helpers.converters.BigEndianConverter;
 import io.github.mtrevisan.boxon.helpers.converters.BitSetConverter;
 import io.github.mtrevisan.boxon.helpers.converters.LittleEndianConverter;
@@ -85,6 +86,33 @@ public final class BitSetHelper{
 	}
 
 
+	/**
+	 * Converts a {@code long} into the bits that {@link #createBitSet(int, BigInteger, ByteOrder)} would produce, without going through a
+	 * {@link BigInteger} and a {@link BitSet}.
+	 * <p>The bit at index {@code i} of the returned value is the bit at index {@code i} of the equivalent {@link BitSet}.</p>
+	 *
+	 * @param bitmapSize	The size in bits of the value (MUST BE less than or equals to {@link Long#SIZE}).
+	 * @param value	The value.
+	 * @param byteOrder	The type of endianness: either {@link ByteOrder#LITTLE_ENDIAN} or {@link ByteOrder#BIG_ENDIAN}.
+	 * @return	The bits representing the given value.
+	 */
+	public static long createBitmap(final int bitmapSize, final long value, final ByteOrder byteOrder){
+		long bitmap = value;
+		if(byteOrder == ByteOrder.LITTLE_ENDIAN){
+			final int length = JavaHelper.getSizeInBytes(bitmapSize);
+			if(length == Long.BYTES)
+				bitmap = Long.reverseBytes(value);
+			else{
+				//transfer the bytes from the most significant one
+				bitmap = 0l;
+				for(int i = 0; i < length; i ++)
+					bitmap |= ((value >> ((length - 1 - i) << 3)) & 0xFFl) << (i << 3);
+			}
+		}
+		return (bitmapSize < Long.SIZE? bitmap & ((1l << bitmapSize) - 1): bitmap);
+	}
+
+
 	/**
 	 * Convert this {@link BitSet} to {@link BigInteger}.
 	 *
@@ -99,6 +127,28 @@ public final class BitSetHelper{
 	}
 
 
+	/**
+	 * Converts the bits read into a {@code long}, the same way {@link #toObjectiveType(BitSet, int, ByteOrder)} would do, without going
+	 * through a {@link BitSet} and a {@link BigInteger}.
+	 *
+	 * @param bitmap	The bits, as read (the bit at index {@code i} is the bit at index {@code i} of the equivalent {@link BitSet}).
+	 * @param bitmapSize	The number of bits (MUST BE less than or equals to {@link Long#SIZE}).
+	 * @param byteOrder	The type of endianness: either {@link ByteOrder#LITTLE_ENDIAN} or {@link ByteOrder#BIG_ENDIAN}.
+	 * @return	The converted value.
+	 */
+	public static long toObjectiveType(final long bitmap, final int bitmapSize, final ByteOrder byteOrder){
+		if(!JavaHelper.isMultipleOfByte(bitmapSize))
+			return bitmap;
+
+		//values whose size is a multiple of a byte are signed
+		final int shift = Long.SIZE - bitmapSize;
+		final long value = (byteOrder == ByteOrder.LITTLE_ENDIAN
+			? Long.reverseBytes(bitmap) >>> shift
+			: bitmap);
+		return (value << shift) >> shift;
+	}
+
+
 	private static BitSetConverter getConverter(final ByteOrder byteOrder){
 		return CONVERTER.get(byteOrder);
 	}
@@ -28,6 +28,7 @@ import io.github.mtrevisan.boxon.annotations.bindings.ByteOrder;
 import io.github.mtrevisan.boxon.exceptions.AnnotationException;
 import io.github.mtrevisan.boxon.io.BitWriterInterface;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -46,11 +47,44 @@ public final class BitWriter extends BitWriterData implements BitWriterInterface
 	 * @return	An instance of this class.
 	 */
 	public static BitWriter create(){
-		return new BitWriter();
+		return new BitWriter(0);
 	}
 
+	/**
+	 * Create an instance of this class.
+	 *
+	 * @param initialCapacity	The initial capacity of the buffer, in {@code byte}s (it grows as needed).
+	 * @return	An instance of this class.
+	 */
+	public static BitWriter create(final int initialCapacity){
+		return new BitWriter(initialCapacity);
+	}
+
+
+	/**
+	 * Create an instance of this class that writes straight into the array backing the given buffer, from its current position up to its
+	 * limit.
+	 * <p>The position of the buffer is not changed, and a write past its limit throws a {@link java.nio.BufferOverflowException}.</p>
+	 *
+	 * @param buffer	The buffer to write into.
+	 * @return	An instance of this class.
+	 * @throws IllegalArgumentException	If the buffer is not backed by an accessible array.
+	 */
+	public static BitWriter wrap(final ByteBuffer buffer){
+		if(!buffer.hasArray())
+			throw new IllegalArgumentException("Buffer must be backed by an accessible array");
+
+		return new BitWriter(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+	}
 
-	private BitWriter(){}
+
+	private BitWriter(final int initialCapacity){
+		super(initialCapacity);
+	}
+
+	private BitWriter(final byte[] array, final int offset, final int length){
+		super(array, offset, length);
+	}
 
 
 	@Override
@@ -65,8 +99,7 @@ public final class BitWriter extends BitWriterData implements BitWriterInterface
 
 	@Override
 	public void writeBytes(final byte[] array){
-		for(int i = 0, length = array.length; i < length; i ++)
-			writeByte(array[i]);
+		writeBytes(array, 0, array.length);
 	}
 
 	@Override
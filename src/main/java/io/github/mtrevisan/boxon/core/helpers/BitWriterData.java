@@ -26,17 +26,48 @@ package io.github.mtrevisan.boxon.core.helpers;
 
 import io.github.mtrevisan.boxon.helpers.StringHelper;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.zip.Checksum;
 
 
 /**
- * Provide bit-level tools for writing bits and skipping bits on a {@link ByteArrayOutputStream}.
+ * Provide bit-level tools for writing bits and skipping bits on a growable array of {@code byte}s, or on a fixed portion of an array owned
+ * by someone else.
+ * <p>
+ * Whenever the writing position is aligned to a {@code byte}, arrays are copied in bulk and 16, 32, and 64-bit numbers are stored a word at
+ * a time.
+ * </p>
  */
 class BitWriterData{
 
-	/** The backing {@link ByteArrayOutputStream}. */
-	private final ByteArrayOutputStream os = new ByteArrayOutputStream(0);
+	private static final int MINIMUM_CAPACITY = 32;
+	private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+	private static final VarHandle SHORT_BIG_ENDIAN = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle INT_BIG_ENDIAN = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+	private static final VarHandle LONG_BIG_ENDIAN = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+
+	/** The backing array. */
+	private byte[] buffer;
+	/** The index in {@code buffer} of the first {@code byte} written. */
+	private final int start;
+	/** The index in {@code buffer} past the last {@code byte} written. */
+	private int size;
+	/** The index in {@code buffer} past the last {@code byte} that can be written. */
+	private int limit;
+	/** Whether the backing array is owned by someone else, and cannot be grown. */
+	private final boolean fixed;
 
 	/** The <i>cache</i> used when writing bits. */
 	private byte cache;
@@ -44,13 +75,34 @@ class BitWriterData{
 	private int remaining = Byte.SIZE;
 
 
+	BitWriterData(final int initialCapacity){
+		buffer = new byte[initialCapacity];
+		limit = initialCapacity;
+		start = 0;
+		fixed = false;
+	}
+
+	BitWriterData(final byte[] array, final int offset, final int length){
+		buffer = array;
+		start = offset;
+		size = offset;
+		limit = offset + length;
+		fixed = true;
+	}
+
+
 	/**
 	 * Writes {@code value} to this {@link BitWriter} in big-endian format.
 	 *
 	 * @param value	The value to write.
 	 */
 	final synchronized void writeNumber(final byte value){
-		writeNumber(value, Byte.SIZE);
+		if(remaining == Byte.SIZE){
+			ensureCapacity(Byte.BYTES);
+			buffer[size ++] = value;
+		}
+		else
+			writeBits(value, Byte.SIZE);
 	}
 
 	/**
@@ -59,7 +111,13 @@ class BitWriterData{
 	 * @param value	The value to write.
 	 */
 	final synchronized void writeNumber(final short value){
-		writeNumber(value, Short.SIZE);
+		if(remaining == Byte.SIZE){
+			ensureCapacity(Short.BYTES);
+			SHORT_BIG_ENDIAN.set(buffer, size, value);
+			size += Short.BYTES;
+		}
+		else
+			writeBits(value, Short.SIZE);
 	}
 
 	/**
@@ -68,7 +126,13 @@ class BitWriterData{
 	 * @param value	The value to write.
 	 */
 	final synchronized void writeNumber(final int value){
-		writeNumber(value, Integer.SIZE);
+		if(remaining == Byte.SIZE){
+			ensureCapacity(Integer.BYTES);
+			INT_BIG_ENDIAN.set(buffer, size, value);
+			size += Integer.BYTES;
+		}
+		else
+			writeBits(value, Integer.SIZE);
 	}
 
 	/**
@@ -77,23 +141,69 @@ class BitWriterData{
 	 * @param value	The value to write.
 	 */
 	final synchronized void writeNumber(final long value){
-		writeNumber(value, Long.SIZE);
+		if(remaining == Byte.SIZE){
+			ensureCapacity(Long.BYTES);
+			LONG_BIG_ENDIAN.set(buffer, size, value);
+			size += Long.BYTES;
+		}
+		else
+			writeBits(value, Long.SIZE);
 	}
 
 	/**
-	 * Writes {@code value} to this {@link BitWriter} in big-endian format.
+	 * Writes the given portion of an array of {@code byte}s to this {@link BitWriter}.
+	 *
+	 * @param array	The array of {@code byte}s to write.
+	 * @param offset	The start offset in the array.
+	 * @param length	The number of {@code byte}s to write.
+	 */
+	final synchronized void writeBytes(final byte[] array, final int offset, final int length){
+		if(remaining == Byte.SIZE){
+			ensureCapacity(length);
+			System.arraycopy(array, offset, buffer, size, length);
+			size += length;
+		}
+		else
+			for(int i = offset, end = offset + length; i < end; i ++)
+				writeBits(array[i], Byte.SIZE);
+	}
+
+	/**
+	 * Writes the {@code bitsToWrite} least significant bits of {@code value} to this {@link BitWriter}, in big-endian notation.
 	 *
 	 * @param value	The value to write.
-	 * @param bitsToWrite	The number of bits to use when writing the {@code value}.
+	 * @param bitsToWrite	The number of bits to use when writing the {@code value} (MUST BE less than or equals to {@link Long#SIZE}).
 	 */
-	private void writeNumber(final long value, final int bitsToWrite){
-		final CacheUpdater cacheUpdater = (bitsToProcess, length) -> writeToCache(value, bitsToProcess, length);
-		writeBits(bitsToWrite, cacheUpdater);
+	public final synchronized void writeBits(final long value, final int bitsToWrite){
+		writeBitsToCache(value, bitsToWrite);
 	}
 
-	private void writeToCache(final long value, final int bitsToProcess, final int length){
-		final long mask = (1l << length) - 1;
-		cache |= (byte)((value >>> bitsToProcess) & mask);
+	private void writeBitsToCache(final long value, int bitsToWrite){
+		while(bitsToWrite > 0){
+			if(remaining == Byte.SIZE && bitsToWrite >= Byte.SIZE){
+				//the cache is empty: write whole bytes directly
+				bitsToWrite -= Byte.SIZE;
+
+				ensureCapacity(Byte.BYTES);
+				buffer[size ++] = (byte)(value >>> bitsToWrite);
+				continue;
+			}
+
+			//fill the cache one chunk of bits at a time
+			final int length = Math.min(bitsToWrite, remaining);
+			bitsToWrite -= length;
+
+			cache = (byte)((cache << length) | ((value >>> bitsToWrite) & ((1 << length) - 1)));
+			remaining -= length;
+
+			//if the cache is full, write it
+			if(remaining == 0){
+				ensureCapacity(Byte.BYTES);
+				buffer[size ++] = cache;
+
+				resetCache();
+			}
+		}
 	}
 
 	/**
@@ -103,25 +213,23 @@ class BitWriterData{
 	 * @param bitsToWrite	The number of bits to use when writing the {@code bitmap}.
 	 */
 	public final synchronized void writeBitSet(final BitSet bitmap, final int bitsToWrite){
-		final CacheUpdater cacheUpdater = (bitsToProcess, length) -> writeToCache(bitmap, bitsToProcess, length);
-		writeBits(bitsToWrite, cacheUpdater);
+		//the bit at index `bitsToWrite - 1` is the first to be written
+		final long[] words = bitmap.toLongArray();
+		for(int end = bitsToWrite; end > 0; ){
+			final int length = Math.min(end, Long.SIZE);
+			end -= length;
+
+			writeBitsToCache(extractBits(words, end, length), length);
+		}
 	}
 
-	/**
-	 * Returns a long of given length and starting at a given offset.
-	 *
-	 * @param bitmap	The bit set.
-	 * @param offset	The bit offset to start the extraction.
-	 * @param size	The number of bits to use when writing the {@code bitmap} (MUST BE less than or equals to {@link Integer#MAX_VALUE}).
-	 */
-	private void writeToCache(final BitSet bitmap, int offset, final int size){
-		offset += size - 1;
-		byte valueRead = 0;
-		final int consumed = byteComplement(remaining);
-		int index = offset + 2;
-		while((index = bitmap.previousSetBit(index - 1) - consumed) >= 0 && offset - index < size)
-			valueRead |= (byte)(0x80 >>> (offset - index));
-		cache |= valueRead;
+	private static long extractBits(final long[] words, final int offset, final int length){
+		final int index = offset >>> 6;
+		final int shift = offset & (Long.SIZE - 1);
+		long bits = (index < words.length? words[index] >>> shift: 0l);
+		if(shift > 0 && index + 1 < words.length)
+			bits |= words[index + 1] << (Long.SIZE - shift);
+		return (length < Long.SIZE? bits & ((1l << length) - 1): bits);
 	}
 
 	/**
@@ -129,65 +237,107 @@ class BitWriterData{
 	 *
 	 * @param bitsToSkip	The number of bits to skip.
 	 */
-	public final synchronized void skipBits(final int bitsToSkip){
-		final CacheUpdater cacheUpdater = (bitsToProcess, length) -> {};
-		writeBits(bitsToSkip, cacheUpdater);
-	}
+	public final synchronized void skipBits(int bitsToSkip){
+		while(bitsToSkip > 0){
+			final int length = Math.min(bitsToSkip, Long.SIZE);
+			bitsToSkip -= length;
 
-	@FunctionalInterface
-	public interface CacheUpdater{
-		void update(int t, int u);
+			writeBitsToCache(0l, length);
+		}
 	}
 
+
 	/**
-	 * Writes the specified number of bits using the given cache updater.
-	 * <p>
-	 * The cache updater is a function that updates the cache with a chunk of bits.<br />
-	 * Once the cache is full, it is written to the output stream.
-	 * </p>
+	 * Reserve a slot of {@code bitsToReserve} bits (filled with zeros), whose content can be written later (see
+	 * {@link #patchSlot(int, long, int)}).
 	 *
-	 * @param bitsToWrite	The number of bits to write.
-	 * @param cacheUpdater	The function that updates the cache with bits.
+	 * @param bitsToReserve	The number of bits to reserve.
+	 * @return	The slot, that is the position in bits of the reserved space.
 	 */
-	private void writeBits(int bitsToWrite, final CacheUpdater cacheUpdater){
-		while(bitsToWrite > 0){
-			//fill the cache one chunk of bits at a time
-			final int length = Math.min(bitsToWrite, remaining);
-			bitsToWrite -= length;
-
-			cache <<= length;
+	public final synchronized int reserveSlot(final int bitsToReserve){
+		final int slot = ((size - start) << 3) + byteComplement(remaining);
+		skipBits(bitsToReserve);
+		return slot;
+	}
 
-			cacheUpdater.update(bitsToWrite, length);
+	/**
+	 * Writes {@code value} into a slot previously reserved with {@link #reserveSlot(int)}, in big-endian notation.
+	 *
+	 * @param slot	The slot, as returned by {@link #reserveSlot(int)}.
+	 * @param value	The value to write.
+	 * @param bitsToWrite	The number of bits to use when writing the {@code value}.
+	 */
+	public final synchronized void patchSlot(final int slot, final long value, final int bitsToWrite){
+		for(int i = 0; i < bitsToWrite; i ++)
+			patchBit(slot + i, ((value >>> (bitsToWrite - 1 - i)) & 1) != 0);
+	}
 
-			consumeCache(length);
+	private void patchBit(final int bitIndex, final boolean set){
+		final int byteIndex = start + (bitIndex >>> 3);
+		final int bitInByte = bitIndex & 0x07;
+		if(byteIndex < size){
+			//the bit was already written to the buffer
+			final int mask = 0x80 >>> bitInByte;
+			buffer[byteIndex] = (byte)(set? buffer[byteIndex] | mask: buffer[byteIndex] & ~mask);
+		}
+		else{
+			//the bit is still in the cache (where the bits are aligned to the LSB)
+			final int mask = 1 << (byteComplement(remaining) - 1 - bitInByte);
+			cache = (byte)(set? cache | mask: cache & ~mask);
+		}
+	}
 
-			//if the cache is full, write it
-			if(remaining == 0){
-				os.write(cache);
+	/**
+	 * Gets the number of {@code byte}s already written (lower bound, the bits still in the cache are not counted).
+	 *
+	 * @return	The number of {@code byte}s written.
+	 */
+	public final synchronized int position(){
+		return size - this.start;
+	}
 
-				resetCache();
-			}
-		}
+	/**
+	 * Feeds the given checksum with the {@code byte}s already written between the given positions.
+	 *
+	 * @param checksum	The checksum to be updated.
+	 * @param start	The start position (inclusive), in {@code byte}s.
+	 * @param end	The end position (exclusive), in {@code byte}s.
+	 */
+	public final synchronized void updateChecksum(final Checksum checksum, final int start, final int end){
+		if(end > start)
+			checksum.update(buffer, this.start + start, end - start);
 	}
 
 
-	/** Flush a minimum integral number of bytes to the output stream, padding any non-completed byte with zeros. */
+	/** Flush a minimum integral number of bytes to the buffer, padding any non-completed byte with zeros. */
 	public final synchronized void flush(){
 		//put the cache into the buffer
-		remaining = byteComplement(remaining);
-		if(remaining > 0)
+		if(remaining < Byte.SIZE){
+			ensureCapacity(Byte.BYTES);
 			//align the remaining bits in the cache
-			os.write(cache << remaining);
+			buffer[size ++] = (byte)(cache << remaining);
+		}
 
 		resetCache();
 	}
 
-	private static int byteComplement(final int bits){
-		return Byte.SIZE - bits;
+	private void ensureCapacity(final int bytesToAdd){
+		final int minimumCapacity = size + bytesToAdd;
+		if(minimumCapacity > limit){
+			if(fixed)
+				throw new BufferOverflowException();
+			if(minimumCapacity < 0)
+				throw new OutOfMemoryError("Required array size too large");
+
+			//grow by doubling, taking care of the overflow
+			final int doubledCapacity = (buffer.length < MAXIMUM_CAPACITY >>> 1? buffer.length << 1: MAXIMUM_CAPACITY);
+			buffer = Arrays.copyOf(buffer, Math.max(minimumCapacity, Math.max(doubledCapacity, MINIMUM_CAPACITY)));
+			limit = buffer.length;
+		}
 	}
 
-	private void consumeCache(final int size){
-		remaining -= size;
+	private static int byteComplement(final int bits){
+		return Byte.SIZE - bits;
 	}
 
 	private void resetCache(){
@@ -195,13 +345,72 @@ class BitWriterData{
 		remaining = Byte.SIZE;
 	}
 
+	/**
+	 * Discards everything written after the given position, bits in the cache included.
+	 *
+	 * @param position	The position to rewind to, in {@code byte}s.
+	 */
+	public final synchronized void rewind(final int position){
+		size = start + position;
+
+		resetCache();
+	}
+
+	/**
+	 * Returns a view of the {@code byte}s already written, without copying them.
+	 * <p>The view reflects later patches to the written bytes, but not later writes.</p>
+	 *
+	 * @return	The view of the written bytes.
+	 */
+	public final synchronized ByteBuffer asByteBuffer(){
+		return ByteBuffer.wrap(buffer, start, size - start)
+			.slice();
+	}
+
+	/**
+	 * Writes the {@code byte}s already written into the given buffer, without copying them into an intermediate array.
+	 *
+	 * @param buffer	The buffer to write to.
+	 * @throws java.nio.BufferOverflowException	If there is insufficient space in the buffer.
+	 */
+	public final synchronized void writeTo(final ByteBuffer buffer){
+		buffer.put(this.buffer, start, size - start);
+	}
+
+	/**
+	 * Writes the {@code byte}s already written into the given channel, without copying them into an intermediate array.
+	 * <p>The channel must be in blocking mode, as the write is repeated until all the {@code byte}s are written.</p>
+	 *
+	 * @param channel	The channel to write to.
+	 * @throws IOException	If an I/O error occurs.
+	 * @throws IllegalArgumentException	If the channel is in non-blocking mode.
+	 */
+	public final synchronized void writeTo(final WritableByteChannel channel) throws IOException{
+		if(channel instanceof final SelectableChannel selectableChannel && !selectableChannel.isBlocking())
+			throw new IllegalArgumentException("Channel must be in blocking mode");
+
+		final ByteBuffer buffer = ByteBuffer.wrap(this.buffer, start, size - start);
+		while(buffer.hasRemaining())
+			channel.write(buffer);
+	}
+
+	/**
+	 * Writes the {@code byte}s already written into the given stream, without copying them into an intermediate array.
+	 *
+	 * @param out	The stream to write to.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public final synchronized void writeTo(final OutputStream out) throws IOException{
+		out.write(buffer, start, size - start);
+	}
+
 	/**
 	 * Returns a copy of the byte array that backs the buffer.
 	 *
 	 * @return	The copy of the array that backs this buffer.
 	 */
 	public final synchronized byte[] array(){
-		return os.toByteArray();
+		return Arrays.copyOfRange(buffer, start, size);
 	}
 
 	@Override
@@ -39,6 +39,7 @@ import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.IntToLongFunction;
 
 
 /**
@@ -79,7 +80,19 @@ public final class DataTypeCaster{
 		return castFunction(targetType).apply(value);
 	}
 
+	/**
+	 * Casts each element of the given array to the specified {@code targetType}.
+	 * <p>Arrays of primitive integers are cast to arrays of primitive integers without boxing their elements.</p>
+	 *
+	 * @param array	The array whose elements are to be cast, either of {@link BigInteger}s or of primitive integers.
+	 * @param targetType	The target data type to cast the elements to.
+	 * @return	The array of cast values.
+	 */
 	public static Object cast(final Object array, final Class<?> targetType){
+		final Object primitiveArray = castPrimitiveArray(array, targetType);
+		if(primitiveArray != null)
+			return primitiveArray;
+
 		final int length = Array.getLength(array);
 		final Class<?> type = elementsType(array, length);
 		final Function<BigInteger, Number> fun = (type != null? castFunction(targetType): null);
@@ -96,6 +109,45 @@ public final class DataTypeCaster{
 		return convertedArray;
 	}
 
+	private static Object castPrimitiveArray(final Object array, final Class<?> targetType){
+		final IntToLongFunction element = switch(array){
+			case final byte[] values -> i -> values[i];
+			case final short[] values -> i -> values[i];
+			case final int[] values -> i -> values[i];
+			case final long[] values -> i -> values[i];
+			default -> null;
+		};
+		if(element == null)
+			return null;
+
+		final int length = Array.getLength(array);
+		if(targetType == byte.class){
+			final byte[] convertedArray = new byte[length];
+			for(int i = 0; i < length; i ++)
+				convertedArray[i] = (byte)element.applyAsLong(i);
+			return convertedArray;
+		}
+		if(targetType == short.class){
+			final short[] convertedArray = new short[length];
+			for(int i = 0; i < length; i ++)
+				convertedArray[i] = (short)element.applyAsLong(i);
+			return convertedArray;
+		}
+		if(targetType == int.class){
+			final int[] convertedArray = new int[length];
+			for(int i = 0; i < length; i ++)
+				convertedArray[i] = (int)element.applyAsLong(i);
+			return convertedArray;
+		}
+		if(targetType == long.class){
+			final long[] convertedArray = new long[length];
+			for(int i = 0; i < length; i ++)
+				convertedArray[i] = element.applyAsLong(i);
+			return convertedArray;
+		}
+		return null;
+	}
+
 	/**
 	 * Returns the method that performs the cast to the specified {@code inputType}.
 	 *
@@ -120,9 +172,10 @@ public final class DataTypeCaster{
 	}
 
 	private static Object applyCast(final Object element, final Function<BigInteger, Number> fun, final Class<?> targetType){
+		final BigInteger value = reinterpretToBigInteger((Number)element);
 		return (fun != null
-			? fun.apply((BigInteger)element)
-			: cast((BigInteger)element, targetType));
+			? fun.apply(value)
+			: cast(value, targetType));
 	}
 
 
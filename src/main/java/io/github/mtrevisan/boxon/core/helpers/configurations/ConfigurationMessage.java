@@ -77,11 +77,25 @@ public final class ConfigurationMessage<T>{
 	 * @throws AnnotationException	If a configuration annotation is invalid, or no annotation was found.
 	 */
 	public static <T> ConfigurationMessage<T> create(final Class<T> type) throws AnnotationException{
-		return new ConfigurationMessage<>(type);
+		return new ConfigurationMessage<>(type, true);
+	}
+
+	/**
+	 * Create a configuration message for the given class, optionally skipping the validation of its annotations.
+	 * <p>The validation can be skipped only for a class already validated (e.g. one recorded in a snapshot, whose class file is unchanged).</p>
+	 *
+	 * @param type	The class of the configuration message.
+	 * @param validate	Whether to validate the annotations.
+	 * @param <T>	The class type parameter.
+	 * @return	An instance of the configuration message.
+	 * @throws AnnotationException	If a configuration annotation is invalid, or no annotation was found.
+	 */
+	public static <T> ConfigurationMessage<T> create(final Class<T> type, final boolean validate) throws AnnotationException{
+		return new ConfigurationMessage<>(type, validate);
 	}
 
 
-	private ConfigurationMessage(final Class<T> type) throws AnnotationException{
+	private ConfigurationMessage(final Class<T> type, final boolean validate) throws AnnotationException{
 		this.type = type;
 
 		header = type.getAnnotation(ConfigurationHeader.class);
@@ -91,10 +105,12 @@ public final class ConfigurationMessage<T>{
 		final Version minProtocolVersion = VersionBuilder.of(header.minProtocol());
 		final Version maxProtocolVersion = VersionBuilder.of(header.maxProtocol());
 		try{
-			final ConfigurationAnnotationValidator validator = ConfigurationAnnotationValidator.fromAnnotationType(header.annotationType());
-			validator.validate(null, header, minProtocolVersion, maxProtocolVersion);
+			if(validate){
+				final ConfigurationAnnotationValidator validator = ConfigurationAnnotationValidator.fromAnnotationType(header.annotationType());
+				validator.validate(null, header, minProtocolVersion, maxProtocolVersion);
+			}
 
-			configurationFields = loadAnnotatedFields(type, minProtocolVersion, maxProtocolVersion);
+			configurationFields = loadAnnotatedFields(type, minProtocolVersion, maxProtocolVersion, validate);
 
 			protocolVersionBoundaries = extractProtocolVersionBoundaries(configurationFields);
 
@@ -108,7 +124,7 @@ public final class ConfigurationMessage<T>{
 
 
 	private List<ConfigurationField> loadAnnotatedFields(final Class<T> type, final Version minProtocolVersion,
-			final Version maxProtocolVersion) throws AnnotationException, CodecException{
+			final Version maxProtocolVersion, final boolean validate) throws AnnotationException, CodecException{
 		final List<Field> fields = FieldAccessor.getAccessibleFields(type);
 		final int size = fields.size();
 		final Collection<String> uniqueShortDescription = new HashSet<>(size);
@@ -119,11 +135,12 @@ public final class ConfigurationMessage<T>{
 			final ConfigurationSkip[] skips = field.getDeclaredAnnotationsByType(ConfigurationSkip.class);
 
 			final Annotation[] declaredAnnotations = TemplateExtractor.extractBaseAnnotations(field.getDeclaredAnnotations());
-			validateAnnotationsOrder(declaredAnnotations);
+			if(validate)
+				validateAnnotationsOrder(declaredAnnotations);
 
 			try{
 				final Annotation validAnnotation = extractAndValidateConfigurationAnnotation(field, declaredAnnotations, minProtocolVersion,
-					maxProtocolVersion);
+					maxProtocolVersion, validate);
 
 				validateShortDescriptionUniqueness(validAnnotation, uniqueShortDescription, type);
 
@@ -236,11 +253,13 @@ public final class ConfigurationMessage<T>{
 	 * @param annotations	The list of annotations in the configuration field.
 	 * @param minProtocolVersion	The minimum protocol version (should follow <a href="https://semver.org/">Semantic Versioning</a>).
 	 * @param maxProtocolVersion	The maximum protocol version (should follow <a href="https://semver.org/">Semantic Versioning</a>).
+	 * @param validate	Whether to validate the annotation.
 	 * @return	The first valid configuration annotation, or {@code null} if none are found.
 	 * @throws AnnotationException	If an annotation error occurs.
 	 */
 	private static Annotation extractAndValidateConfigurationAnnotation(final Field field, final Annotation[] annotations,
-			final Version minProtocolVersion, final Version maxProtocolVersion) throws AnnotationException, CodecException{
+			final Version minProtocolVersion, final Version maxProtocolVersion, final boolean validate) throws AnnotationException,
+			CodecException{
 		Annotation foundAnnotation = null;
 		for(int i = 0, length = annotations.length; foundAnnotation == null && i < length; i ++){
 			final Annotation annotation = annotations[i];
@@ -250,7 +269,8 @@ public final class ConfigurationMessage<T>{
 					|| ConfigurationSkip.Skips.class.isAssignableFrom(annotationType))
 				continue;
 
-			validateAnnotation(field, annotation, minProtocolVersion, maxProtocolVersion);
+			if(validate)
+				validateAnnotation(field, annotation, minProtocolVersion, maxProtocolVersion);
 
 			foundAnnotation = annotation;
 		}
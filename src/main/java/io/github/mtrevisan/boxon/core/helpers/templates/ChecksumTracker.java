@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.core.helpers.templates;
+
+import io.github.mtrevisan.boxon.annotations.Checksum;
+import io.github.mtrevisan.boxon.io.BitReaderInterface;
+
+
+/**
+ * Accumulates the checksum of a message while it is being decoded (or once it is encoded).
+ * <p>
+ * The bytes are fed to the accumulator right after they are consumed by the reader (lagging {@link Checksum#skipEnd()} bytes behind,
+ * as the end of the message is not known in advance), so that each byte is touched only once while it is still hot in cache.
+ * </p>
+ * <p>
+ * A tracker is owned by a {@link Template}, that hands it to one message at a time (see {@link Template#acquireChecksumTracker()}), so
+ * that neither the tracker nor its accumulator are created for each message.
+ * </p>
+ */
+public final class ChecksumTracker{
+
+	private final java.util.zip.Checksum accumulator;
+	private final int skipStart;
+	private final int skipEnd;
+	private final long mask;
+
+	private byte[] data;
+	/** The position of the first byte not yet fed to the accumulator. */
+	private int position;
+
+
+	ChecksumTracker(final java.util.zip.Checksum accumulator, final Checksum checksum){
+		this.accumulator = accumulator;
+		skipStart = checksum.skipStart();
+		skipEnd = checksum.skipEnd();
+		final int checksumSize = checksum.checksumSize();
+		mask = (checksumSize >= Long.SIZE? -1l: (1l << checksumSize) - 1);
+	}
+
+
+	/** Prepares the tracker for a new message, discarding what was accumulated so far. */
+	void reset(){
+		accumulator.reset();
+		data = null;
+	}
+
+	/**
+	 * Starts tracking the message that begins at the current position of the reader.
+	 *
+	 * @param reader	The reader used to read the message.
+	 */
+	public void start(final BitReaderInterface reader){
+		data = reader.array();
+		position = reader.position() + skipStart;
+	}
+
+	/**
+	 * Feeds the accumulator with the bytes consumed by the reader since the last update.
+	 *
+	 * @param reader	The reader used to read the message.
+	 */
+	public void update(final BitReaderInterface reader){
+		final int end = reader.position() - skipEnd;
+		if(end > position){
+			accumulator.update(data, position, end - position);
+			position = end;
+		}
+	}
+
+	/**
+	 * Feeds the accumulator with the remaining bytes and compares the result with the given checksum.
+	 *
+	 * @param reader	The reader used to read the message.
+	 * @param givenChecksum	The checksum read from the message.
+	 * @return	Whether the calculated checksum matches the given one.
+	 */
+	public boolean verify(final BitReaderInterface reader, final long givenChecksum){
+		update(reader);
+
+		return ((getValue() & mask) == (givenChecksum & mask));
+	}
+
+	/**
+	 * The accumulator, to be fed directly with the {@code byte}s of a message already encoded.
+	 *
+	 * @return	The accumulator.
+	 */
+	public java.util.zip.Checksum getAccumulator(){
+		return accumulator;
+	}
+
+	/**
+	 * The checksum calculated so far.
+	 *
+	 * @return	The calculated checksum.
+	 */
+	public long getValue(){
+		return accumulator.getValue();
+	}
+
+}
@@ -29,6 +29,7 @@ import io.github.mtrevisan.boxon.annotations.ContextParameter;
 import io.github.mtrevisan.boxon.annotations.Evaluate;
 import io.github.mtrevisan.boxon.annotations.PostProcess;
 import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+import io.github.mtrevisan.boxon.annotations.checksummers.Checksummer;
 import io.github.mtrevisan.boxon.core.helpers.ConstructorHelper;
 import io.github.mtrevisan.boxon.core.helpers.FieldAccessor;
 import io.github.mtrevisan.boxon.core.helpers.validators.TemplateAnnotationValidator;
@@ -72,6 +73,10 @@ public final class Template<T>{
 	 * somewhere inside {@link #templateFields}).
 	 */
 	private TemplateField checksum;
+	/** The (stateless) algorithm used to calculate the checksum, created once and shared between all the messages. */
+	private Checksummer checksummer;
+	/** The idle checksum tracker of each thread, reused between the messages. */
+	private final ThreadLocal<ChecksumTracker> checksumTrackers = new ThreadLocal<>();
 
 
 	/**
@@ -83,21 +88,35 @@ public final class Template<T>{
 	 * @throws AnnotationException	If an annotation error occurs.
 	 */
 	public static <T> Template<T> create(final Class<T> type) throws AnnotationException{
-		return new Template<>(type);
+		return new Template<>(type, true);
+	}
+
+	/**
+	 * Create an instance of a template, optionally skipping the validation of its annotations.
+	 * <p>The validation can be skipped only for a class already validated (e.g. one recorded in a snapshot, whose class file is unchanged).</p>
+	 *
+	 * @param type	The template class.
+	 * @param validate	Whether to validate the annotations.
+	 * @param <T>	The class type of the template.
+	 * @return	An instance of a template.
+	 * @throws AnnotationException	If an annotation error occurs.
+	 */
+	public static <T> Template<T> create(final Class<T> type, final boolean validate) throws AnnotationException{
+		return new Template<>(type, validate);
 	}
 
 
-	private Template(final Class<T> type) throws AnnotationException{
+	private Template(final Class<T> type, final boolean validate) throws AnnotationException{
 		this.type = type;
 
 		header = type.getAnnotation(TemplateHeader.class);
 		//(`ObjectChoices` and `ObjectChoicesList` alternatives may not have a `TemplateHeader`)
-		if(header != null){
+		if(header != null && validate){
 			final TemplateAnnotationValidator headerValidator = TemplateAnnotationValidator.fromAnnotationType(TemplateHeader.class);
 			headerValidator.validate(null, header);
 		}
 
-		final Triplet fields = loadAnnotatedFields(type);
+		final Triplet fields = loadAnnotatedFields(type, validate);
 		templateFields = fields.templateFields;
 		evaluatedFields = fields.evaluatedFields;
 		postProcessedFields = fields.postProcessedFields;
@@ -107,7 +126,7 @@ public final class Template<T>{
 	}
 
 
-	private Triplet loadAnnotatedFields(final Class<T> templateType) throws AnnotationException{
+	private Triplet loadAnnotatedFields(final Class<T> templateType, final boolean validate) throws AnnotationException{
 		final List<Field> fields = FieldAccessor.getAccessibleFields(templateType);
 
 		final int length = fields.size();
@@ -119,14 +138,15 @@ public final class Template<T>{
 
 			try{
 				final Annotation[] declaredAnnotations = TemplateExtractor.extractBaseAnnotations(field.getDeclaredAnnotations());
-				TemplateValidator.validateAnnotationsOrder(declaredAnnotations);
+				if(validate)
+					TemplateValidator.validateAnnotationsOrder(declaredAnnotations);
 
-				final TemplateField templateField = createField(declaredAnnotations, field);
+				final TemplateField templateField = createField(declaredAnnotations, field, validate);
 				if(templateField != null)
 					templateFields.add(templateField);
 
 				final Checksum checksum = field.getDeclaredAnnotation(Checksum.class);
-				loadChecksumField(checksum, field);
+				loadChecksumField(checksum, field, validate);
 
 				evaluatedFields.addAll(TemplateExtractor.extractAnnotation(Evaluate.class, declaredAnnotations, field));
 
@@ -140,9 +160,10 @@ public final class Template<T>{
 		return Triplet.of(templateFields, evaluatedFields, postProcessedFields);
 	}
 
-	private static TemplateField createField(final Annotation[] declaredAnnotations, final Field field) throws AnnotationException{
+	private static TemplateField createField(final Annotation[] declaredAnnotations, final Field field, final boolean validate)
+			throws AnnotationException{
 		final List<Annotation> boundedAnnotations = TemplateExtractor.filterAnnotationsWithCodec(declaredAnnotations);
-		final Annotation validAnnotation = TemplateExtractor.extractAndValidateAnnotation(field.getType(), boundedAnnotations);
+		final Annotation validAnnotation = TemplateExtractor.extractAndValidateAnnotation(field.getType(), boundedAnnotations, validate);
 		final List<SkipParams> skips = TemplateExtractor.extractSkips(declaredAnnotations);
 
 		TemplateField templateField = null;
@@ -158,15 +179,18 @@ public final class Template<T>{
 		return templateField;
 	}
 
-	private void loadChecksumField(final Checksum checksum, final Field field) throws AnnotationException{
+	private void loadChecksumField(final Checksum checksum, final Field field, final boolean validate) throws AnnotationException{
 		if(checksum != null){
 			if(this.checksum != null)
 				throw AnnotationException.create("Cannot have more than one {} annotations",
 					Checksum.class.getSimpleName());
 
-			TemplateValidator.validateChecksumAnnotation(checksum, field);
+			if(validate)
+				TemplateValidator.validateChecksumAnnotation(checksum, field);
 
 			this.checksum = TemplateField.create(field, checksum);
+			checksummer = ConstructorHelper.getEmptyCreator(checksum.algorithm())
+				.get();
 		}
 	}
 
@@ -243,6 +267,50 @@ public final class Template<T>{
 		return checksum;
 	}
 
+	/**
+	 * The algorithm used to calculate the checksum.
+	 *
+	 * @return	The checksum algorithm, or {@code null} if no field is annotated with {@link Checksum}.
+	 */
+	public Checksummer getChecksummer(){
+		return checksummer;
+	}
+
+	/**
+	 * Hands out the checksum tracker of the current thread, reset, creating it the first time.
+	 * <p>
+	 * While acquired, the tracker is not handed out again: a message nested into another of the same template gets a new one.<br />
+	 * The tracker MUST be given back through {@link #releaseChecksumTracker(ChecksumTracker)} once the message is done.
+	 * </p>
+	 *
+	 * @return	The checksum tracker, or {@code null} if no field is annotated with {@link Checksum}.
+	 */
+	public ChecksumTracker acquireChecksumTracker(){
+		if(checksum == null)
+			return null;
+
+		ChecksumTracker tracker = checksumTrackers.get();
+		if(tracker != null)
+			checksumTrackers.set(null);
+		else
+			tracker = new ChecksumTracker(checksummer.createAccumulator(), (Checksum)checksum.getBinding());
+		tracker.reset();
+		return tracker;
+	}
+
+	/**
+	 * Gives back a checksum tracker acquired through {@link #acquireChecksumTracker()}, so that it can be reused by the next message.
+	 *
+	 * @param tracker	The checksum tracker (can be {@code null}).
+	 */
+	public void releaseChecksumTracker(final ChecksumTracker tracker){
+		if(tracker != null){
+			//do not retain the message
+			tracker.reset();
+			checksumTrackers.set(tracker);
+		}
+	}
+
 	/**
 	 * Whether this template is well formatted, that it has a header annotation and has some template fields.
 	 *
@@ -140,23 +140,25 @@ public final class TemplateExtractor{
 	 *
 	 * @param fieldType	The field class to validate.
 	 * @param annotations	The list of annotations on the field.
+	 * @param validate	Whether to validate the annotation.
 	 * @return	The first valid binding annotation, or {@code null} if none are found.
 	 * @throws AnnotationException	If an annotation error occurs.
 	 */
-	static Annotation extractAndValidateAnnotation(final Class<?> fieldType, final List<? extends Annotation> annotations)
-			throws AnnotationException{
+	static Annotation extractAndValidateAnnotation(final Class<?> fieldType, final List<? extends Annotation> annotations,
+			final boolean validate) throws AnnotationException{
 		Annotation foundAnnotation = null;
 		for(int i = 0, length = annotations.size(); foundAnnotation == null && i < length; i ++){
 			final Annotation annotation = annotations.get(i);
 
-			final boolean validAnnotation = isValidAnnotation(annotation, fieldType);
+			final boolean validAnnotation = isValidAnnotation(annotation, fieldType, validate);
 			if(validAnnotation)
 				foundAnnotation = annotation;
 		}
 		return foundAnnotation;
 	}
 
-	private static boolean isValidAnnotation(final Annotation annotation, final Class<?> fieldType) throws AnnotationException{
+	private static boolean isValidAnnotation(final Annotation annotation, final Class<?> fieldType, final boolean validate)
+			throws AnnotationException{
 		final Class<? extends Annotation> annotationType = annotation.annotationType();
 		boolean validAnnotation = isCustomAnnotation(annotationType);
 		final AnnotationValidator validator = (validAnnotation
@@ -165,7 +167,8 @@ public final class TemplateExtractor{
 			: TemplateAnnotationValidator.fromAnnotationType(annotationType));
 		//validate with the provided validator, if any
 		if(validator != null){
-			validator.validate(fieldType, annotation);
+			if(validate)
+				validator.validate(fieldType, annotation);
 			validAnnotation = true;
 		}
 		return validAnnotation;
@@ -153,7 +153,8 @@ public enum TemplateAnnotationValidator implements AnnotationValidator{
 				throw AnnotationException.create("Unrecognized algorithm, must be a class implementing `"
 					+ Checksummer.class.getName() + "`: {}", algorithmClass.getSimpleName());
 
-			final Method interfaceMethod = MethodHelper.getMethods(Checksummer.class)[0];
+			final Method interfaceMethod = MethodHelper.getMethod(Checksummer.class, "calculateChecksum", null,
+				byte[].class, int.class, int.class);
 			final Class<?> interfaceReturnType = interfaceMethod.getReturnType();
 
 			TemplateAnnotationValidatorHelper.validateConverter(fieldType, NullConverter.class, interfaceReturnType);
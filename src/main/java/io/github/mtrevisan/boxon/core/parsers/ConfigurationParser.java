@@ -112,6 +112,22 @@ public final class ConfigurationParser{
 		return this;
 	}
 
+	/**
+	 * Loads the specified configuration class annotated with {@link ConfigurationHeader}, already validated (e.g. one recorded in a
+	 * snapshot, whose class file is unchanged), without validating its annotations again.
+	 *
+	 * @param configurationClass	Configuration class.
+	 * @return	This instance, used for chaining.
+	 * @throws AnnotationException	If no annotation was found.
+	 * @throws ConfigurationException	If a configuration error occurs.
+	 */
+	public ConfigurationParser withValidatedConfiguration(final Class<?> configurationClass) throws AnnotationException,
+			ConfigurationException{
+		loaderConfiguration.loadConfiguration(configurationClass, false);
+
+		return this;
+	}
+
 	/**
 	 * Get a list of configuration messages.
 	 *
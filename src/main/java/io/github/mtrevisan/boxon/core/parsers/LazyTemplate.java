@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.core.parsers;
+
+import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+import io.github.mtrevisan.boxon.core.helpers.templates.Template;
+import io.github.mtrevisan.boxon.exceptions.BoxonException;
+import io.github.mtrevisan.boxon.helpers.ThrowingFunction;
+
+
+/**
+ * A template registered by its header, whose {@link Template} is built (and validated) the first time it is requested.
+ * <p>The template is built at most once, even if requested concurrently; a failure is remembered and thrown again on each request.</p>
+ */
+final class LazyTemplate{
+
+	private final Class<?> type;
+	private final TemplateHeader header;
+
+	private volatile Template<?> template;
+	private volatile BoxonException error;
+
+
+	/**
+	 * Create a holder for an already built template.
+	 *
+	 * @param template	The template.
+	 * @return	The holder.
+	 */
+	static LazyTemplate of(final Template<?> template){
+		final LazyTemplate lazyTemplate = new LazyTemplate(template.getType(), template.getHeader());
+		lazyTemplate.template = template;
+		return lazyTemplate;
+	}
+
+	/**
+	 * Create a holder for a template that is not built yet.
+	 *
+	 * @param type	The template class.
+	 * @param header	The header of the template class.
+	 * @return	The holder.
+	 */
+	static LazyTemplate of(final Class<?> type, final TemplateHeader header){
+		return new LazyTemplate(type, header);
+	}
+
+
+	private LazyTemplate(final Class<?> type, final TemplateHeader header){
+		this.type = type;
+		this.header = header;
+	}
+
+
+	Class<?> getType(){
+		return type;
+	}
+
+	TemplateHeader getHeader(){
+		return header;
+	}
+
+	/**
+	 * Retrieve the template, building it if needed.
+	 *
+	 * @param builder	The function that builds the template for a class.
+	 * @return	The template.
+	 * @throws BoxonException	If the template cannot be built.
+	 */
+	Template<?> get(final ThrowingFunction<Class<?>, Template<?>, BoxonException> builder) throws BoxonException{
+		Template<?> result = template;
+		if(result == null)
+			result = build(builder);
+		return result;
+	}
+
+	private synchronized Template<?> build(final ThrowingFunction<Class<?>, Template<?>, BoxonException> builder) throws BoxonException{
+		if(error != null)
+			throw error;
+
+		Template<?> result = template;
+		if(result == null){
+			try{
+				result = builder.apply(type);
+				template = result;
+			}
+			catch(final BoxonException be){
+				error = be;
+
+				throw be;
+			}
+		}
+		return result;
+	}
+
+}
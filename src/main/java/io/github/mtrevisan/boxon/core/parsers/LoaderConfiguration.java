@@ -49,11 +49,11 @@ import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -114,7 +114,7 @@ public final class LoaderConfiguration{
 		final ReflectiveClassLoader reflectiveClassLoader = ReflectiveClassLoader.createFrom(basePackageClasses);
 		/** extract all classes annotated with {@link io.github.mtrevisan.boxon.annotations.TemplateHeader}. */
 		final List<Class<?>> annotatedClasses = reflectiveClassLoader.extractClassesWithAnnotation(ConfigurationHeader.class);
-		final Map<String, ConfigurationMessage<?>> configurations = extractConfigurations(annotatedClasses);
+		final Map<String, ConfigurationMessage<?>> configurations = extractConfigurations(annotatedClasses, true);
 		addConfigurationsInner(configurations);
 
 		eventListener.loadedConfigurations(configurations.size());
@@ -128,40 +128,69 @@ public final class LoaderConfiguration{
 	 * @throws ConfigurationException	If a configuration error occurs.
 	 */
 	void loadConfiguration(final Class<?> configurationClass) throws AnnotationException, ConfigurationException{
+		loadConfiguration(configurationClass, true);
+	}
+
+	/**
+	 * Loads the specified configuration class annotated with {@link ConfigurationHeader}, optionally skipping the validation of its
+	 * annotations.
+	 *
+	 * @param configurationClass	Configuration class.
+	 * @param validate	Whether to validate the annotations.
+	 * @throws AnnotationException	If a configuration annotation is invalid, or no annotation was found.
+	 * @throws ConfigurationException	If a configuration error occurs.
+	 */
+	void loadConfiguration(final Class<?> configurationClass, final boolean validate) throws AnnotationException, ConfigurationException{
 		eventListener.loadingConfiguration(configurationClass);
 
-		final Map<String, ConfigurationMessage<?>> configurations = extractConfigurations(Collections.singletonList(configurationClass));
+		final Map<String, ConfigurationMessage<?>> configurations = extractConfigurations(Collections.singletonList(configurationClass),
+			validate);
 		addConfigurationsInner(configurations);
 
 		eventListener.loadedConfiguration();
 	}
 
 
-	private Map<String, ConfigurationMessage<?>> extractConfigurations(final List<Class<?>> annotatedClasses)
+	/**
+	 * Extracts and validates the configurations in parallel (on the common fork-join pool, with the context class loader of the caller).
+	 * <p>The configurations are collected in the same order of the classes, and the error thrown is that of the first failing class, as in
+	 * a sequential extraction.</p>
+	 */
+	private Map<String, ConfigurationMessage<?>> extractConfigurations(final List<Class<?>> annotatedClasses, final boolean validate)
 			throws AnnotationException, ConfigurationException{
 		final int size = annotatedClasses.size();
-		final Map<String, ConfigurationMessage<?>> configurations = new ConcurrentHashMap<>(size);
+		final ConfigurationMessage<?>[] extracted = new ConfigurationMessage<?>[size];
+		final Exception[] errors = new Exception[size];
+		JavaHelper.forEachInParallel(size, i -> {
+			try{
+				extracted[i] = extractConfiguration(annotatedClasses.get(i), validate);
+			}
+			catch(final AnnotationException | ConfigurationException | RuntimeException e){
+				errors[i] = e;
+			}
+		});
+		rethrowFirstError(errors);
+
+		final Map<String, ConfigurationMessage<?>> configurations = new LinkedHashMap<>(size);
 		for(int i = 0; i < size; i ++){
-			final Class<?> type = annotatedClasses.get(i);
+			final ConfigurationMessage<?> from = extracted[i];
 
-			extractConfigurationFromType(type, configurations);
+			final ConfigurationHeader header = from.getHeader();
+			configurations.put(header.shortDescription(), from);
 		}
 		return configurations;
 	}
 
-	private void extractConfigurationFromType(final Class<?> type, final Map<String, ConfigurationMessage<?>> configurations)
-			throws AnnotationException, ConfigurationException{
-		//for each extracted class, try to parse it, extracting all the information needed for the configuration of a message
-		final ConfigurationMessage<?> from = createConfiguration(type);
-		if(from.canBeCoded()){
-			//if the configuration is valid, add it to the list of configurations...
-			final ConfigurationHeader header = from.getHeader();
-			configurations.put(header.shortDescription(), from);
+	private static void rethrowFirstError(final Exception[] errors) throws AnnotationException, ConfigurationException{
+		for(int i = 0, length = errors.length; i < length; i ++){
+			final Exception error = errors[i];
+			if(error instanceof final AnnotationException ae)
+				throw ae;
+			if(error instanceof final ConfigurationException ce)
+				throw ce;
+			if(error != null)
+				throw (RuntimeException)error;
 		}
-		else
-			//... otherwise throw exception
-			throw ConfigurationException.create("Cannot create a configuration message from data: cannot scan configuration for {}",
-				type.getSimpleName());
 	}
 
 	/**
@@ -173,7 +202,13 @@ public final class LoaderConfiguration{
 	 * @throws ConfigurationException	If a configuration error occurs.
 	 */
 	public ConfigurationMessage<?> extractConfiguration(final Class<?> type) throws AnnotationException, ConfigurationException{
-		final ConfigurationMessage<?> from = createConfiguration(type);
+		return extractConfiguration(type, true);
+	}
+
+	private ConfigurationMessage<?> extractConfiguration(final Class<?> type, final boolean validate) throws AnnotationException,
+			ConfigurationException{
+		//a configuration whose annotations are not validated is not shared through the store
+		final ConfigurationMessage<?> from = (validate? createConfiguration(type): ConfigurationMessage.create(type, false));
 		if(!from.canBeCoded())
 			throw ConfigurationException.create("Cannot create a configuration message from data: cannot scan configuration for {}",
 				type.getSimpleName());
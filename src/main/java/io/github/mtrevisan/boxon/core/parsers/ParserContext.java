@@ -97,13 +97,23 @@ final class ParserContext<T>{
 		final Class<?> fieldType = field.getType();
 		if(value instanceof final BigInteger bi)
 			value = DataTypeCaster.cast(bi, fieldType);
-		else if(fieldType.isArray() && value.getClass().getComponentType() == BigInteger.class)
-			value = DataTypeCaster.cast(value, fieldType.getComponentType());
+		else if(value != null && isNumberArray(value)){
+			//a field that is not an array (e.g. `Object`) receives an array of big integers
+			final Class<?> componentType = (fieldType.isArray()? fieldType.getComponentType(): BigInteger.class);
+			if(value.getClass().getComponentType() != componentType)
+				value = DataTypeCaster.cast(value, componentType);
+		}
 
 		//NOTE: record classes must be created anew, therefore `currentObject` must be updated
 		currentObject = FieldAccessor.setFieldValue(currentObject, field, value);
 	}
 
+	private static boolean isNumberArray(final Object value){
+		final Class<?> componentType = value.getClass().getComponentType();
+		return (componentType == BigInteger.class
+			|| componentType == byte.class || componentType == short.class || componentType == int.class || componentType == long.class);
+	}
+
 	String getClassName(){
 		return className;
 	}
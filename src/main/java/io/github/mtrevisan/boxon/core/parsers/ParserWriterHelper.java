@@ -79,7 +79,9 @@ final class ParserWriterHelper{
 		final Class<? extends Annotation> annotationType = binding.annotationType();
 		final Codec codec = loadCodec(annotationType, className, fieldName);
 
-		eventListener.writingField(className, fieldName, annotationType.getSimpleName());
+		final boolean fieldEventEnabled = eventListener.hasCapability(EventListener.CAPABILITY_FIELD_EVENTS);
+		if(fieldEventEnabled)
+			eventListener.writingField(className, fieldName, annotationType.getSimpleName());
 
 		try{
 			//encode value from current object
@@ -88,7 +90,8 @@ final class ParserWriterHelper{
 			final Object rootObject = parserContext.getRootObject();
 			codec.encode(writer, binding, collectionBinding, rootObject, value);
 
-			eventListener.writtenField(className, fieldName, value);
+			if(fieldEventEnabled)
+				eventListener.writtenField(className, fieldName, value);
 		}
 		catch(final BoxonException fe){
 			fe.withClassNameAndFieldName(className, fieldName);
@@ -58,6 +58,15 @@ class TemplateCoderBase{
 		this.eventListener = (eventListener != null? eventListener: EventListener.getNoOpInstance());
 	}
 
+	/**
+	 * Whether the event listener is interested in field-level events.
+	 *
+	 * @return	Whether the field-level events should be fired.
+	 */
+	protected final boolean isFieldEventEnabled(){
+		return eventListener.hasCapability(EventListener.CAPABILITY_FIELD_EVENTS);
+	}
+
 
 	protected final void processFields(final Template<?> template, final ParserContext<?> parserContext,
 			final Function<PostProcess, String> valueExtractor){
@@ -79,8 +88,9 @@ class TemplateCoderBase{
 		if(!process)
 			return;
 
-		final String fieldName = field.getFieldName();
-		eventListener.evaluatingField(templateName, fieldName);
+		final boolean fieldEventEnabled = isFieldEventEnabled();
+		if(fieldEventEnabled)
+			eventListener.evaluatingField(templateName, field.getFieldName());
 
 		final String expression = valueExtractor.apply(binding);
 		final Object value = Evaluator.evaluate(expression, rootObject, field.getFieldType());
@@ -88,7 +98,8 @@ class TemplateCoderBase{
 		//store value in the current object
 		parserContext.setFieldValue(field.getField(), value);
 
-		eventListener.evaluatedField(templateName, fieldName, value);
+		if(fieldEventEnabled)
+			eventListener.evaluatedField(templateName, field.getFieldName(), value);
 	}
 
 	protected static boolean shouldProcessField(final String condition, final Object rootObject){
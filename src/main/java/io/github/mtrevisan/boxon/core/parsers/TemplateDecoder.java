@@ -30,9 +30,8 @@ import io.github.mtrevisan.boxon.annotations.Evaluate;
 import io.github.mtrevisan.boxon.annotations.PostProcess;
 import io.github.mtrevisan.boxon.annotations.SkipBits;
 import io.github.mtrevisan.boxon.annotations.TemplateHeader;
-import io.github.mtrevisan.boxon.annotations.checksummers.Checksummer;
 import io.github.mtrevisan.boxon.core.codecs.CodecLoader;
-import io.github.mtrevisan.boxon.core.helpers.ConstructorHelper;
+import io.github.mtrevisan.boxon.core.helpers.templates.ChecksumTracker;
 import io.github.mtrevisan.boxon.core.helpers.templates.EvaluatedField;
 import io.github.mtrevisan.boxon.core.helpers.templates.SkipParams;
 import io.github.mtrevisan.boxon.core.helpers.templates.Template;
@@ -51,7 +50,6 @@ import java.lang.annotation.Annotation;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 
 
 /**
@@ -85,15 +83,27 @@ final class TemplateDecoder extends TemplateCoderBase{
 	 * @throws BoxonException	If there is an error decoding a field.
 	 */
 	Object decode(final Template<?> template, final BitReaderInterface reader, final Object parentObject) throws BoxonException{
-		final int startPosition = reader.position();
+		final ChecksumTracker checksumTracker = template.acquireChecksumTracker();
+		try{
+			if(checksumTracker != null)
+				checksumTracker.start(reader);
+
+			return decode(template, reader, parentObject, checksumTracker);
+		}
+		finally{
+			template.releaseChecksumTracker(checksumTracker);
+		}
+	}
 
+	private Object decode(final Template<?> template, final BitReaderInterface reader, final Object parentObject,
+			final ChecksumTracker checksumTracker) throws BoxonException{
 		Object currentObject = template.createEmptyObject();
 
 		final ParserContext<Object> parserContext = ParserContext.create(currentObject, parentObject);
 		Evaluator.addCurrentObjectToEvaluatorContext(currentObject);
 
 		//decode message fields:
-		decodeMessageFields(template, reader, parserContext);
+		decodeMessageFields(template, reader, parserContext, checksumTracker);
 
 		processEvaluatedFields(template, parserContext);
 
@@ -102,13 +112,13 @@ final class TemplateDecoder extends TemplateCoderBase{
 		readMessageTerminator(template.getHeader(), reader);
 
 		currentObject = parserContext.getCurrentObject();
-		verifyChecksum(template, currentObject, startPosition, reader);
+		verifyChecksum(template, currentObject, checksumTracker, reader);
 
 		return currentObject;
 	}
 
-	private void decodeMessageFields(final Template<?> template, final BitReaderInterface reader, final ParserContext<Object> parserContext)
-			throws BoxonException{
+	private void decodeMessageFields(final Template<?> template, final BitReaderInterface reader, final ParserContext<Object> parserContext,
+			final ChecksumTracker checksumTracker) throws BoxonException{
 		final Object rootObject = parserContext.getRootObject();
 
 		final List<TemplateField> fields = template.getTemplateFields();
@@ -124,6 +134,10 @@ final class TemplateDecoder extends TemplateCoderBase{
 			if(shouldProcessField)
 				//... and if so, process it
 				decodeField(template, reader, parserContext, field);
+
+			//feed the checksum with the bytes just read
+			if(checksumTracker != null)
+				checksumTracker.update(reader);
 		}
 	}
 
@@ -158,7 +172,9 @@ final class TemplateDecoder extends TemplateCoderBase{
 		final Annotation collectionBinding = field.getCollectionBinding();
 		final Codec codec = retrieveCodec(annotationType, template, field);
 
-		eventListener.readingField(template.toString(), field.getFieldName(), annotationType.getSimpleName());
+		final boolean fieldEventEnabled = isFieldEventEnabled();
+		if(fieldEventEnabled)
+			eventListener.readingField(template.toString(), field.getFieldName(), annotationType.getSimpleName());
 
 		final List<ContextParameter> contextParameters = field.getContextParameters();
 		try{
@@ -177,7 +193,8 @@ final class TemplateDecoder extends TemplateCoderBase{
 			//store value in the current object
 			parserContext.setFieldValue(field.getField(), value);
 
-			eventListener.readField(template.toString(), field.getFieldName(), value);
+			if(fieldEventEnabled)
+				eventListener.readField(template.toString(), field.getFieldName(), value);
 		}
 		catch(final BoxonException fe){
 			fe.withClassAndField(template.getType(), field.getField());
@@ -211,9 +228,9 @@ final class TemplateDecoder extends TemplateCoderBase{
 		}
 	}
 
-	private static void verifyChecksum(final Template<?> template, final Object data, final int startPosition,
+	private static void verifyChecksum(final Template<?> template, final Object data, final ChecksumTracker checksumTracker,
 			final BitReaderInterface reader){
-		if(!template.isChecksumPresent())
+		if(checksumTracker == null)
 			return;
 
 		final TemplateField checksumField = template.getChecksum();
@@ -221,30 +238,17 @@ final class TemplateDecoder extends TemplateCoderBase{
 		if(!shouldCalculateChecksum(checksum, data))
 			return;
 
-		final Number calculatedChecksum = calculateChecksum(startPosition, reader, checksum);
-		final Number givenChecksum = (Number)checksumField.getFieldValue(data);
-		if(!Objects.equals(calculatedChecksum, givenChecksum))
+		final long givenChecksum = ((Number)checksumField.getFieldValue(data)).longValue();
+		if(!checksumTracker.verify(reader, givenChecksum))
 			throw DataException.create("Calculated checksum (0x{}) does NOT match given checksum (0x{})",
-				StringHelper.toHexString(calculatedChecksum.longValue(), Short.BYTES),
-				StringHelper.toHexString(givenChecksum.longValue(), Short.BYTES));
+				StringHelper.toHexString(checksumTracker.getValue(), Short.BYTES),
+				StringHelper.toHexString(givenChecksum, Short.BYTES));
 	}
 
 	private static <T> boolean shouldCalculateChecksum(final Checksum checksum, final T data){
 		return shouldProcessField(checksum.condition(), data);
 	}
 
-	private static Number calculateChecksum(final int startPosition, final BitReaderInterface reader, final Checksum checksum){
-		final int skipStart = checksum.skipStart();
-		final int skipEnd = checksum.skipEnd();
-		final Class<? extends Checksummer> algorithm = checksum.algorithm();
-
-		final int endPosition = reader.position();
-
-		final Checksummer checksummer = ConstructorHelper.getEmptyCreator(algorithm)
-			.get();
-		return checksummer.calculateChecksum(reader.array(), startPosition + skipStart, endPosition - skipEnd);
-	}
-
 	private void processEvaluatedFields(final Template<?> template, final ParserContext<?> parserContext){
 		final Object rootObject = parserContext.getRootObject();
 		final List<EvaluatedField<Evaluate>> evaluatedFields = template.getEvaluatedFields();
@@ -256,14 +260,17 @@ final class TemplateDecoder extends TemplateCoderBase{
 			if(!process)
 				continue;
 
-			eventListener.evaluatingField(template.getName(), field.getFieldName());
+			final boolean fieldEventEnabled = isFieldEventEnabled();
+			if(fieldEventEnabled)
+				eventListener.evaluatingField(template.getName(), field.getFieldName());
 
 			final Object value = Evaluator.evaluate(binding.value(), rootObject, field.getFieldType());
 
 			//store value in the current object
 			parserContext.setFieldValue(field.getField(), value);
 
-			eventListener.evaluatedField(template.getName(), field.getFieldName(), value);
+			if(fieldEventEnabled)
+				eventListener.evaluatedField(template.getName(), field.getFieldName(), value);
 		}
 	}
 
@@ -24,10 +24,14 @@
  */
 package io.github.mtrevisan.boxon.core.parsers;
 
+import io.github.mtrevisan.boxon.annotations.Checksum;
 import io.github.mtrevisan.boxon.annotations.ContextParameter;
 import io.github.mtrevisan.boxon.annotations.PostProcess;
 import io.github.mtrevisan.boxon.annotations.SkipBits;
 import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+import io.github.mtrevisan.boxon.annotations.bindings.ByteOrder;
+import io.github.mtrevisan.boxon.core.helpers.BitWriter;
+import io.github.mtrevisan.boxon.core.helpers.templates.ChecksumTracker;
 import io.github.mtrevisan.boxon.core.helpers.templates.SkipParams;
 import io.github.mtrevisan.boxon.core.helpers.templates.Template;
 import io.github.mtrevisan.boxon.core.helpers.templates.TemplateField;
@@ -35,6 +39,7 @@ import io.github.mtrevisan.boxon.exceptions.BoxonException;
 import io.github.mtrevisan.boxon.io.BitWriterInterface;
 import io.github.mtrevisan.boxon.io.Evaluator;
 
+import java.lang.annotation.Annotation;
 import java.util.List;
 
 
@@ -46,6 +51,9 @@ import java.util.List;
  */
 final class TemplateEncoder extends TemplateCoderBase{
 
+	private static final int NO_SLOT = -1;
+
+
 	/**
 	 * Create a template parser.
 	 *
@@ -70,6 +78,10 @@ final class TemplateEncoder extends TemplateCoderBase{
 	 */
 	<T> void encode(final Template<?> template, final BitWriterInterface writer, final Object parentObject, final T currentObject)
 			throws BoxonException{
+		//the checksum can be back-patched only by a `BitWriter`, otherwise the value held is written as is
+		final BitWriter patchableWriter = (template.getChecksum() != null && writer instanceof final BitWriter bitWriter? bitWriter: null);
+		final int startPosition = (patchableWriter != null? patchableWriter.position(): 0);
+
 		final ParserContext<T> parserContext = ParserContext.create(currentObject, parentObject);
 		parserContext.setClassName(template.getName());
 		Evaluator.addCurrentObjectToEvaluatorContext(currentObject);
@@ -77,19 +89,24 @@ final class TemplateEncoder extends TemplateCoderBase{
 		preProcessFields(template, parserContext);
 
 		//encode message fields:
-		encodeMessageFields(template.getTemplateFields(), writer, parserContext);
+		final int checksumSlot = encodeMessageFields(template.getTemplateFields(), writer, patchableWriter, parserContext);
 
 		final TemplateHeader header = template.getHeader();
 		if(header != null)
 			ParserWriterHelper.writeAffix(header.end(), header.charset(), writer);
+
+		//back-patch the checksum, now that the whole message is written
+		if(checksumSlot != NO_SLOT)
+			writeChecksum(template, patchableWriter, startPosition, checksumSlot);
 	}
 
 	private void preProcessFields(final Template<?> template, final ParserContext<?> parserContext){
 		processFields(template, parserContext, PostProcess::valueEncode);
 	}
 
-	private <T> void encodeMessageFields(final List<TemplateField> fields, final BitWriterInterface writer,
-			final ParserContext<T> parserContext) throws BoxonException{
+	private <T> int encodeMessageFields(final List<TemplateField> fields, final BitWriterInterface writer,
+			final BitWriter patchableWriter, final ParserContext<T> parserContext) throws BoxonException{
+		int checksumSlot = NO_SLOT;
 		final Object rootObject = parserContext.getRootObject();
 		for(int i = 0, length = fields.size(); i < length; i ++){
 			final TemplateField field = fields.get(i);
@@ -100,10 +117,23 @@ final class TemplateEncoder extends TemplateCoderBase{
 
 			//check if the field has to be processed...
 			final boolean shouldProcessField = shouldProcessField(field.getCondition(), rootObject);
-			if(shouldProcessField)
-				//... and if so, process it
+			if(!shouldProcessField)
+				continue;
+
+			//... and if so, process it
+			final Annotation binding = field.getBinding();
+			if(patchableWriter != null && binding instanceof final Checksum checksum
+					&& shouldProcessField(checksum.condition(), rootObject)){
+				//the checksum will be calculated once the whole message is written
+				if(isFieldEventEnabled())
+					eventListener.writingField(parserContext.getClassName(), field.getFieldName(), Checksum.class.getSimpleName());
+
+				checksumSlot = patchableWriter.reserveSlot(checksum.checksumSize());
+			}
+			else
 				encodeField(writer, parserContext, field);
 		}
+		return checksumSlot;
 	}
 
 	private <T> void encodeField(final BitWriterInterface writer, final ParserContext<T> parserContext, final TemplateField field)
@@ -119,6 +149,32 @@ final class TemplateEncoder extends TemplateCoderBase{
 		ParserWriterHelper.encodeField(parserContext, writer, eventListener);
 	}
 
+	private void writeChecksum(final Template<?> template, final BitWriter writer, final int startPosition,
+			final int checksumSlot){
+		final TemplateField checksumField = template.getChecksum();
+		final Checksum checksum = (Checksum)checksumField.getBinding();
+		final int checksumSize = checksum.checksumSize();
+
+		final ChecksumTracker checksumTracker = template.acquireChecksumTracker();
+		final long value;
+		try{
+			writer.updateChecksum(checksumTracker.getAccumulator(), startPosition + checksum.skipStart(),
+				writer.position() - checksum.skipEnd());
+			value = checksumTracker.getValue();
+		}
+		finally{
+			template.releaseChecksumTracker(checksumTracker);
+		}
+
+		final long orderedValue = (checksum.byteOrder() == ByteOrder.LITTLE_ENDIAN
+			? Long.reverseBytes(value) >>> (Long.SIZE - checksumSize)
+			: value);
+		writer.patchSlot(checksumSlot, orderedValue, checksumSize);
+
+		if(isFieldEventEnabled())
+			eventListener.writtenField(template.getName(), checksumField.getFieldName(), value);
+	}
+
 	private static void writeSkips(final SkipParams[] skips, final BitWriterInterface writer, final Object rootObject){
 		for(int i = 0, length = skips.length; i < length; i ++)
 			writeSkip(skips[i], writer, rootObject);
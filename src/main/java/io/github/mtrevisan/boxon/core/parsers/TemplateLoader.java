@@ -29,30 +29,49 @@ import io.github.mtrevisan.boxon.core.helpers.templates.Template;
 import io.github.mtrevisan.boxon.core.parsers.matchers.BNDMPatternMatcher;
 import io.github.mtrevisan.boxon.core.parsers.matchers.PatternMatcher;
 import io.github.mtrevisan.boxon.exceptions.AnnotationException;
+import io.github.mtrevisan.boxon.exceptions.BoxonException;
 import io.github.mtrevisan.boxon.exceptions.TemplateException;
 import io.github.mtrevisan.boxon.helpers.CharsetHelper;
+import io.github.mtrevisan.boxon.helpers.JavaHelper;
 import io.github.mtrevisan.boxon.helpers.Memoizer;
 import io.github.mtrevisan.boxon.helpers.ReflectiveClassLoader;
 import io.github.mtrevisan.boxon.helpers.StringHelper;
 import io.github.mtrevisan.boxon.helpers.ThrowingFunction;
 import io.github.mtrevisan.boxon.io.BitReaderInterface;
 import io.github.mtrevisan.boxon.logs.EventListener;
+import io.github.mtrevisan.boxon.logs.jfr.ResyncEvent;
+import io.github.mtrevisan.boxon.logs.jfr.TemplateLoadedEvent;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.TreeMap;
 import java.util.function.Function;
 
 
 /**
  * A loader for templates, responsible for loading and managing template classes annotated with {@link TemplateHeader}.
+ * <p>
+ * In lazy mode only the header of each template is read at load time, the {@link Template} is built and validated the first time a
+ * message matches its header (a template that cannot be built is reported through the event listener and removed).
+ * </p>
+ * <p>
+ * The templates are published as an immutable map, replaced as a whole on each change, so that a message being parsed is never affected by
+ * templates loaded (or reloaded) meanwhile.<br />
+ * Note that the map is read once per lookup, so a single parse of several messages can decode some of them with the previous templates
+ * and the following ones with the reloaded templates.
+ * </p>
  */
 public final class TemplateLoader{
 
+	/** Headers ordered by length, descending, so that the first that matches is the longest. */
+	private static final Comparator<String> HEADER_ORDER = Comparator.comparingInt(String::length).reversed()
+		.thenComparing(String::compareTo);
+
 	private static final PatternMatcher PATTERN_MATCHER = BNDMPatternMatcher.getInstance();
 	private static Function<byte[], int[]> PRE_PROCESSED_PATTERNS;
 	static{
@@ -60,12 +79,14 @@ public final class TemplateLoader{
 	}
 
 
-	private final ThrowingFunction<Class<?>, Template<?>, AnnotationException> templateStore = Memoizer.throwingMemoize(Template::create);
+	private volatile ThrowingFunction<Class<?>, Template<?>, AnnotationException> templateStore = createTemplateStore();
+
+	private final ThrowingFunction<Class<?>, Template<?>, BoxonException> templateBuilder = this::extractTemplate;
 
-	private final Map<String, Template<?>> templates = new ConcurrentSkipListMap<>(Comparator.comparingInt(String::length).reversed()
-		.thenComparing(String::compareTo));
+	private volatile Map<String, LazyTemplate> templates = Collections.emptyMap();
 
 	private EventListener eventListener;
+	private boolean lazy;
 
 
 	/**
@@ -97,6 +118,16 @@ public final class TemplateLoader{
 		this.eventListener = (eventListener != null? eventListener: EventListener.getNoOpInstance());
 	}
 
+	/**
+	 * Whether to build the templates the first time they are used, instead of when they are loaded.
+	 * <p>NOTE: it affects only the templates loaded afterward.</p>
+	 *
+	 * @param lazy	Whether to build the templates lazily.
+	 */
+	void withLazyLoading(final boolean lazy){
+		this.lazy = lazy;
+	}
+
 	/**
 	 * Loads all the protocol classes annotated with {@link TemplateHeader}.
 	 *
@@ -107,13 +138,44 @@ public final class TemplateLoader{
 	void loadTemplatesFrom(final Class<?>... basePackageClasses) throws AnnotationException, TemplateException{
 		eventListener.loadingTemplatesFrom(basePackageClasses);
 
-		final List<Class<?>> annotatedClasses = getAnnotatedClasses(basePackageClasses);
-		final Template<?>[] templates = extractValidTemplates(annotatedClasses);
-		addTemplatesToMap(templates);
+		final LazyTemplate[] templates = loadTemplates(basePackageClasses, templateStore);
+		addTemplates(templates);
+
+		eventListener.loadedTemplates(templates.length);
+	}
+
+	/**
+	 * Replaces all the templates with the protocol classes annotated with {@link TemplateHeader}.
+	 * <p>
+	 * The new templates are loaded aside and then published at once, the messages being parsed meanwhile keep using the previous templates.
+	 * If an error occurs, the previous templates are kept.<br />
+	 * The templates are built through a new store, published together with them, so that the previous classes are no longer retained.
+	 * </p>
+	 *
+	 * @param basePackageClasses	Classes to be used as a starting point from which to load annotated classes.
+	 * @throws AnnotationException	If an annotation error occurs.
+	 * @throws TemplateException	If the template was already added (defined by the `start` parameter in the header definition).
+	 */
+	void reloadTemplatesFrom(final Class<?>... basePackageClasses) throws AnnotationException, TemplateException{
+		eventListener.loadingTemplatesFrom(basePackageClasses);
+
+		final ThrowingFunction<Class<?>, Template<?>, AnnotationException> store = createTemplateStore();
+		final LazyTemplate[] templates = loadTemplates(basePackageClasses, store);
+		final Map<String, LazyTemplate> map = new TreeMap<>(HEADER_ORDER);
+		addTemplatesToMap(map, templates);
+		publish(map, store);
 
 		eventListener.loadedTemplates(templates.length);
 	}
 
+	private LazyTemplate[] loadTemplates(final Class<?>[] basePackageClasses,
+			final ThrowingFunction<Class<?>, Template<?>, AnnotationException> store) throws AnnotationException, TemplateException{
+		final List<Class<?>> annotatedClasses = getAnnotatedClasses(basePackageClasses);
+		return (lazy
+			? registerTemplates(annotatedClasses)
+			: extractValidTemplates(annotatedClasses, store));
+	}
+
 	/** Extract all classes annotated with {@link TemplateHeader}. */
 	private static List<Class<?>> getAnnotatedClasses(final Class<?>[] basePackageClasses){
 		final ReflectiveClassLoader reflectiveClassLoader = ReflectiveClassLoader.createFrom(basePackageClasses);
@@ -128,28 +190,77 @@ public final class TemplateLoader{
 	 * @throws TemplateException	If a template error occurs.
 	 */
 	void loadTemplate(final Class<?> templateClass) throws AnnotationException, TemplateException{
+		loadTemplate(templateClass, true);
+	}
+
+	/**
+	 * Load the specified protocol class annotated with {@link TemplateHeader}, optionally skipping the validation of its annotations.
+	 *
+	 * @param templateClass	Template class.
+	 * @param validate	Whether to validate the annotations (a lazily loaded template is always validated when built).
+	 * @throws AnnotationException	If an annotation error occurs.
+	 * @throws TemplateException	If a template error occurs.
+	 */
+	void loadTemplate(final Class<?> templateClass, final boolean validate) throws AnnotationException, TemplateException{
 		eventListener.loadingTemplate(templateClass);
 
-		if(templateClass.isAnnotationPresent(TemplateHeader.class)){
+		final TemplateHeader header = templateClass.getAnnotation(TemplateHeader.class);
+		if(header != null){
 			/** extract all classes annotated with {@link TemplateHeader}. */
-			final Template<?> template = extractTemplate(templateClass);
-			if(template.canBeCoded()){
-				addTemplateToMap(template);
+			final LazyTemplate template = (lazy
+				? LazyTemplate.of(templateClass, header)
+				: LazyTemplate.of(extractTemplate(templateClass, validate)));
+			addTemplates(template);
+
+			eventListener.loadedTemplates(templates.size());
+		}
+	}
 
-				eventListener.loadedTemplates(templates.size());
+	/**
+	 * Extracts and validates the templates in parallel (on the common fork-join pool, with the context class loader of the caller).
+	 * <p>The templates are returned in the same order of the classes, and the error thrown is that of the first failing class, as in a
+	 * sequential extraction.</p>
+	 */
+	private static LazyTemplate[] extractValidTemplates(final List<Class<?>> annotatedClasses,
+			final ThrowingFunction<Class<?>, Template<?>, AnnotationException> store) throws AnnotationException, TemplateException{
+		final int size = annotatedClasses.size();
+		final LazyTemplate[] templates = new LazyTemplate[size];
+		final Exception[] errors = new Exception[size];
+		JavaHelper.forEachInParallel(size, i -> {
+			try{
+				final Class<?> type = annotatedClasses.get(i);
+				final Template<?> from = store.apply(type);
+				validate(from, type);
+
+				templates[i] = LazyTemplate.of(from);
+			}
+			catch(final AnnotationException | TemplateException | RuntimeException e){
+				errors[i] = e;
 			}
+		});
+		rethrowFirstError(errors);
+		return templates;
+	}
+
+	private static void rethrowFirstError(final Exception[] errors) throws AnnotationException, TemplateException{
+		for(int i = 0, length = errors.length; i < length; i ++){
+			final Exception error = errors[i];
+			if(error instanceof final AnnotationException ae)
+				throw ae;
+			if(error instanceof final TemplateException te)
+				throw te;
+			if(error != null)
+				throw (RuntimeException)error;
 		}
 	}
 
-	private Template<?>[] extractValidTemplates(final List<Class<?>> annotatedClasses) throws AnnotationException, TemplateException{
+	private static LazyTemplate[] registerTemplates(final List<Class<?>> annotatedClasses){
 		final int size = annotatedClasses.size();
-		final Template<?>[] templates = new Template<?>[size];
+		final LazyTemplate[] templates = new LazyTemplate[size];
 		for(int i = 0; i < size; i ++){
 			final Class<?> type = annotatedClasses.get(i);
 
-			final Template<?> from = extractTemplate(type);
-
-			templates[i] = from;
+			templates[i] = LazyTemplate.of(type, type.getAnnotation(TemplateHeader.class));
 		}
 		return templates;
 	}
@@ -163,7 +274,12 @@ public final class TemplateLoader{
 	 * @throws TemplateException	If a template error occurs.
 	 */
 	Template<?> extractTemplate(final Class<?> type) throws AnnotationException, TemplateException{
-		final Template<?> from = createTemplate(type);
+		return extractTemplate(type, true);
+	}
+
+	private Template<?> extractTemplate(final Class<?> type, final boolean validate) throws AnnotationException, TemplateException{
+		//a template whose annotations are not validated is not shared through the store
+		final Template<?> from = (validate? createTemplate(type): createTemplateRecorded(type, false));
 		validate(from, type);
 
 		return from;
@@ -187,44 +303,123 @@ public final class TemplateLoader{
 		return (Template<T>)templateStore.apply(type);
 	}
 
-	private void addTemplatesToMap(final Template<?>[] templates) throws TemplateException{
+	private static ThrowingFunction<Class<?>, Template<?>, AnnotationException> createTemplateStore(){
+		return Memoizer.throwingMemoize(TemplateLoader::createTemplateRecorded);
+	}
+
+	private static Template<?> createTemplateRecorded(final Class<?> type) throws AnnotationException{
+		return createTemplateRecorded(type, true);
+	}
+
+	private static Template<?> createTemplateRecorded(final Class<?> type, final boolean validate) throws AnnotationException{
+		final TemplateLoadedEvent jfrEvent = new TemplateLoadedEvent();
+		jfrEvent.begin();
+		try{
+			final Template<?> template = Template.create(type, validate);
+
+			jfrEvent.complete(type, null);
+
+			return template;
+		}
+		catch(final AnnotationException | RuntimeException e){
+			jfrEvent.complete(type, e);
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Adds the given templates to a copy of the current ones, then publishes the copy.
+	 *
+	 * @param templates	The templates to be added.
+	 * @throws TemplateException	If a template was already added (defined by the `start` parameter in the header definition).
+	 */
+	private synchronized void addTemplates(final LazyTemplate... templates) throws TemplateException{
+		final Map<String, LazyTemplate> map = new TreeMap<>(HEADER_ORDER);
+		map.putAll(this.templates);
+		addTemplatesToMap(map, templates);
+		publish(map);
+	}
+
+	private synchronized void publish(final Map<String, LazyTemplate> map){
+		templates = Collections.unmodifiableMap(map);
+	}
+
+	private synchronized void publish(final Map<String, LazyTemplate> map,
+			final ThrowingFunction<Class<?>, Template<?>, AnnotationException> store){
+		templateStore = store;
+		publish(map);
+	}
+
+	private void addTemplatesToMap(final Map<String, LazyTemplate> map, final LazyTemplate[] templates) throws TemplateException{
 		//load each template into the available templates list
 		for(int i = 0, length = templates.length; i < length; i ++){
-			final Template<?> template = templates[i];
+			final LazyTemplate template = templates[i];
 
-			if(template != null && template.canBeCoded())
-				addTemplateToMap(template);
+			if(template != null)
+				addTemplateToMap(map, template);
 		}
 	}
 
 	/**
 	 * For each valid template, add it to the map of templates indexed by starting message bytes.
 	 *
+	 * @param map	The map of templates.
 	 * @param template	The template to add to the list of available templates.
 	 * @throws TemplateException	If the template was already added (defined by the `start` parameter in the header definition).
 	 */
-	private void addTemplateToMap(final Template<?> template) throws TemplateException{
+	private void addTemplateToMap(final Map<String, LazyTemplate> map, final LazyTemplate template) throws TemplateException{
 		try{
 			final TemplateHeader header = template.getHeader();
 			final Charset charset = CharsetHelper.lookup(header.charset());
 			final String[] starts = header.start();
 			for(int i = 0, length = starts.length; i < length; i ++)
-				processTemplate(template, starts[i], charset);
+				processTemplate(map, template, starts[i], charset);
 		}
 		catch(final TemplateException te){
-			eventListener.cannotLoadTemplate(template.getName(), te);
+			eventListener.cannotLoadTemplate(template.getType().getName(), te);
 
 			throw te;
 		}
 	}
 
-	private void processTemplate(final Template<?> template, final String headerStart, final Charset charset) throws TemplateException{
+	private static void processTemplate(final Map<String, LazyTemplate> map, final LazyTemplate template, final String headerStart,
+			final Charset charset) throws TemplateException{
 		final String key = calculateKey(headerStart, charset);
-		final Template<?> temp = templates.get(key);
-		if(temp != null && temp.hashCode() != template.hashCode())
-			throw TemplateException.create("Duplicated key `{}` found for class {}", headerStart, template.getName());
+		final LazyTemplate temp = map.get(key);
+		if(temp != null && temp.getType() != template.getType())
+			throw TemplateException.create("Duplicated key `{}` found for class {}", headerStart, template.getType().getName());
 
-		templates.put(key, template);
+		//the same template class loaded again keeps its first holder, so that it is built only once
+		if(temp == null)
+			map.put(key, template);
+	}
+
+	/**
+	 * Retrieve the template held, building it if needed.
+	 * <p>A template that cannot be built is reported and removed, so that it is not tried again.</p>
+	 *
+	 * @param template	The holder of the template.
+	 * @return	The template, or {@code null} if it cannot be built.
+	 */
+	private Template<?> materialize(final LazyTemplate template){
+		try{
+			return template.get(templateBuilder);
+		}
+		catch(final BoxonException be){
+			removeTemplate(template);
+
+			eventListener.cannotLoadTemplate(template.getType().getName(), be);
+
+			return null;
+		}
+	}
+
+	private synchronized void removeTemplate(final LazyTemplate template){
+		final Map<String, LazyTemplate> map = new TreeMap<>(HEADER_ORDER);
+		map.putAll(templates);
+		if(map.values().removeIf(value -> value == template))
+			publish(map);
 	}
 
 	/**
@@ -235,22 +430,40 @@ public final class TemplateLoader{
 	 * @throws TemplateException	If no template cannot be found, that is able to parse the given message.
 	 */
 	Template<?> getTemplate(final BitReaderInterface reader) throws TemplateException{
+		final Template<?> template = findTemplate(reader);
+		if(template == null)
+			throw TemplateException.create("Cannot find any template for given raw message");
+
+		return template;
+	}
+
+	/**
+	 * Retrieve the next template, without raising an error if none is found.
+	 *
+	 * @param reader	The reader to read the header from.
+	 * @return	The template that is able to decode/encode the next message in the given reader, or {@code null} if none is found.
+	 */
+	Template<?> findTemplate(final BitReaderInterface reader){
 		final int index = reader.position();
 
 		//for each available template, select the first that matches the starting bytes
 		//note that the templates are ordered by the length of the starting bytes, descending, so the first that matches is that
 		//with the longest match
 		final byte[] array = reader.array();
-		for(final Map.Entry<String, Template<?>> entry : templates.entrySet()){
+		final Map<String, LazyTemplate> templates = this.templates;
+		for(final Map.Entry<String, LazyTemplate> entry : templates.entrySet()){
 			final String header = entry.getKey();
 
 			//verify if it's a valid message header
 			final int length = header.length() >>> 1;
-			if(index + length <= array.length && byteArrayHexStringEquals(array, index, header, length))
-				return entry.getValue();
+			if(index + length <= array.length && byteArrayHexStringEquals(array, index, header, length)){
+				final Template<?> template = materialize(entry.getValue());
+				//a template that cannot be built is skipped in favor of the ones with a shorter header
+				if(template != null)
+					return template;
+			}
 		}
-
-		throw TemplateException.create("Cannot find any template for given raw message");
+		return null;
 	}
 
 	private static boolean byteArrayHexStringEquals(final byte[] byteArray, final int arrayFromIndex, final CharSequence hexString,
@@ -281,7 +494,8 @@ public final class TemplateLoader{
 		//NOTE: we want only one template, so we pick the first `start`
 		final String headerFirstStart = header.start()[0];
 		final String key = calculateKey(headerFirstStart, CharsetHelper.lookup(header.charset()));
-		final Template<?> template = templates.get(key);
+		final LazyTemplate lazyTemplate = templates.get(key);
+		final Template<?> template = (lazyTemplate != null? materialize(lazyTemplate): null);
 		if(template == null)
 			throw TemplateException.create("Cannot find any template for given class type");
 
@@ -290,11 +504,30 @@ public final class TemplateLoader{
 
 	/**
 	 * Unmodifiable collection of templates.
+	 * <p>In lazy mode all the templates not yet built are built (the ones that cannot be built are left out).</p>
 	 *
 	 * @return	Collection of templates.
 	 */
 	Collection<Template<?>> getTemplates(){
-		return Collections.unmodifiableCollection(templates.values());
+		final Map<String, LazyTemplate> templates = this.templates;
+		final Collection<Template<?>> result = new ArrayList<>(templates.size());
+		for(final LazyTemplate lazyTemplate : templates.values()){
+			final Template<?> template = materialize(lazyTemplate);
+			if(template != null)
+				result.add(template);
+		}
+		return Collections.unmodifiableCollection(result);
+	}
+
+	/**
+	 * The length of the longest header start.
+	 *
+	 * @return	The length of the longest header start, in bytes.
+	 */
+	int getMaxHeaderLength(){
+		//the headers are ordered by length, descending
+		final Map<String, LazyTemplate> templates = this.templates;
+		return (templates.isEmpty()? 0: templates.keySet().iterator().next().length() >>> 1);
 	}
 
 	private static String calculateKey(final String headerStart, final Charset charset){
@@ -308,12 +541,18 @@ public final class TemplateLoader{
 	 * @return	The index of the next message.
 	 */
 	int findNextMessageIndex(final BitReaderInterface reader){
+		final ResyncEvent jfrEvent = ResyncEvent.beginIfEnabled();
+
 		int minOffset = -1;
-		for(final Template<?> template : templates.values()){
+		final Map<String, LazyTemplate> templates = this.templates;
+		for(final LazyTemplate template : templates.values()){
 			final TemplateHeader header = template.getHeader();
 
 			minOffset = findNextMessageIndex(reader, header, minOffset);
 		}
+
+		if(jfrEvent != null)
+			jfrEvent.complete(reader.position(), minOffset);
 		return minOffset;
 	}
 
@@ -339,8 +578,9 @@ public final class TemplateLoader{
 	}
 
 
-	void clear(){
-		templates.clear();
+	synchronized void clear(){
+		publish(Collections.emptyMap(), createTemplateStore());
+		lazy = false;
 	}
 
 }
@@ -88,6 +88,19 @@ public final class TemplateParser{
 		return this;
 	}
 
+	/**
+	 * Whether to build and validate each template the first time a message matches its header, instead of when it is loaded.
+	 * <p>NOTE: it affects only the templates loaded afterward.</p>
+	 *
+	 * @param lazy	Whether to build the templates lazily.
+	 * @return	This instance, used for chaining.
+	 */
+	public TemplateParser withLazyLoading(final boolean lazy){
+		templateLoader.withLazyLoading(lazy);
+
+		return this;
+	}
+
 	/**
 	 * Loads all the protocol classes annotated with {@link TemplateHeader}.
 	 *
@@ -102,6 +115,21 @@ public final class TemplateParser{
 		return this;
 	}
 
+	/**
+	 * Replaces all the templates with the protocol classes annotated with {@link TemplateHeader}, without affecting the messages being
+	 * parsed.
+	 *
+	 * @param basePackageClasses	Classes to be used as a starting point from which to load annotated classes.
+	 * @return	This instance, used for chaining.
+	 * @throws AnnotationException	If an annotation error occurs.
+	 * @throws TemplateException	If a template error occurs.
+	 */
+	public TemplateParser reloadTemplatesFrom(final Class<?>... basePackageClasses) throws AnnotationException, TemplateException{
+		templateLoader.reloadTemplatesFrom(basePackageClasses);
+
+		return this;
+	}
+
 	/**
 	 * Load the specified protocol class annotated with {@link TemplateHeader}.
 	 *
@@ -116,6 +144,21 @@ public final class TemplateParser{
 		return this;
 	}
 
+	/**
+	 * Load the specified protocol class annotated with {@link TemplateHeader}, already validated (e.g. one recorded in a snapshot, whose
+	 * class file is unchanged), without validating its annotations again.
+	 *
+	 * @param templateClass	Template class.
+	 * @return	This instance, used for chaining.
+	 * @throws AnnotationException	If an annotation error occurs.
+	 * @throws TemplateException	If the template error occurs.
+	 */
+	public TemplateParser withValidatedTemplate(final Class<?> templateClass) throws AnnotationException, TemplateException{
+		templateLoader.loadTemplate(templateClass, false);
+
+		return this;
+	}
+
 
 	/**
 	 * Constructs a new {@link Template}.
@@ -139,6 +182,16 @@ public final class TemplateParser{
 		return templateLoader.getTemplate(reader);
 	}
 
+	/**
+	 * Retrieve the next template, without raising an error if none is found.
+	 *
+	 * @param reader	The reader from which to read the header from.
+	 * @return	The template that is able to decode/encode the next message in the given reader, or {@code null} if none is found.
+	 */
+	public Template<?> findTemplate(final BitReaderInterface reader){
+		return templateLoader.findTemplate(reader);
+	}
+
 	/**
 	 * Retrieve the template by class.
 	 *
@@ -159,6 +212,15 @@ public final class TemplateParser{
 		return templateLoader.findNextMessageIndex(reader);
 	}
 
+	/**
+	 * The length of the longest header start.
+	 *
+	 * @return	The length of the longest header start, in bytes.
+	 */
+	public int getMaxHeaderLength(){
+		return templateLoader.getMaxHeaderLength();
+	}
+
 	/**
 	 * Extract a template for the given class.
 	 *
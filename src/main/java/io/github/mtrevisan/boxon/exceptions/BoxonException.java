@@ -27,12 +27,15 @@ package io.github.mtrevisan.boxon.exceptions;
 import io.github.mtrevisan.boxon.helpers.JavaHelper;
 import io.github.mtrevisan.boxon.helpers.StringHelper;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serial;
 import java.lang.reflect.Field;
 
 
 /**
  * Represents a generic error.
+ * <p>The message is formatted only when first requested, so that errors that are never inspected cost nothing to describe.</p>
  */
 public class BoxonException extends Exception{
 
@@ -40,6 +43,11 @@ public class BoxonException extends Exception{
 	private static final long serialVersionUID = -8863756843240934380L;
 
 
+	/** The message (possibly with placeholders, until it is formatted). */
+	private String message;
+	/** The parameters of the message, {@code null} once the message is formatted. */
+	private transient Object[] parameters;
+
 	/** Class name that generates the error. */
 	private String className;
 	/** Name of the field in the class that generates the error. */
@@ -88,7 +96,7 @@ public class BoxonException extends Exception{
 	 * @param parameters	The parameters of the message.
 	 */
 	protected BoxonException(final Throwable cause, final String message, final Object... parameters){
-		super(StringHelper.format(message, parameters), cause);
+		this(cause, true, message, parameters);
 	}
 
 	/**
@@ -98,7 +106,27 @@ public class BoxonException extends Exception{
 	 * 	permitted, and indicates that the cause is nonexistent or unknown.)
 	 */
 	protected BoxonException(final Throwable cause){
-		super(cause);
+		this(cause, true, null);
+	}
+
+	/**
+	 * Constructs a new exception with the specified message and cause, possibly without filling in the stack trace.
+	 * <p>
+	 * An exception without stack trace is cheap to create, and should be used when the place where it is created is already known (or
+	 * not relevant) and the error is expected to happen frequently (e.g. on malformed input).
+	 * </p>
+	 *
+	 * @param cause	The cause (which is saved for later retrieval by the {@link #getCause()} method). (A {@code null} value is permitted,
+	 * 	and indicates that the cause is nonexistent or unknown.)
+	 * @param writableStackTrace	Whether the stack trace should be writable.
+	 * @param message	The message.
+	 * @param parameters	The parameters of the message.
+	 */
+	protected BoxonException(final Throwable cause, final boolean writableStackTrace, final String message, final Object... parameters){
+		super(null, cause, true, writableStackTrace);
+
+		this.message = message;
+		this.parameters = parameters;
 	}
 
 	/**
@@ -128,11 +156,33 @@ public class BoxonException extends Exception{
 
 	@Override
 	public String getMessage(){
-		return super.getMessage()
+		return formatMessage()
 			+ (className != null && fieldName != null
 				? " in field " + className + "." + fieldName
 				: JavaHelper.EMPTY_STRING
 			);
 	}
 
+	private synchronized String formatMessage(){
+		if(parameters != null){
+			if(message != null)
+				message = StringHelper.format(message, parameters);
+			parameters = null;
+		}
+
+		if(message == null){
+			final Throwable cause = getCause();
+			return (cause != null? cause.toString(): null);
+		}
+		return message;
+	}
+
+	@Serial
+	private void writeObject(final ObjectOutputStream os) throws IOException{
+		//the parameters are not serialized, so the message must be formatted beforehand
+		formatMessage();
+
+		os.defaultWriteObject();
+	}
+
 }
@@ -26,11 +26,14 @@ package io.github.mtrevisan.boxon.exceptions;
 
 import io.github.mtrevisan.boxon.helpers.StringHelper;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serial;
 
 
 /**
  * Thrown if invalid data is found.
+ * <p>The message is formatted only when first requested.</p>
  */
 public final class DataException extends IllegalArgumentException{
 
@@ -50,8 +53,34 @@ public final class DataException extends IllegalArgumentException{
 	}
 
 
+	/** The message (possibly with placeholders, until it is formatted). */
+	private String message;
+	/** The parameters of the message, {@code null} once the message is formatted. */
+	private transient Object[] parameters;
+
+
 	private DataException(final String message, final Object... parameters){
-		super(StringHelper.format(message, parameters));
+		this.message = message;
+		this.parameters = parameters;
+	}
+
+
+	@Override
+	public synchronized String getMessage(){
+		if(parameters != null){
+			if(message != null)
+				message = StringHelper.format(message, parameters);
+			parameters = null;
+		}
+		return message;
+	}
+
+	@Serial
+	private void writeObject(final ObjectOutputStream os) throws IOException{
+		//the parameters are not serialized, so the message must be formatted beforehand
+		getMessage();
+
+		os.defaultWriteObject();
 	}
 
 }
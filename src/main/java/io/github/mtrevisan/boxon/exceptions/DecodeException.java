@@ -31,6 +31,7 @@ import java.io.Serial;
 
 /**
  * Thrown if a parsing (decoding) went bad.
+ * <p>The stack trace is not filled in, since it would always point to the parser loop; the cause holds the relevant one.</p>
  */
 public final class DecodeException extends BoxonException{
 
@@ -38,8 +39,8 @@ public final class DecodeException extends BoxonException{
 	private static final long serialVersionUID = 5375434179637246605L;
 
 
-	/** Index of the decoded message this error refers to. */
-	private final int errorIndex;
+	/** Position in the input (buffer or file) of the decoded message this error refers to. */
+	private final long errorPosition;
 
 
 	/**
@@ -49,26 +50,51 @@ public final class DecodeException extends BoxonException{
 	 * @param cause	The cause (which is saved for later retrieval by the {@link #getCause()} method). (A {@code null} value is
 	 * 	permitted, and indicates that the cause is nonexistent or unknown.)
 	 * @return	An instance of this exception.
+	 * @deprecated	Use {@link #create(long, Throwable)}, whose position can exceed an {@code int}, as in a file.
 	 */
+	@Deprecated
 	public static DecodeException create(final int errorIndex, final Throwable cause){
 		return new DecodeException(errorIndex, cause);
 	}
 
+	/**
+	 * Constructs a new exception with the specified position of a decoded message and cause.
+	 *
+	 * @param errorPosition	Position in the input (buffer or file) of the decoded message this error refers to.
+	 * @param cause	The cause (which is saved for later retrieval by the {@link #getCause()} method). (A {@code null} value is
+	 * 	permitted, and indicates that the cause is nonexistent or unknown.)
+	 * @return	An instance of this exception.
+	 */
+	public static DecodeException create(final long errorPosition, final Throwable cause){
+		return new DecodeException(errorPosition, cause);
+	}
 
-	private DecodeException(final int errorIndex, final Throwable cause){
-		super(cause);
 
-		this.errorIndex = errorIndex;
+	private DecodeException(final long errorPosition, final Throwable cause){
+		super(cause, false, null);
+
+		this.errorPosition = errorPosition;
 	}
 
 
 	/**
 	 * Get the index of the decoded message this error is referring to.
 	 *
-	 * @return	The index.
+	 * @return	The index, or {@link Integer#MAX_VALUE} if the position does not fit in an {@code int}.
+	 * @deprecated	Use {@link #getErrorPosition()}, as the position in a file can exceed an {@code int}.
 	 */
+	@Deprecated
 	public int getErrorIndex(){
-		return errorIndex;
+		return (int)Math.min(errorPosition, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Get the position in the input (buffer or file) of the decoded message this error is referring to.
+	 *
+	 * @return	The position.
+	 */
+	public long getErrorPosition(){
+		return errorPosition;
 	}
 
 	@Override
@@ -77,8 +103,8 @@ public final class DecodeException extends BoxonException{
 		final Throwable cause = getCause();
 		if(cause != null)
 			message += cause.getMessage();
-		if(errorIndex >= 0)
-			message += System.lineSeparator() + "   at index " + errorIndex;
+		if(errorPosition >= 0)
+			message += System.lineSeparator() + "   at index " + errorPosition;
 		return message;
 	}
 
@@ -44,12 +44,24 @@ public final class TemplateException extends BoxonException{
 	 * @return	An instance of this exception.
 	 */
 	public static TemplateException create(final String message, final Object... parameters){
-		return new TemplateException(message, parameters);
+		return new TemplateException(true, message, parameters);
+	}
+
+	/**
+	 * Constructs a new exception with the specified message, possibly with parameters, without filling in the stack trace.
+	 * <p>Meant for errors that are expected to happen frequently, like not finding a template for a malformed input.</p>
+	 *
+	 * @param message	The message to be formatted.
+	 * @param parameters	The parameters of the message.
+	 * @return	An instance of this exception.
+	 */
+	public static TemplateException createStackless(final String message, final Object... parameters){
+		return new TemplateException(false, message, parameters);
 	}
 
 
-	private TemplateException(final String message, final Object... parameters){
-		super(message, parameters);
+	private TemplateException(final boolean writableStackTrace, final String message, final Object... parameters){
+		super(null, writableStackTrace, message, parameters);
 	}
 
 }
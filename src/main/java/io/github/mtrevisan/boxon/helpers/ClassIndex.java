@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.helpers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+
+/**
+ * The index of the templates, configurations, and codecs written at compile time by
+ * {@link io.github.mtrevisan.boxon.processors.IndexProcessor IndexProcessor}.
+ * <p>
+ * Each line of the index is either {@code package=<package name>,<number of classes>}, for each package compiled together with the index,
+ * or {@code <type name>=<class name>}, for each class annotated with, or implementing, the given type.<br />
+ * A package is covered by the indexes only if the number of classes they list for it (and its sub-packages) matches the number of class
+ * files actually found, so that a class compiled without the processor (e.g. by an incremental compilation) is not missed; the content of
+ * the packages that are not covered should be found by scanning the classpath.
+ * </p>
+ */
+public final class ClassIndex{
+
+	/** The name of the resource holding the index. */
+	public static final String RESOURCE_NAME = "META-INF/boxon/index";
+
+	private static final String PACKAGE_KEY = "package";
+	private static final char SEPARATOR = '=';
+	private static final char COUNT_SEPARATOR = ',';
+	private static final char COMMENT = '#';
+	private static final char NESTED_CLASS_SEPARATOR = '$';
+	private static final String CLASS_FILE_EXTENSION = ".class";
+	private static final String PACKAGE_INFO_FILE = "package-info.class";
+	private static final String MODULE_INFO_FILE = "module-info.class";
+	private static final char RESOURCE_SEPARATOR = '/';
+
+	/** Number of classes of a package that cannot be verified. */
+	private static final int UNKNOWN_COUNT = -1;
+
+	private static final ClassIndex EMPTY = new ClassIndex(null, Collections.emptyMap(), Collections.emptyMap());
+
+
+	private final ClassLoader classLoader;
+	/** Maps each package to the number of classes compiled in it. */
+	private final Map<String, Integer> packages;
+	/** Maps each type to the names of the classes annotated with, or implementing, it. */
+	private final Map<String, List<String>> classes;
+
+
+	/**
+	 * Reads all the indexes visible to the given class loader.
+	 *
+	 * @param classLoader	The class loader used to find the indexes.
+	 * @return	The merged indexes, empty if none is found (or cannot be read).
+	 */
+	public static ClassIndex load(ClassLoader classLoader){
+		if(classLoader == null)
+			classLoader = ClassLoader.getSystemClassLoader();
+
+		final Map<String, Integer> packages = new HashMap<>(0);
+		final Map<String, List<String>> classes = new HashMap<>(0);
+		try{
+			final Enumeration<URL> resources = classLoader.getResources(RESOURCE_NAME);
+			while(resources.hasMoreElements())
+				read(resources.nextElement(), packages, classes);
+		}
+		catch(final IOException ignored){
+			//fall back to scanning
+			return EMPTY;
+		}
+		return (packages.isEmpty()? EMPTY: new ClassIndex(classLoader, packages, classes));
+	}
+
+	private static void read(final URL resource, final Map<String, Integer> packages, final Map<String, List<String>> classes)
+			throws IOException{
+		try(final BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))){
+			String line;
+			while((line = reader.readLine()) != null){
+				line = line.strip();
+				final int separatorIndex = line.indexOf(SEPARATOR);
+				if(line.isEmpty() || line.charAt(0) == COMMENT || separatorIndex <= 0)
+					continue;
+
+				final String key = line.substring(0, separatorIndex);
+				final String value = line.substring(separatorIndex + 1);
+				if(PACKAGE_KEY.equals(key))
+					readPackage(value, packages);
+				else
+					classes.computeIfAbsent(key, k -> new ArrayList<>(1))
+						.add(value);
+			}
+		}
+	}
+
+	private static void readPackage(final String value, final Map<String, Integer> packages){
+		final int separatorIndex = value.lastIndexOf(COUNT_SEPARATOR);
+		int count = UNKNOWN_COUNT;
+		if(separatorIndex > 0){
+			try{
+				count = Integer.parseInt(value, separatorIndex + 1, value.length(), 10);
+			}
+			catch(final NumberFormatException ignored){}
+		}
+		final String packageName = (separatorIndex > 0? value.substring(0, separatorIndex): value);
+
+		//the same package may be compiled in more places (each with its own index)
+		packages.merge(packageName, count, ClassIndex::addCounts);
+	}
+
+	private static int addCounts(final int count1, final int count2){
+		return (count1 < 0 || count2 < 0? UNKNOWN_COUNT: count1 + count2);
+	}
+
+	/**
+	 * Writes an index.
+	 *
+	 * @param writer	The writer to write the index to.
+	 * @param packages	The map between each package covered by the index and the number of classes compiled in it.
+	 * @param classes	The map between each type and the names of the classes annotated with, or implementing, it.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public static void write(final Writer writer, final Map<String, Integer> packages,
+			final Map<String, ? extends Collection<String>> classes) throws IOException{
+		writer.write(COMMENT + " Generated by Boxon, do not edit\n");
+		for(final Map.Entry<String, Integer> entry : packages.entrySet())
+			writeEntry(writer, PACKAGE_KEY, entry.getKey() + COUNT_SEPARATOR + entry.getValue());
+		for(final Map.Entry<String, ? extends Collection<String>> entry : classes.entrySet())
+			for(final String className : entry.getValue())
+				writeEntry(writer, entry.getKey(), className);
+	}
+
+	private static void writeEntry(final Writer writer, final String key, final String value) throws IOException{
+		writer.write(key);
+		writer.write(SEPARATOR);
+		writer.write(value);
+		writer.write('\n');
+	}
+
+
+	private ClassIndex(final ClassLoader classLoader, final Map<String, Integer> packages, final Map<String, List<String>> classes){
+		this.classLoader = classLoader;
+		this.packages = packages;
+		this.classes = classes;
+	}
+
+
+	/**
+	 * Whether the given package, along with its sub-packages, was compiled together with the indexes, and no class was added since.
+	 *
+	 * @param packageName	The name of the package.
+	 * @return	Whether the content of the package can be found in the indexes.
+	 */
+	public boolean covers(final String packageName){
+		int indexedCount = 0;
+		for(final Map.Entry<String, Integer> entry : packages.entrySet()){
+			final String indexedPackageName = entry.getKey();
+			if(indexedPackageName.equals(packageName) || isInPackage(indexedPackageName, packageName)){
+				final int count = entry.getValue();
+				if(count < 0)
+					return false;
+
+				indexedCount += count;
+			}
+		}
+		return (indexedCount > 0 && countClassFiles(packageName) == indexedCount);
+	}
+
+	/**
+	 * Counts the class files of the given package and of its sub-packages (anonymous and local classes excluded, as they are not seen by
+	 * the processor).
+	 *
+	 * @param packageName	The name of the package.
+	 * @return	The number of class files, or {@link #UNKNOWN_COUNT} if they cannot be counted.
+	 */
+	private int countClassFiles(final String packageName){
+		final String path = packageName.replace('.', RESOURCE_SEPARATOR);
+		int count = 0;
+		try{
+			final Enumeration<URL> resources = classLoader.getResources(path);
+			while(resources.hasMoreElements()){
+				final int resourceCount = countClassFiles(resources.nextElement(), path);
+				if(resourceCount < 0)
+					return UNKNOWN_COUNT;
+
+				count += resourceCount;
+			}
+		}
+		catch(final IOException | URISyntaxException | RuntimeException ignored){
+			return UNKNOWN_COUNT;
+		}
+		return count;
+	}
+
+	private static int countClassFiles(final URL resource, final String path) throws IOException, URISyntaxException{
+		final URLConnection connection = resource.openConnection();
+		if(connection instanceof final JarURLConnection jarConnection)
+			return countClassFiles(jarConnection.getJarFile(), path);
+		if("file".equals(resource.getProtocol()))
+			return countClassFiles(Path.of(resource.toURI()));
+		return UNKNOWN_COUNT;
+	}
+
+	private static int countClassFiles(final JarFile jarFile, final String path){
+		final String prefix = (path.isEmpty()? path: path + RESOURCE_SEPARATOR);
+		int count = 0;
+		final Enumeration<JarEntry> entries = jarFile.entries();
+		while(entries.hasMoreElements()){
+			final String entryName = entries.nextElement()
+				.getName();
+			if(entryName.startsWith(prefix) && isIndexedClassFile(entryName.substring(entryName.lastIndexOf(RESOURCE_SEPARATOR) + 1)))
+				count ++;
+		}
+		return count;
+	}
+
+	private static int countClassFiles(final Path folder) throws IOException{
+		try(final Stream<Path> files = Files.walk(folder)){
+			return (int)files.filter(file -> isIndexedClassFile(file.getFileName().toString()) && Files.isRegularFile(file))
+				.count();
+		}
+	}
+
+	private static boolean isIndexedClassFile(final String fileName){
+		if(!fileName.endsWith(CLASS_FILE_EXTENSION) || PACKAGE_INFO_FILE.equals(fileName) || MODULE_INFO_FILE.equals(fileName))
+			return false;
+
+		//anonymous and local classes are named after the enclosing class followed by a number
+		int index = fileName.indexOf(NESTED_CLASS_SEPARATOR);
+		while(index >= 0){
+			if(index + 1 < fileName.length() && Character.isDigit(fileName.charAt(index + 1)))
+				return false;
+
+			index = fileName.indexOf(NESTED_CLASS_SEPARATOR, index + 1);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the names of the classes in the given package (or in one of its sub-packages) annotated with, or implementing, the given type.
+	 *
+	 * @param type	The annotation or the interface.
+	 * @param packageName	The name of the package.
+	 * @return	The names of the classes.
+	 */
+	public List<String> getClassNames(final Class<?> type, final String packageName){
+		final List<String> classNames = classes.getOrDefault(type.getName(), Collections.emptyList());
+		final List<String> result = new ArrayList<>(classNames.size());
+		for(int i = 0, length = classNames.size(); i < length; i ++){
+			final String className = classNames.get(i);
+
+			if(isInPackage(className, packageName))
+				result.add(className);
+		}
+		return result;
+	}
+
+	private static boolean isInPackage(final String className, final String packageName){
+		return (packageName.isEmpty()
+			|| className.length() > packageName.length() && className.startsWith(packageName)
+				&& className.charAt(packageName.length()) == '.');
+	}
+
+}
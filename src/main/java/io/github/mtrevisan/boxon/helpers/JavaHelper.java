@@ -36,7 +36,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
 /**
@@ -374,4 +376,30 @@ public final class JavaHelper{
 		return reverseMap;
 	}
 
+
+	/**
+	 * Performs the given action for each index from {@code 0} (inclusive) to {@code size} (exclusive) in parallel, on the common fork-join
+	 * pool.
+	 * <p>The action runs with the context class loader of the caller (the threads of the pool do not inherit it).</p>
+	 *
+	 * @param size	The number of indexes.
+	 * @param action	The action to perform for each index.
+	 */
+	public static void forEachInParallel(final int size, final IntConsumer action){
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		IntStream.range(0, size)
+			.parallel()
+			.forEach(i -> {
+				final Thread thread = Thread.currentThread();
+				final ClassLoader previousClassLoader = thread.getContextClassLoader();
+				thread.setContextClassLoader(contextClassLoader);
+				try{
+					action.accept(i);
+				}
+				finally{
+					thread.setContextClassLoader(previousClassLoader);
+				}
+			});
+	}
+
 }
@@ -24,7 +24,6 @@
  */
 package io.github.mtrevisan.boxon.helpers;
 
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -62,6 +61,10 @@ public final class Memoizer{
 
 	/**
 	 * Thread-safe and recursion-safe implementation using a re-entrant lock.
+	 * <p>
+	 * A bounded cache is locked only while accessed, not while the function is applied, so that different inputs are computed
+	 * concurrently: the function may then be applied more than once for the same input, only the first result is kept.
+	 * </p>
 	 *
 	 * @param function	The function to be memoized.
 	 * @param maxSize	The maximum number of cache entries.
@@ -72,14 +75,23 @@ public final class Memoizer{
 	 * @see <a href="https://opencredo.com/lambda-memoization-in-java-8/">Lambda memoization in Java 8</a>
 	 */
 	public static <IN, OUT> Function<IN, OUT> memoize(final Function<? super IN, ? extends OUT> function, final int maxSize){
+		if(maxSize <= UNBOUNDED_SIZE)
+			return new Function<>(){
+				private final Map<IN, OUT> cache = new ConcurrentHashMap<>(1);
+
+				@Override
+				public OUT apply(final IN input){
+					return cache.computeIfAbsent(input, function);
+				}
+			};
+
 		return new Function<>(){
-			private final Map<IN, OUT> cache = (maxSize <= UNBOUNDED_SIZE
-				? new ConcurrentHashMap<>(1)
-				: createErasableCache(maxSize));
+			private final ErasableCache<IN, OUT> cache = new ErasableCache<>(maxSize);
 
 			@Override
 			public OUT apply(final IN input){
-				return cache.computeIfAbsent(input, function);
+				final OUT output = cache.get(input);
+				return (output != null? output: cache.putIfAbsent(input, function.apply(input)));
 			}
 		};
 	}
@@ -103,6 +115,10 @@ public final class Memoizer{
 
 	/**
 	 * Thread-safe and recursion-safe implementation using a re-entrant lock.
+	 * <p>
+	 * An unbounded cache is not locked, and a bounded one is locked only while accessed, so that different inputs are computed
+	 * concurrently: the function may then be applied more than once for the same input, only the first result is kept.
+	 * </p>
 	 *
 	 * @param function	The function to be memoized.
 	 * @param maxSize	The maximum number of cache entries.
@@ -115,55 +131,95 @@ public final class Memoizer{
 	 */
 	public static <IN, OUT, E extends Exception> ThrowingFunction<IN, OUT, E> throwingMemoize(
 			final ThrowingFunction<? super IN, ? extends OUT, ? extends E> function, final int maxSize){
+		if(maxSize <= UNBOUNDED_SIZE)
+			return new ThrowingFunction<>(){
+				private final Map<IN, OUT> cache = new ConcurrentHashMap<>(1);
+
+				@Override
+				public OUT apply(final IN input) throws E{
+					OUT output = cache.get(input);
+					if(output == null){
+						//not `computeIfAbsent`, as the function may be recursive
+						output = function.apply(input);
+						if(output != null){
+							final OUT previous = cache.putIfAbsent(input, output);
+							if(previous != null)
+								output = previous;
+						}
+					}
+					return output;
+				}
+			};
+
 		return new ThrowingFunction<>(){
-			private final Map<IN, OUT> cache = (maxSize <= UNBOUNDED_SIZE
-				? new HashMap<>(1)
-				: createErasableCache(maxSize));
-			private final Lock lock = new ReentrantLock();
+			private final ErasableCache<IN, OUT> cache = new ErasableCache<>(maxSize);
 
 			@Override
 			public OUT apply(final IN input) throws E{
-				lock.lock();
-				try{
-					return computeIfAbsent(input);
-				}
-				finally{
-					lock.unlock();
-				}
-			}
-
-			private OUT computeIfAbsent(final IN input) throws E{
-				OUT output = cache.get(input);
-				if(output == null){
-					output = function.apply(input);
-					cache.put(input, output);
-				}
-				return output;
+				final OUT output = cache.get(input);
+				return (output != null? output: cache.putIfAbsent(input, function.apply(input)));
 			}
 		};
 	}
 
 
 	/**
-	 * Creates a thread-safe cache with a maximum size that removes the oldest entries when the size limit is exceeded.
+	 * A cache with a maximum size that removes the least recently accessed entries when the size limit is exceeded.
+	 * <p>The access-ordered map is modified even by a read, so every access is locked (the values are computed outside the lock).</p>
 	 *
-	 * @param maxSize	The maximum number of cache entries.
 	 * @param <K>	The type of keys maintained by the cache.
 	 * @param <V>	The type of mapped values.
-	 * @return	A map that removes the oldest entries when the cache is full.
 	 */
-	private static <K, V> Map<K, V> createErasableCache(final int maxSize){
-		return new LinkedHashMap<>(maxSize, 0.75f, true){
-			@Override
-			protected boolean removeEldestEntry(final Map.Entry<K, V> eldest){
-				return (size() > maxSize);
-			}
+	private static final class ErasableCache<K, V>{
+		private final Map<K, V> cache;
+		private final Lock lock = new ReentrantLock();
 
-			@Override
-			public LinkedHashMap<K, V> clone() throws AssertionError{
-				throw new AssertionError();
+
+		private ErasableCache(final int maxSize){
+			cache = new LinkedHashMap<>(maxSize, 0.75f, true){
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<K, V> eldest){
+					return (size() > maxSize);
+				}
+
+				@Override
+				public LinkedHashMap<K, V> clone() throws AssertionError{
+					throw new AssertionError();
+				}
+			};
+		}
+
+
+		private V get(final K key){
+			lock.lock();
+			try{
+				return cache.get(key);
 			}
-		};
+			finally{
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Stores the value, unless another one was stored in the meantime.
+		 *
+		 * @param key	The key.
+		 * @param value	The value.
+		 * @return	The value stored for the key.
+		 */
+		private V putIfAbsent(final K key, final V value){
+			if(value == null)
+				return null;
+
+			lock.lock();
+			try{
+				final V previous = cache.putIfAbsent(key, value);
+				return (previous != null? previous: value);
+			}
+			finally{
+				lock.unlock();
+			}
+		}
 	}
 
 }
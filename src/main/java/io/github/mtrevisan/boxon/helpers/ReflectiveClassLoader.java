@@ -36,7 +36,9 @@ import java.lang.annotation.Target;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -49,7 +51,9 @@ import java.util.stream.Collectors;
 /**
  * A class to load and scan classes reflectively based on specified packages using {@link ClassGraph} library.
  * <p>
- * It uses a metadata store to cache and retrieve information about scanned classes.
+ * It uses a metadata store to cache and retrieve information about scanned classes.<br />
+ * Classes annotated with, or implementing, a type are first looked up in the {@link ClassIndex index} written at compile time, only the
+ * packages not covered by an index are scanned.
  * </p>
  *
  * @see <a href="https://github.com/classgraph/classgraph">ClassGraph</a>.
@@ -58,7 +62,7 @@ public final class ReflectiveClassLoader{
 
 	private final Map<Class<?>, Collection<Class<?>>> metadataStore = new ConcurrentHashMap<>(0);
 
-	private final ClassGraph classGraph;
+	private final Class<?>[] packageClasses;
 
 
 	/**
@@ -77,13 +81,7 @@ public final class ReflectiveClassLoader{
 		if(length == 0)
 			throw new IllegalArgumentException("Packages list cannot be empty");
 
-		final String[] packageNames = new String[length];
-		for(int i = 0; i < length; i ++)
-			packageNames[i] = packageClasses[i].getPackageName();
-		classGraph = new ClassGraph()
-			.ignoreClassVisibility()
-			.enableAnnotationInfo()
-			.acceptPackages(packageNames);
+		this.packageClasses = packageClasses.clone();
 	}
 
 
@@ -99,7 +97,7 @@ public final class ReflectiveClassLoader{
 	 * @return	The collection of classes.
 	 */
 	public List<Class<?>> extractClassesWithAnnotation(final Class<? extends Annotation> type){
-		return extractClassesWithInfo(type, scanResult -> scanResult.getClassesWithAnnotation(type));
+		return extractClassesWithInfo(type, true, scanResult -> scanResult.getClassesWithAnnotation(type));
 	}
 
 	/**
@@ -109,7 +107,7 @@ public final class ReflectiveClassLoader{
 	 * @return	The collection of classes implementing the given interface.
 	 */
 	public List<Class<?>> extractClassesImplementing(final Class<?> type){
-		return extractClassesWithInfo(type, scanResult -> scanResult.getClassesImplementing(type));
+		return extractClassesWithInfo(type, true, scanResult -> scanResult.getClassesImplementing(type));
 	}
 
 	/**
@@ -119,23 +117,71 @@ public final class ReflectiveClassLoader{
 	 * @return	The classes.
 	 */
 	public List<Class<?>> extractClassesWithFieldAnnotation(final Class<? extends Annotation> type){
-		return extractClassesWithInfo(type, scanResult -> scanResult.getClassesWithFieldAnnotation(type));
+		return extractClassesWithInfo(type, false, scanResult -> scanResult.getClassesWithFieldAnnotation(type));
 	}
 
-	private List<Class<?>> extractClassesWithInfo(final Class<?> type, final Function<ScanResult, ClassInfoList> filter){
+	private List<Class<?>> extractClassesWithInfo(final Class<?> type, final boolean indexed,
+			final Function<ScanResult, ClassInfoList> filter){
 		final List<Class<?>> loadedClasses = getStoredClasses(type);
 
 		if(loadedClasses.isEmpty()){
-			try(final ScanResult scanResult = classGraph.scan()){
-				final ClassInfoList classInfo = filter.apply(scanResult);
-				final List<Class<?>> list = classInfo.loadClasses();
-				storeClasses(type, list);
-				loadedClasses.addAll(list);
-			}
+			final Collection<Class<?>> classes = new LinkedHashSet<>(0);
+			final List<String> packagesToScan = new ArrayList<>(packageClasses.length);
+			if(indexed)
+				extractIndexedClasses(type, classes, packagesToScan);
+			else
+				for(int i = 0, length = packageClasses.length; i < length; i ++)
+					packagesToScan.add(packageClasses[i].getPackageName());
+
+			if(!packagesToScan.isEmpty())
+				classes.addAll(scanClasses(packagesToScan, filter));
+
+			final List<Class<?>> list = new ArrayList<>(classes);
+			storeClasses(type, list);
+			loadedClasses.addAll(list);
 		}
 		return Collections.unmodifiableList(loadedClasses);
 	}
 
+	private void extractIndexedClasses(final Class<?> type, final Collection<Class<?>> classes, final Collection<String> packagesToScan){
+		final Map<ClassLoader, ClassIndex> indexes = new HashMap<>(1);
+		for(int i = 0, length = packageClasses.length; i < length; i ++){
+			final Class<?> packageClass = packageClasses[i];
+			final String packageName = packageClass.getPackageName();
+
+			final ClassLoader classLoader = packageClass.getClassLoader();
+			final ClassIndex index = indexes.computeIfAbsent(classLoader, ClassIndex::load);
+			if(!index.covers(packageName) || !loadIndexedClasses(index.getClassNames(type, packageName), classLoader, classes))
+				packagesToScan.add(packageName);
+		}
+	}
+
+	private static boolean loadIndexedClasses(final List<String> classNames, final ClassLoader classLoader,
+			final Collection<Class<?>> classes){
+		final List<Class<?>> loadedClasses = new ArrayList<>(classNames.size());
+		try{
+			for(int i = 0, length = classNames.size(); i < length; i ++)
+				loadedClasses.add(Class.forName(classNames.get(i), false, classLoader));
+		}
+		catch(final ClassNotFoundException | LinkageError ignored){
+			//the index is stale
+			return false;
+		}
+		classes.addAll(loadedClasses);
+		return true;
+	}
+
+	private static List<Class<?>> scanClasses(final List<String> packageNames, final Function<ScanResult, ClassInfoList> filter){
+		final ClassGraph classGraph = new ClassGraph()
+			.ignoreClassVisibility()
+			.enableAnnotationInfo()
+			.acceptPackages(packageNames.toArray(String[]::new));
+		try(final ScanResult scanResult = classGraph.scan()){
+			final ClassInfoList classInfo = filter.apply(scanResult);
+			return classInfo.loadClasses();
+		}
+	}
+
 	public static Set<Class<? extends Annotation>> extractAnnotations(final Class<?> basePackageClass, final ElementType targetType){
 		final ClassGraph classGraph = new ClassGraph()
 			.ignoreClassVisibility()
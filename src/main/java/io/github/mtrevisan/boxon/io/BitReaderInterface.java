@@ -90,6 +90,20 @@ public interface BitReaderInterface{
 	 */
 	BitSet readBitSet(int length);
 
+	/**
+	 * Reads the next {@code length} bits and composes a {@code long} in big-endian notation.
+	 *
+	 * @param length	The number of bits to read (MUST BE less than or equals to {@link Long#SIZE}).
+	 * @return	The bits read, aligned to the LSB, at the {@link io.github.mtrevisan.boxon.core.helpers.BitReader BitReader}'s current
+	 * 	position.
+	 */
+	default long readBits(final int length){
+		//the first bit read is the most significant one
+		final long[] words = readBitSet(length)
+			.toLongArray();
+		return (words.length > 0? words[0]: 0l);
+	}
+
 	/**
 	 * Reads {@link Byte#SIZE} bits and composes a {@code byte}.
 	 *
@@ -62,6 +62,19 @@ public interface BitWriterInterface{
 	 */
 	void writeBitSet(BitSet bitmap, int length);
 
+	/**
+	 * Writes the {@code length} least significant bits of {@code value} to this
+	 * {@link io.github.mtrevisan.boxon.core.helpers.BitWriter BitWriter}, in big-endian notation.
+	 *
+	 * @param value	The value to write.
+	 * @param length	The number of bits to use when writing the {@code value} (MUST BE less than or equals to {@link Long#SIZE}).
+	 */
+	default void writeBits(final long value, final int length){
+		//the most significant bit is the first written
+		final long mask = (length < Long.SIZE? (1l << length) - 1: -1l);
+		writeBitSet(BitSet.valueOf(new long[]{value & mask}), length);
+	}
+
 	/**
 	 * Writes a value using {@link Byte#SIZE} bits.
 	 *
@@ -26,6 +26,7 @@ package io.github.mtrevisan.boxon.io;
 
 import io.github.mtrevisan.boxon.helpers.ContextHelper;
 import io.github.mtrevisan.boxon.helpers.Memoizer;
+import io.github.mtrevisan.boxon.logs.jfr.ExpressionCompiledEvent;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
@@ -42,8 +43,11 @@ import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 
@@ -109,6 +113,10 @@ public final class Evaluator{
 		PARSER = new SpelExpressionParser(config);
 	}
 
+	/**
+	 * The expressions parsed so far, used to warm up the cache of a new instance (see {@link #prepare(String)}), bounded as the cache is.
+	 */
+	private static Set<String> PARSED_EXPRESSIONS;
 	private static Function<String, Expression> CACHED_EXPRESSIONS;
 	static{
 		initialize(Memoizer.UNBOUNDED_SIZE);
@@ -131,7 +139,64 @@ public final class Evaluator{
 	 * @param maxSpELMemoizerSize	The maximum size of the SpEL memoizer cache.
 	 */
 	public static void initialize(final int maxSpELMemoizerSize){
-		CACHED_EXPRESSIONS = Memoizer.memoize(PARSER::parseExpression, maxSpELMemoizerSize);
+		PARSED_EXPRESSIONS = createParsedExpressions(maxSpELMemoizerSize);
+		CACHED_EXPRESSIONS = Memoizer.memoize(Evaluator::parseExpression, maxSpELMemoizerSize);
+	}
+
+	private static Set<String> createParsedExpressions(final int maxSize){
+		if(maxSize <= Memoizer.UNBOUNDED_SIZE)
+			return ConcurrentHashMap.newKeySet();
+
+		//keep only the last parsed expressions, as many as the cache can hold
+		return Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>(maxSize, 0.75f){
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest){
+				return (size() > maxSize);
+			}
+		}));
+	}
+
+
+	private static Expression parseExpression(final String expression){
+		final ExpressionCompiledEvent jfrEvent = new ExpressionCompiledEvent();
+		jfrEvent.begin();
+		try{
+			final Expression parsedExpression = PARSER.parseExpression(expression);
+			PARSED_EXPRESSIONS.add(expression);
+
+			jfrEvent.complete(expression, null);
+
+			return parsedExpression;
+		}
+		catch(final RuntimeException re){
+			jfrEvent.complete(expression, re);
+
+			throw re;
+		}
+	}
+
+
+	/**
+	 * Parses an expression and stores it in the cache, so that its first evaluation does not pay for the parsing.
+	 *
+	 * @param expression	The <a href="https://docs.spring.io/spring-framework/reference/core/expressions.html">SpEL</a> expression to
+	 * 	parse.
+	 * @throws org.springframework.expression.ParseException	If the expression is not valid.
+	 */
+	public static void prepare(final String expression){
+		CACHED_EXPRESSIONS.apply(expression);
+	}
+
+	/**
+	 * The expressions parsed since the last {@link #initialize(int) initialization} (only the last ones, if the cache is bounded).
+	 *
+	 * @return	A copy of the parsed expressions.
+	 */
+	public static Set<String> getParsedExpressions(){
+		final Set<String> parsedExpressions = PARSED_EXPRESSIONS;
+		synchronized(parsedExpressions){
+			return Set.copyOf(parsedExpressions);
+		}
 	}
 
 
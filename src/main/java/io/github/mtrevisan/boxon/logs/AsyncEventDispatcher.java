@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.logs;
+
+import io.github.mtrevisan.boxon.helpers.StringHelper;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Hands the log events to a background thread through a bounded ring buffer.
+ * <p>
+ * The formatting of the message is deferred to the background thread; if the buffer is full the event is dropped (and counted), so the
+ * caller is never blocked.<br />
+ * The parameters are snapshot on dispatch, so that the caller can change them right after: immutable values are kept, arrays are copied,
+ * and any other value is formatted eagerly.
+ * </p>
+ */
+final class AsyncEventDispatcher{
+
+	private static final String THREAD_NAME = "boxon-event-dispatcher";
+
+	private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Boolean.class, Character.class, Byte.class, Short.class,
+		Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class);
+
+
+	private record Event(Level level, String message, Object[] parameters, Throwable exception){}
+
+
+	private final Logger logger;
+	private final BlockingQueue<Event> ringBuffer;
+	private final AtomicLong droppedEvents = new AtomicLong();
+
+
+	AsyncEventDispatcher(final Logger logger, final int capacity){
+		this.logger = logger;
+		ringBuffer = new ArrayBlockingQueue<>(capacity);
+
+		final Thread consumer = new Thread(this::consume, THREAD_NAME);
+		consumer.setDaemon(true);
+		consumer.start();
+	}
+
+
+	/**
+	 * Enqueue an event, dropping it if the buffer is full.
+	 *
+	 * @param level	The level of the event.
+	 * @param message	The message, with <code>{}</code> placeholders.
+	 * @param parameters	The parameters of the message.
+	 * @param exception	The exception, if any.
+	 */
+	void dispatch(final Level level, final String message, final Object[] parameters, final Throwable exception){
+		if(!ringBuffer.offer(new Event(level, message, snapshot(parameters), exception)))
+			droppedEvents.incrementAndGet();
+	}
+
+	private static Object[] snapshot(final Object[] parameters){
+		//NOTE: the copy keeps the type of the array (the parameters could be a `Class[]`, whose elements are immutable)
+		final Object[] snapshot = parameters.clone();
+		for(int i = 0, length = snapshot.length; i < length; i ++)
+			snapshot[i] = snapshotValue(snapshot[i]);
+		return snapshot;
+	}
+
+	private static Object snapshotValue(final Object value){
+		if(value == null || IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum<?> || value instanceof Class<?>)
+			return value;
+
+		return switch(value){
+			case final boolean[] array -> array.clone();
+			case final char[] array -> array.clone();
+			case final byte[] array -> array.clone();
+			case final short[] array -> array.clone();
+			case final int[] array -> array.clone();
+			case final long[] array -> array.clone();
+			case final float[] array -> array.clone();
+			case final double[] array -> array.clone();
+			case final Object[] array -> {
+				final Object[] copy = new Object[array.length];
+				for(int i = 0, length = array.length; i < length; i ++)
+					copy[i] = snapshotValue(array[i]);
+				yield copy;
+			}
+			default -> value.toString();
+		};
+	}
+
+	/**
+	 * The number of events dropped because the buffer was full.
+	 *
+	 * @return	The number of dropped events.
+	 */
+	long getDroppedEvents(){
+		return droppedEvents.get();
+	}
+
+	private void consume(){
+		try{
+			while(true){
+				final Event event = ringBuffer.take();
+
+				final String message = (event.parameters.length > 0
+					? StringHelper.format(event.message, EventLogger.extractParameters(event.parameters))
+					: event.message);
+				logger.atLevel(event.level)
+					.setCause(event.exception)
+					.log(message);
+			}
+		}
+		catch(final InterruptedException ignored){
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
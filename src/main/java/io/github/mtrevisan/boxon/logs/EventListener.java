@@ -36,6 +36,23 @@ import io.github.mtrevisan.boxon.io.Codec;
  */
 public class EventListener{
 
+	/** No capabilities: only the non-recurring events (loading of codecs, templates, and configurations, errors) are fired. */
+	public static final int CAPABILITY_NONE = 0x00;
+	/**
+	 * Capability of receiving the field-level events fired while decoding, encoding, and evaluating a message (see
+	 * {@link #readingField(String, String, String)}, {@link #readField(String, String, Object)},
+	 * {@link #evaluatingField(String, String)}, {@link #evaluatedField(String, String, Object)},
+	 * {@link #writingField(String, String, String)}, and {@link #writtenField(String, String, Object)}).
+	 */
+	public static final int CAPABILITY_FIELD_EVENTS = 0x01;
+	/**
+	 * Capability of receiving the message-level events fired while parsing and composing (see
+	 * {@link #decodedMessage(String, int, long)}, {@link #decodingFailed(String, Exception)}, {@link #resynchronized(int)},
+	 * {@link #encodedMessage(String, int, long)}, and {@link #encodingFailed(String, Exception)}).
+	 */
+	public static final int CAPABILITY_MESSAGE_EVENTS = 0x02;
+
+
 	private static final class SingletonHelper{
 		private static final EventListener INSTANCE = new EventListener();
 	}
@@ -54,6 +71,30 @@ public class EventListener{
 	}
 
 
+	/**
+	 * The events this listener is interested in, as a bit mask of {@code CAPABILITY_*} flags.
+	 * <p>
+	 * The engine queries this mask before firing any recurring event, and skips both the call and the computation of its
+	 * arguments if the listener is not interested.
+	 * </p>
+	 *
+	 * @return	The capabilities of this listener (defaults to {@link #CAPABILITY_NONE}).
+	 */
+	public int getCapabilities(){
+		return CAPABILITY_NONE;
+	}
+
+	/**
+	 * Whether this listener is interested in the events identified by the given capability.
+	 *
+	 * @param capability	The capability, one of the {@code CAPABILITY_*} flags.
+	 * @return	Whether the events should be fired.
+	 */
+	public final boolean hasCapability(final int capability){
+		return ((getCapabilities() & capability) != 0);
+	}
+
+
 	/**
 	 * Called when about to loading some codecs through packages classes.
 	 *
@@ -210,6 +251,48 @@ public class EventListener{
 	public void writtenField(final String templateName, final String fieldName, final Object value){}
 
 
+	/**
+	 * Called when a message was decoded.
+	 *
+	 * @param templateName	The template name.
+	 * @param size	The number of bytes read.
+	 * @param elapsedNanos	The time spent decoding the message, in nanoseconds.
+	 */
+	public void decodedMessage(final String templateName, final int size, final long elapsedNanos){}
+
+	/**
+	 * Called when a message cannot be decoded.
+	 *
+	 * @param templateName	The template name, or {@code null} if no template matches the message.
+	 * @param exception	The encountered exception.
+	 */
+	public void decodingFailed(final String templateName, final Exception exception){}
+
+	/**
+	 * Called when the parser skips some bytes to find the start of the next message after a decoding error.
+	 *
+	 * @param skippedBytes	The number of bytes skipped.
+	 */
+	public void resynchronized(final int skippedBytes){}
+
+	/**
+	 * Called when a message was encoded.
+	 *
+	 * @param templateName	The template name.
+	 * @param size	The number of bytes written.
+	 * @param elapsedNanos	The time spent encoding the message, in nanoseconds.
+	 */
+	public void encodedMessage(final String templateName, final int size, final long elapsedNanos){}
+
+	/**
+	 * Called when a message cannot be encoded.
+	 *
+	 * @param templateName	The template name, or {@code null} if no template matches the message.
+	 * @param exception	The encountered exception.
+	 */
+	public void encodingFailed(final String templateName, final Exception exception){}
+
+
 	/**
 	 * Called when the generator fails to create an annotation or a field type in a template or configuration.
 	 *
@@ -29,6 +29,7 @@ import io.github.mtrevisan.boxon.io.Codec;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
 import org.slf4j.helpers.NOPLoggerFactory;
 
 import java.util.Collection;
@@ -38,6 +39,11 @@ import java.util.StringJoiner;
 
 /**
  * A logger that uses <a href="https://www.slf4j.org/">SLF4J</a> to log event messages.
+ * <p>
+ * The field-level events are requested to the engine only if the trace level is enabled.<br />
+ * The asynchronous instance hands the events to a background thread through a bounded ring buffer (dropping them if it is full), and
+ * does not report the caller of the event.
+ * </p>
  */
 public final class EventLogger extends EventListener{
 
@@ -50,9 +56,15 @@ public final class EventLogger extends EventListener{
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(EventLogger.class);
 
+	private static final int ASYNC_BUFFER_CAPACITY = 1 << 12;
+
 
 	private static final class SingletonHelper{
-		private static final EventLogger INSTANCE = new EventLogger();
+		private static final EventLogger INSTANCE = new EventLogger(null);
+	}
+
+	private static final class AsyncSingletonHelper{
+		private static final EventLogger INSTANCE = new EventLogger(new AsyncEventDispatcher(LOGGER, ASYNC_BUFFER_CAPACITY));
 	}
 
 
@@ -66,7 +78,43 @@ public final class EventLogger extends EventListener{
 	}
 
 
-	private EventLogger(){}
+	/**
+	 * The singleton instance of the asynchronous logger.
+	 * <p>
+	 * The events are formatted and logged by a background thread, from a snapshot of their parameters taken when the event is raised
+	 * (mutable values are formatted right away).<br />
+	 * Unlike the synchronous logger, the messages are not prefixed with the caller of the event (the {@code (Class:line)} prefix), as it
+	 * would require walking the stack of the calling thread.
+	 * </p>
+	 *
+	 * @return	The instance of the asynchronous logger.
+	 */
+	public static EventLogger getAsyncInstance(){
+		return EventLogger.AsyncSingletonHelper.INSTANCE;
+	}
+
+
+	private final AsyncEventDispatcher dispatcher;
+
+
+	private EventLogger(final AsyncEventDispatcher dispatcher){
+		this.dispatcher = dispatcher;
+	}
+
+
+	@Override
+	public int getCapabilities(){
+		return (LOGGER.isTraceEnabled()? CAPABILITY_FIELD_EVENTS: CAPABILITY_NONE);
+	}
+
+	/**
+	 * The number of events dropped by the asynchronous logger because its buffer was full.
+	 *
+	 * @return	The number of dropped events (always zero for the synchronous logger).
+	 */
+	public long getDroppedEvents(){
+		return (dispatcher != null? dispatcher.getDroppedEvents(): 0l);
+	}
 
 
 	@Override
@@ -129,7 +177,7 @@ public final class EventLogger extends EventListener{
 
 	@Override
 	public void cannotLoadTemplate(final String templateClassName, final Exception exception){
-		LOGGER.error("Cannot load class {}", templateClassName, exception);
+		error("Cannot load class {}", templateClassName, exception);
 	}
 
 
@@ -146,7 +194,7 @@ public final class EventLogger extends EventListener{
 
 	@Override
 	public void cannotLoadConfiguration(final String configurationClassName, final Exception exception){
-		LOGGER.error("Cannot load class {}", configurationClassName, exception);
+		error("Cannot load class {}", configurationClassName, exception);
 	}
 
 
@@ -192,20 +240,41 @@ public final class EventLogger extends EventListener{
 	}
 
 
-	private static void trace(final String message, final Exception exception){
-		LOGGER.trace(compose(message), exception);
+	private void trace(final String message, final Object... parameters){
+		if(!LOGGER.isTraceEnabled())
+			return;
+
+		if(dispatcher != null)
+			dispatcher.dispatch(Level.TRACE, message, parameters, null);
+		else
+			LOGGER.trace(compose(message, parameters));
 	}
 
-	private static void trace(final String message, final Object... parameters){
-		LOGGER.trace(compose(message, parameters));
+	private void warn(final String message, final Object... parameters){
+		if(!LOGGER.isWarnEnabled())
+			return;
+
+		if(dispatcher != null)
+			dispatcher.dispatch(Level.WARN, message, parameters, null);
+		else
+			LOGGER.warn(compose(message, parameters));
 	}
 
-	private static void warn(final String message, final Object... parameters){
-		LOGGER.warn(compose(message, parameters));
+	private void info(final String message, final Object... parameters){
+		if(!LOGGER.isInfoEnabled())
+			return;
+
+		if(dispatcher != null)
+			dispatcher.dispatch(Level.INFO, message, parameters, null);
+		else
+			LOGGER.info(compose(message, parameters));
 	}
 
-	private static void info(final String message, final Object... parameters){
-		LOGGER.info(compose(message, parameters));
+	private void error(final String message, final String parameter, final Exception exception){
+		if(dispatcher != null)
+			dispatcher.dispatch(Level.ERROR, message, new Object[]{parameter}, exception);
+		else
+			LOGGER.error(message, parameter, exception);
 	}
 
 	private static String compose(final String message, final Object... parameters){
@@ -228,7 +297,7 @@ public final class EventLogger extends EventListener{
 		return StringHelper.format(outputMessage.toString(), extractParameters(parameters));
 	}
 
-	private static Object extractParameters(final Object[] parameters){
+	static Object extractParameters(final Object[] parameters){
 		if(parameters instanceof Class<?>[]){
 			final Collection<String> packages = collectPackages(parameters);
 
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.logs;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A lock-free, log-linear histogram of non-negative values (in the style of
+ * <a href="https://github.com/HdrHistogram/HdrHistogram">HdrHistogram</a>).
+ * <p>
+ * Each power of two is split into {@value #SUB_BUCKET_COUNT} linear sub-buckets, so that every recorded value is reported with a
+ * relative error of at most {@code 1/}{@value #SUB_BUCKET_COUNT}, whatever its magnitude.
+ * </p>
+ * <p>
+ * Each bucket is a {@link LongAdder}, created on its first use, so that threads recording in the same (hot) bucket do not contend on the
+ * same cache line, and the memory used depends on the buckets actually hit.
+ * </p>
+ */
+final class LatencyHistogram{
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+
+	private final AtomicReferenceArray<LongAdder> counts = new AtomicReferenceArray<>(BUCKET_COUNT);
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder totalValue = new LongAdder();
+	private final LongAccumulator maxValue = new LongAccumulator(Math::max, 0l);
+
+
+	/**
+	 * Record a value.
+	 *
+	 * @param value	The value to be recorded (negative values are recorded as zero).
+	 */
+	void record(long value){
+		if(value < 0l)
+			value = 0l;
+
+		bucket(indexOf(value))
+			.increment();
+		totalCount.increment();
+		totalValue.add(value);
+		maxValue.accumulate(value);
+	}
+
+	private LongAdder bucket(final int index){
+		LongAdder bucket = counts.get(index);
+		if(bucket == null){
+			final LongAdder newBucket = new LongAdder();
+			bucket = counts.compareAndExchange(index, null, newBucket);
+			if(bucket == null)
+				bucket = newBucket;
+		}
+		return bucket;
+	}
+
+	/**
+	 * Take a snapshot of the recorded values.
+	 * <p>The snapshot is not atomic with respect to concurrent recordings.</p>
+	 *
+	 * @return	The snapshot of the histogram.
+	 */
+	MetricsListener.HistogramSnapshot snapshot(){
+		final long[] bucketCounts = new long[BUCKET_COUNT];
+		long count = 0l;
+		for(int i = 0; i < BUCKET_COUNT; i ++){
+			final LongAdder bucket = counts.get(i);
+			bucketCounts[i] = (bucket != null? bucket.sum(): 0l);
+			count += bucketCounts[i];
+		}
+
+		final long max = maxValue.get();
+		final long p50 = valueAtPercentile(bucketCounts, count, 50., max);
+		final long p90 = valueAtPercentile(bucketCounts, count, 90., max);
+		final long p99 = valueAtPercentile(bucketCounts, count, 99., max);
+		final long p999 = valueAtPercentile(bucketCounts, count, 99.9, max);
+		final long total = totalCount.sum();
+		final double mean = (total > 0l? (double)totalValue.sum() / total: 0.);
+		return new MetricsListener.HistogramSnapshot(count, mean, p50, p90, p99, p999, max);
+	}
+
+	private static long valueAtPercentile(final long[] bucketCounts, final long count, final double percentile, final long max){
+		if(count == 0l)
+			return 0l;
+
+		final long threshold = Math.max(1l, (long)Math.ceil(percentile / 100. * count));
+		long cumulative = 0l;
+		for(int i = 0; i < BUCKET_COUNT; i ++){
+			cumulative += bucketCounts[i];
+			if(cumulative >= threshold)
+				return Math.min(highestEquivalentValue(i), max);
+		}
+		return max;
+	}
+
+
+	/**
+	 * The index of the bucket a value belongs to.
+	 *
+	 * @param value	The (non-negative) value.
+	 * @return	The index of the bucket.
+	 */
+	static int indexOf(final long value){
+		if(value < SUB_BUCKET_COUNT)
+			return (int)value;
+
+		final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int)((value >>> shift) - SUB_BUCKET_COUNT);
+	}
+
+	/**
+	 * The highest value that belongs to the same bucket.
+	 *
+	 * @param index	The index of the bucket.
+	 * @return	The highest value in the bucket.
+	 */
+	static long highestEquivalentValue(final int index){
+		if(index < SUB_BUCKET_COUNT)
+			return index;
+
+		final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+		final long subBucket = SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1));
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+}
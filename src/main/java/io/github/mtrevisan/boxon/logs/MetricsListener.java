@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.logs;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * A listener that collects the operational metrics of parsing and composing.
+ * <p>
+ * It records, for each template, the number of messages and bytes decoded and encoded, along with the latency histograms, the number of
+ * errors by exception type, and the number of resynchronizations (with the bytes skipped).<br />
+ * All the counters are lock-free and striped, so that the listener can be kept active in production.
+ * </p>
+ */
+public final class MetricsListener extends EventListener{
+
+	/** The key used for the errors raised before a template could be identified. */
+	public static final String UNKNOWN_TEMPLATE = "<unknown>";
+
+
+	/**
+	 * The snapshot of the collected metrics.
+	 *
+	 * @param templates	The metrics of each template, keyed by template name.
+	 * @param errors	The number of errors, keyed by the simple name of the exception.
+	 * @param resynchronizations	The number of times the parser skipped some bytes to find the next message.
+	 * @param skippedBytes	The total number of bytes skipped while resynchronizing.
+	 */
+	public record Snapshot(Map<String, TemplateSnapshot> templates, Map<String, Long> errors, long resynchronizations,
+			long skippedBytes){}
+
+	/**
+	 * The snapshot of the metrics of a single template.
+	 *
+	 * @param decodedMessages	The number of messages decoded.
+	 * @param decodedBytes	The number of bytes decoded.
+	 * @param decodeErrors	The number of messages that failed to decode.
+	 * @param decodeLatency	The decoding latency, in nanoseconds.
+	 * @param encodedMessages	The number of messages encoded.
+	 * @param encodedBytes	The number of bytes encoded.
+	 * @param encodeErrors	The number of messages that failed to encode.
+	 * @param encodeLatency	The encoding latency, in nanoseconds.
+	 */
+	public record TemplateSnapshot(long decodedMessages, long decodedBytes, long decodeErrors, HistogramSnapshot decodeLatency,
+			long encodedMessages, long encodedBytes, long encodeErrors, HistogramSnapshot encodeLatency){}
+
+	/**
+	 * The snapshot of a latency histogram.
+	 * <p>The percentiles are reported with a relative error of about 3%.</p>
+	 *
+	 * @param count	The number of recorded values.
+	 * @param mean	The mean value.
+	 * @param p50	The median.
+	 * @param p90	The 90th percentile.
+	 * @param p99	The 99th percentile.
+	 * @param p999	The 99.9th percentile.
+	 * @param max	The maximum value.
+	 */
+	public record HistogramSnapshot(long count, double mean, long p50, long p90, long p99, long p999, long max){}
+
+
+	private static final class TemplateMetrics{
+		private final LongAdder decodedMessages = new LongAdder();
+		private final LongAdder decodedBytes = new LongAdder();
+		private final LongAdder decodeErrors = new LongAdder();
+		private final LatencyHistogram decodeLatency = new LatencyHistogram();
+		private final LongAdder encodedMessages = new LongAdder();
+		private final LongAdder encodedBytes = new LongAdder();
+		private final LongAdder encodeErrors = new LongAdder();
+		private final LatencyHistogram encodeLatency = new LatencyHistogram();
+
+		private TemplateSnapshot snapshot(){
+			return new TemplateSnapshot(decodedMessages.sum(), decodedBytes.sum(), decodeErrors.sum(), decodeLatency.snapshot(),
+				encodedMessages.sum(), encodedBytes.sum(), encodeErrors.sum(), encodeLatency.snapshot());
+		}
+	}
+
+
+	private final ConcurrentMap<String, TemplateMetrics> templates = new ConcurrentHashMap<>(0);
+	private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>(0);
+	private final LongAdder resynchronizations = new LongAdder();
+	private final LongAdder skippedBytes = new LongAdder();
+
+
+	/**
+	 * Create a metrics listener.
+	 *
+	 * @return	A metrics listener.
+	 */
+	public static MetricsListener create(){
+		return new MetricsListener();
+	}
+
+
+	private MetricsListener(){}
+
+
+	@Override
+	public int getCapabilities(){
+		return CAPABILITY_MESSAGE_EVENTS;
+	}
+
+
+	@Override
+	public void decodedMessage(final String templateName, final int size, final long elapsedNanos){
+		final TemplateMetrics metrics = metricsOf(templateName);
+		metrics.decodedMessages.increment();
+		metrics.decodedBytes.add(size);
+		metrics.decodeLatency.record(elapsedNanos);
+	}
+
+	@Override
+	public void decodingFailed(final String templateName, final Exception exception){
+		metricsOf(templateName).decodeErrors
+			.increment();
+		countError(exception);
+	}
+
+	@Override
+	public void resynchronized(final int skippedBytes){
+		resynchronizations.increment();
+		this.skippedBytes.add(skippedBytes);
+	}
+
+	@Override
+	public void encodedMessage(final String templateName, final int size, final long elapsedNanos){
+		final TemplateMetrics metrics = metricsOf(templateName);
+		metrics.encodedMessages.increment();
+		metrics.encodedBytes.add(size);
+		metrics.encodeLatency.record(elapsedNanos);
+	}
+
+	@Override
+	public void encodingFailed(final String templateName, final Exception exception){
+		metricsOf(templateName).encodeErrors
+			.increment();
+		countError(exception);
+	}
+
+	private TemplateMetrics metricsOf(final String templateName){
+		final String key = (templateName != null? templateName: UNKNOWN_TEMPLATE);
+		//avoid the locking of `computeIfAbsent` on the hot path
+		final TemplateMetrics metrics = templates.get(key);
+		return (metrics != null? metrics: templates.computeIfAbsent(key, k -> new TemplateMetrics()));
+	}
+
+	private void countError(final Exception exception){
+		final String key = exception.getClass().getSimpleName();
+		final LongAdder counter = errors.get(key);
+		(counter != null? counter: errors.computeIfAbsent(key, k -> new LongAdder()))
+			.increment();
+	}
+
+
+	/**
+	 * Take a snapshot of the collected metrics.
+	 * <p>The snapshot is not atomic with respect to the concurrent parsing and composing.</p>
+	 *
+	 * @return	The snapshot of the metrics.
+	 */
+	public Snapshot snapshot(){
+		final Map<String, TemplateSnapshot> templateSnapshots = new HashMap<>(templates.size());
+		for(final Map.Entry<String, TemplateMetrics> entry : templates.entrySet())
+			templateSnapshots.put(entry.getKey(), entry.getValue().snapshot());
+
+		final Map<String, Long> errorSnapshots = new HashMap<>(errors.size());
+		for(final Map.Entry<String, LongAdder> entry : errors.entrySet())
+			errorSnapshots.put(entry.getKey(), entry.getValue().sum());
+
+		return new Snapshot(Collections.unmodifiableMap(templateSnapshots), Collections.unmodifiableMap(errorSnapshots),
+			resynchronizations.sum(), skippedBytes.sum());
+	}
+
+	/**
+	 * Reset all the collected metrics.
+	 */
+	public void reset(){
+		templates.clear();
+		errors.clear();
+		resynchronizations.reset();
+		skippedBytes.reset();
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.logs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * A message was encoded (or failed to encode).
+ */
+@Name(MessageEncodedEvent.NAME)
+@Label("Message Encoded")
+@Description("A message was encoded (or failed to encode).")
+@Category({"Boxon", "Composer"})
+@StackTrace(false)
+public final class MessageEncodedEvent extends Event{
+
+	/** The name of the event. */
+	public static final String NAME = "boxon.MessageEncoded";
+
+	private static final EventType EVENT_TYPE = EventType.getEventType(MessageEncodedEvent.class);
+
+
+	@Label("Template")
+	@Description("The name of the template, if one matches the message")
+	String templateName;
+
+	@Label("Size")
+	@Description("The number of bytes written")
+	@DataAmount
+	long size;
+
+	@Label("Error Type")
+	@Description("The type of the exception, if the message cannot be encoded")
+	String errorType;
+
+
+	/**
+	 * Create and begin an event, only if it is enabled in a running recording (so that nothing is allocated otherwise).
+	 *
+	 * @return	The event, or {@code null} if it is not enabled.
+	 */
+	public static MessageEncodedEvent beginIfEnabled(){
+		if(!EVENT_TYPE.isEnabled())
+			return null;
+
+		final MessageEncodedEvent event = new MessageEncodedEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * End the event and commit it, if the recording is enabled.
+	 *
+	 * @param templateName	The name of the template, {@code null} if no template matches the message.
+	 * @param size	The number of bytes written.
+	 * @param error	The exception, {@code null} if the message was encoded.
+	 */
+	public void complete(final String templateName, final int size, final Exception error){
+		if(!isEnabled())
+			return;
+
+		end();
+		if(shouldCommit()){
+			this.templateName = templateName;
+			this.size = size;
+			errorType = (error != null? error.getClass().getName(): null);
+			commit();
+		}
+	}
+
+}
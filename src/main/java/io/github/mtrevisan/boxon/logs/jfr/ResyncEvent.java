@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.logs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * The parser searched for the start of the next message after a decoding error.
+ */
+@Name(ResyncEvent.NAME)
+@Label("Resync")
+@Description("The parser searched for the start of the next message after a decoding error.")
+@Category({"Boxon", "Parser"})
+@StackTrace(false)
+public final class ResyncEvent extends Event{
+
+	/** The name of the event. */
+	public static final String NAME = "boxon.Resync";
+
+	private static final EventType EVENT_TYPE = EventType.getEventType(ResyncEvent.class);
+
+
+	@Label("Position")
+	@Description("The position from which the search started")
+	long position;
+
+	@Label("Skipped Bytes")
+	@Description("The number of bytes skipped to reach the next message, -1 if none was found")
+	@DataAmount
+	long skippedBytes;
+
+
+	/**
+	 * Create and begin an event, only if it is enabled in a running recording (so that nothing is allocated otherwise).
+	 *
+	 * @return	The event, or {@code null} if it is not enabled.
+	 */
+	public static ResyncEvent beginIfEnabled(){
+		if(!EVENT_TYPE.isEnabled())
+			return null;
+
+		final ResyncEvent event = new ResyncEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * End the event and commit it, if the recording is enabled.
+	 *
+	 * @param position	The position from which the search started.
+	 * @param nextPosition	The position of the next message, -1 if none was found.
+	 */
+	public void complete(final int position, final int nextPosition){
+		if(!isEnabled())
+			return;
+
+		end();
+		if(shouldCommit()){
+			this.position = position;
+			skippedBytes = (nextPosition >= 0? nextPosition - position: -1l);
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.logs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * A template was created from its annotated class.
+ */
+@Name(TemplateLoadedEvent.NAME)
+@Label("Template Loaded")
+@Description("A template was created from its annotated class.")
+@Category({"Boxon", "Loader"})
+@StackTrace(false)
+public final class TemplateLoadedEvent extends Event{
+
+	/** The name of the event. */
+	public static final String NAME = "boxon.TemplateLoaded";
+
+
+	@Label("Template")
+	@Description("The name of the template")
+	String templateName;
+
+	@Label("Error Type")
+	@Description("The type of the exception, if the template cannot be created")
+	String errorType;
+
+
+	/**
+	 * End the event and commit it, if the recording is enabled.
+	 *
+	 * @param type	The template class.
+	 * @param error	The exception, {@code null} if the template was created.
+	 */
+	public void complete(final Class<?> type, final Exception error){
+		if(!isEnabled())
+			return;
+
+		end();
+		if(shouldCommit()){
+			templateName = type.getName();
+			errorType = (error != null? error.getClass().getName(): null);
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.processors;
+
+import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+import io.github.mtrevisan.boxon.annotations.configurations.ConfigurationHeader;
+import io.github.mtrevisan.boxon.helpers.ClassIndex;
+import io.github.mtrevisan.boxon.io.Codec;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+
+/**
+ * Annotation processor that writes, at compile time, the {@link ClassIndex index} of the classes annotated with {@link TemplateHeader} or
+ * {@link ConfigurationHeader}, and of the classes implementing {@link Codec}.
+ * <p>
+ * The index lets {@link io.github.mtrevisan.boxon.core.CoreBuilder CoreBuilder} load templates, configurations, and codecs without scanning
+ * the classpath.<br />
+ * The processor is not discovered from the compilation classpath, it should be given explicitly (e.g. with
+ * {@code -processor io.github.mtrevisan.boxon.processors.IndexProcessor}, or through the {@code annotationProcessorPaths} and
+ * {@code annotationProcessors} of the Maven compiler plugin), or put on the processor module path. It runs only on compilations that
+ * contain a template or a configuration.
+ * </p>
+ * <p>
+ * Along with the classes, the index records how many classes are compiled in each package, so that a package with classes compiled
+ * without the processor (e.g. by an incremental compilation) is scanned instead.
+ * </p>
+ */
+@SupportedAnnotationTypes({"io.github.mtrevisan.boxon.annotations.TemplateHeader",
+	"io.github.mtrevisan.boxon.annotations.configurations.ConfigurationHeader"})
+public final class IndexProcessor extends AbstractProcessor{
+
+	private static final List<String> INDEXED_ANNOTATIONS = List.of(TemplateHeader.class.getName(), ConfigurationHeader.class.getName());
+	private static final String INDEXED_INTERFACE = Codec.class.getName();
+
+
+	/** Maps each package to the number of classes compiled in it. */
+	private final Map<String, Integer> packages = new TreeMap<>();
+	private final Map<String, Collection<String>> classes = new TreeMap<>();
+
+
+	@Override
+	public SourceVersion getSupportedSourceVersion(){
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment){
+		if(roundEnvironment.processingOver())
+			writeIndex();
+		else{
+			final TypeMirror codecType = getCodecType();
+			for(final Element element : roundEnvironment.getRootElements())
+				if(element instanceof final TypeElement type)
+					processType(type, codecType);
+		}
+
+		//do not claim any annotation
+		return false;
+	}
+
+	private TypeMirror getCodecType(){
+		final Types types = processingEnv.getTypeUtils();
+		final TypeElement codecElement = processingEnv.getElementUtils()
+			.getTypeElement(INDEXED_INTERFACE);
+		return (codecElement != null? types.erasure(codecElement.asType()): null);
+	}
+
+	private void processType(final TypeElement type, final TypeMirror codecType){
+		final Elements elements = processingEnv.getElementUtils();
+		packages.merge(elements.getPackageOf(type)
+			.getQualifiedName()
+			.toString(), 1, Integer::sum);
+
+		final String className = elements.getBinaryName(type)
+			.toString();
+		for(final AnnotationMirror annotation : type.getAnnotationMirrors()){
+			final String annotationName = ((TypeElement)annotation.getAnnotationType().asElement())
+				.getQualifiedName()
+				.toString();
+			if(INDEXED_ANNOTATIONS.contains(annotationName))
+				addClass(annotationName, className);
+		}
+		if(codecType != null && type.getKind().isClass()){
+			final Types types = processingEnv.getTypeUtils();
+			if(types.isAssignable(types.erasure(type.asType()), codecType))
+				addClass(INDEXED_INTERFACE, className);
+		}
+
+		//nested classes
+		for(final Element enclosedElement : type.getEnclosedElements())
+			if(enclosedElement instanceof final TypeElement nestedType)
+				processType(nestedType, codecType);
+	}
+
+	private void addClass(final String type, final String className){
+		classes.computeIfAbsent(type, k -> new TreeSet<>())
+			.add(className);
+	}
+
+	private void writeIndex(){
+		if(packages.isEmpty())
+			return;
+
+		try{
+			final FileObject resource = processingEnv.getFiler()
+				.createResource(StandardLocation.CLASS_OUTPUT, "", ClassIndex.RESOURCE_NAME);
+			try(final Writer writer = resource.openWriter()){
+				ClassIndex.write(writer, packages, classes);
+			}
+		}
+		catch(final IOException ioe){
+			//the classpath will be scanned at runtime
+			processingEnv.getMessager()
+				.printMessage(Diagnostic.Kind.WARNING, "Cannot write the Boxon index: " + ioe.getMessage());
+		}
+	}
+
+}
@@ -35,12 +35,19 @@
  * - freemarker: A template engine used for code generation.
  * - classgraph: A library used for runtime annotation processing.
  * - slf4j: A simple logging facade for various logging frameworks.
+ * - jdk.jfr: The JDK Flight Recorder, used to emit the events of parsing and composing.
+ * - java.compiler: The annotation processing API, used (at compile time only) to write the index of templates, configurations, and
+ *   codecs.
  * - spring.core: The core Spring framework library.
  * - spring.expression: The Spring expression language library.
  * </p>
  * <p>
  * It opens the 'io.github.mtrevisan.boxon.core.codecs' package to allow for introspection by the Spring framework.
  * </p>
+ * <p>
+ * It provides an annotation processor that writes the index of templates, configurations, and codecs at compile time (it is not discovered
+ * from the classpath, it should be given explicitly or put on the processor module path).
+ * </p>
  * <br />
  * <p>
  * It exports the following packages:
@@ -62,12 +69,15 @@
  *   	process.</li>
  *   <li>io.github.mtrevisan.boxon.io: Contains classes for reading and writing binary data.</li>
  *   <li>io.github.mtrevisan.boxon.logs: Contains classes for logging in Boxon.</li>
+ *   <li>io.github.mtrevisan.boxon.logs.jfr: Contains the JDK Flight Recorder events emitted by Boxon.</li>
  *   <li>io.github.mtrevisan.boxon.semanticversioning: Contains classes for representing and comparing semantic version numbers.</li>
  * </ul>
  */
 module io.github.mtrevisan.boxon{
 	requires freemarker;
 	requires io.github.classgraph;
+	requires static java.compiler;
+	requires jdk.jfr;
 	requires org.slf4j;
 	requires spring.core;
 	requires spring.expression;
@@ -75,6 +85,8 @@ module io.github.mtrevisan.boxon{
 
 	opens io.github.mtrevisan.boxon.core.codecs to spring.core, spring.expression;
 
+	provides javax.annotation.processing.Processor with io.github.mtrevisan.boxon.processors.IndexProcessor;
+
 	exports io.github.mtrevisan.boxon.annotations;
 	exports io.github.mtrevisan.boxon.annotations.bindings;
 	exports io.github.mtrevisan.boxon.annotations.checksummers;
@@ -89,5 +101,6 @@ module io.github.mtrevisan.boxon{
 	exports io.github.mtrevisan.boxon.exceptions;
 	exports io.github.mtrevisan.boxon.io;
 	exports io.github.mtrevisan.boxon.logs;
+	exports io.github.mtrevisan.boxon.logs.jfr;
 	exports io.github.mtrevisan.boxon.semanticversioning;
 }
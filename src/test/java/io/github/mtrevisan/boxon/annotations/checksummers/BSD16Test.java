@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.util.zip.Checksum;
 
 
 class BSD16Test{
@@ -48,4 +49,15 @@ class BSD16Test{
 		Assertions.assertEquals((short)0xEC69, checksum.shortValue());
 	}
 
+	@Test
+	void accumulator(){
+		Checksummer checksummer = new BSD16();
+		Checksum accumulator = checksummer.createAccumulator();
+		byte[] data = "9142656".getBytes(StandardCharsets.US_ASCII);
+		accumulator.update(data, 0, 3);
+		accumulator.update(data, 3, 4);
+
+		Assertions.assertEquals(0xEC69, accumulator.getValue());
+	}
+
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.annotations.checksummers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Checksum;
+
+
+class CRCEngineTest{
+
+	private static final CRCParameters[] PARAMETERS = {
+		CRCParameters.CRC7,
+		CRCParameters.CRC8_CCITT,
+		CRCParameters.CRC8_DALLAS_MAXIM,
+		CRCParameters.CRC16_CCITT_XMODEM,
+		CRCParameters.CRC16_CCITT_FALSE,
+		CRCParameters.CRC16,
+		CRCParameters.CRC32,
+		CRCParameters.create(32, 0x1EDC_6F41)
+			.withInitialValue(0xFFFF_FFFFl)
+			.withReflectInput()
+			.withReflectOutput()
+			.withXorOutputValue(0xFFFF_FFFFl),
+		CRCParameters.create(12, 0x80F)
+			.withReflectOutput(),
+		CRCParameters.create(24, 0x86_4CFB)
+			.withInitialValue(0xB7_04CE),
+		CRCParameters.create(64, 0x42F0_E1EB_A9EA_3693l)
+			.withInitialValue(-1l)
+			.withReflectInput()
+			.withReflectOutput()
+			.withXorOutputValue(-1l)
+	};
+
+
+	@Test
+	void checkValues(){
+		final byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+		Assertions.assertEquals(0x75l, CRCHelper.calculateCRC(CRCParameters.CRC7, data));
+		Assertions.assertEquals(0xF4l, CRCHelper.calculateCRC(CRCParameters.CRC8_CCITT, data));
+		Assertions.assertEquals(0xA1l, CRCHelper.calculateCRC(CRCParameters.CRC8_DALLAS_MAXIM, data));
+		Assertions.assertEquals(0x31C3l, CRCHelper.calculateCRC(CRCParameters.CRC16_CCITT_XMODEM, data));
+		Assertions.assertEquals(0x29B1l, CRCHelper.calculateCRC(CRCParameters.CRC16_CCITT_FALSE, data));
+		Assertions.assertEquals(0xBB3Dl, CRCHelper.calculateCRC(CRCParameters.CRC16, data));
+		Assertions.assertEquals(0xCBF4_3926l, CRCHelper.calculateCRC(CRCParameters.CRC32, data));
+		Assertions.assertEquals(0xE306_9283l, CRCHelper.calculateCRC(PARAMETERS[7], data));
+		Assertions.assertEquals(0x995D_C9BB_DF19_39FAl, CRCHelper.calculateCRC(PARAMETERS[10], data));
+	}
+
+	@Test
+	void intrinsics(){
+		Assertions.assertInstanceOf(java.util.zip.CRC32.class, CRCEngine.create(CRCParameters.CRC32));
+		Assertions.assertInstanceOf(java.util.zip.CRC32C.class, CRCEngine.create(PARAMETERS[7]));
+		Assertions.assertInstanceOf(CRCEngine.class, CRCEngine.create(CRCParameters.CRC16));
+	}
+
+	@Test
+	void sameAsBitwise(){
+		final Random random = new Random(42);
+		final byte[] data = new byte[1031];
+		random.nextBytes(data);
+
+		for(final CRCParameters parameters : PARAMETERS)
+			for(final int length : new int[]{0, 1, 7, 8, 9, 63, 64, 1028}){
+				final long expected = calculateBitwise(parameters, data, 3, 3 + length);
+				final long actual = CRCHelper.calculateCRC(parameters, data, 3, 3 + length)
+					.longValue();
+
+				Assertions.assertEquals(expected, actual, "width " + parameters.width + ", length " + length);
+			}
+	}
+
+	@Test
+	void incremental(){
+		final Random random = new Random(42);
+		final byte[] data = new byte[517];
+		random.nextBytes(data);
+
+		for(final CRCParameters parameters : PARAMETERS){
+			final Checksum engine = CRCEngine.create(parameters);
+			engine.update(data, 0, 13);
+			engine.update(data[13]);
+			engine.update(data, 14, data.length - 14);
+			final long expected = calculateBitwise(parameters, data, 0, data.length);
+
+			Assertions.assertEquals(expected, engine.getValue(), "width " + parameters.width);
+
+			engine.reset();
+			engine.update(data, 0, data.length);
+
+			Assertions.assertEquals(expected, engine.getValue(), "width " + parameters.width);
+		}
+	}
+
+
+	/** Reference, bit-at-a-time, implementation. */
+	private static long calculateBitwise(final CRCParameters parameters, final byte[] data, final int start, final int end){
+		final int width = parameters.width;
+		final int bitOffsetToByteSize = Math.max(Byte.SIZE - width, 0);
+		final int bitsToShift = Math.max(width - Byte.SIZE, 0);
+		final long highBitMask = (1l << (width - 1)) << bitOffsetToByteSize;
+		final long crcMask = (highBitMask << 1) - 1;
+		final long polynomial = (parameters.polynomial << bitOffsetToByteSize);
+
+		long crc = ((parameters.initialValue << bitOffsetToByteSize) & crcMask);
+		for(int i = start; i < end; i ++){
+			final long datum = (parameters.reflectInput? CRCEngine.reflect(data[i] & 0xFF, Byte.SIZE): data[i] & 0xFF);
+
+			crc ^= (datum << bitsToShift);
+			for(int j = 0; j < Byte.SIZE; j ++){
+				final boolean highBit = ((crc & highBitMask) != 0);
+				crc <<= 1;
+				if(highBit)
+					crc ^= polynomial;
+			}
+			crc &= crcMask;
+		}
+
+		crc >>>= bitOffsetToByteSize;
+		if(parameters.reflectOutput)
+			crc = CRCEngine.reflect(crc, width);
+		crc ^= parameters.xorOutputValue;
+		return crc & (crcMask >>> bitOffsetToByteSize);
+	}
+
+}
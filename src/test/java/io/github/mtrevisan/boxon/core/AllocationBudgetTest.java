@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.core;
+
+import com.sun.management.ThreadMXBean;
+import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageASCII;
+import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageHex;
+import io.github.mtrevisan.boxon.core.codecs.queclink.DeviceTypes;
+import io.github.mtrevisan.boxon.core.codecs.teltonika.MessageHex;
+import io.github.mtrevisan.boxon.helpers.StringHelper;
+import io.github.mtrevisan.boxon.utils.TestHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+
+
+/**
+ * Checks that decoding a fixed corpus of messages does not allocate more than the recorded budget.
+ * <p>
+ * The budgets (bytes allocated per decoded message, for each template) are in {@value #BUDGETS_FILE}; to update them deliberately, run
+ * this test with {@code -Dboxon.allocationBudget.update=true}.
+ * </p>
+ */
+class AllocationBudgetTest{
+
+	private static final Path BUDGETS_FILE = Path.of("src/test/resources/allocation-budgets.properties");
+	private static final String UPDATE_PROPERTY = "boxon.allocationBudget.update";
+	/** Allowed slack over the budget, to absorb the noise of the JIT. */
+	private static final double TOLERANCE = 0.15;
+
+	private static final int WARMUP_ROUNDS = 5_000;
+	private static final int MEASURE_ROUNDS = 2_000;
+	/** The lowest figure among the batches is kept, so that a recompilation happening while measuring does not count. */
+	private static final int MEASURE_BATCHES = 5;
+
+
+	@Test
+	void decodeWithinBudget() throws Exception{
+		final ThreadMXBean threadBean = (ManagementFactory.getThreadMXBean() instanceof final ThreadMXBean tb? tb: null);
+		Assumptions.assumeTrue(threadBean != null && threadBean.isThreadAllocatedMemorySupported(),
+			"Thread allocated memory is not supported by this JVM");
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		final TreeMap<String, Long> measured = new TreeMap<>();
+		measured.put(ACKMessageHex.class.getSimpleName(), measure(threadBean, createParser(ACKMessageHex.class, (byte)0x46,
+			"QUECLINK_GB200S"), StringHelper.hexToByteArray("2b41434b066f2446010a0311235e40035110420600ffff07e30405083639001265b60d0a")));
+		measured.put(ACKMessageASCII.class.getSimpleName(), measure(threadBean, createParser(ACKMessageASCII.class, (byte)0xCF,
+			"QUECLINK_GV350M"), TestHelper.toByteArray("+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$")));
+		measured.put(MessageHex.class.getSimpleName(), measure(threadBean, createParser(MessageHex.class, (byte)0, null),
+			StringHelper.hexToByteArray("000000000000003608010000016B40D8EA30010000000000000000000000000000000105021503010101425E0F01F10000601A014E0000000000000000010000C7CF")));
+
+		if(Boolean.getBoolean(UPDATE_PROPERTY)){
+			storeBudgets(measured);
+			return;
+		}
+
+		final Properties budgets = loadBudgets();
+		final StringBuilder failures = new StringBuilder();
+		for(final var entry : measured.entrySet()){
+			final String budget = budgets.getProperty(entry.getKey());
+			Assertions.assertNotNull(budget, "Missing allocation budget for " + entry.getKey() + ", run with -D" + UPDATE_PROPERTY + "=true");
+
+			final long allowed = (long)(Long.parseLong(budget) * (1. + TOLERANCE));
+			if(entry.getValue() > allowed)
+				failures.append(String.format("%n%s allocates %d B/message, budget is %s B/message", entry.getKey(), entry.getValue(), budget));
+		}
+		if(!failures.isEmpty())
+			Assertions.fail("Allocation budget exceeded (if intended, run with -D" + UPDATE_PROPERTY + "=true):" + failures);
+	}
+
+	private static Parser createParser(final Class<?> templateClass, final byte deviceTypeCode, final String deviceTypeName)
+			throws Exception{
+		final CoreBuilder builder = CoreBuilder.builder();
+		if(deviceTypeName != null)
+			builder.withContext("deviceTypes", DeviceTypes.<Byte>create()
+					.with(deviceTypeCode, deviceTypeName))
+				.withContext(AllocationBudgetTest.class, "headerLength");
+		final Core core = builder.withDefaultCodecs()
+			.withTemplate(templateClass)
+			.build();
+		return Parser.create(core);
+	}
+
+	//the length of the header read through `#headerLength()` by the Queclink templates
+	private static int headerLength(){
+		return 4;
+	}
+
+	private static long measure(final ThreadMXBean threadBean, final Parser parser, final byte[] payload){
+		for(int i = 0; i < WARMUP_ROUNDS; i ++)
+			assertDecoded(parser.parse(payload));
+
+		final long threadId = Thread.currentThread().threadId();
+		long minimum = Long.MAX_VALUE;
+		for(int batch = 0; batch < MEASURE_BATCHES; batch ++){
+			final long start = threadBean.getThreadAllocatedBytes(threadId);
+			for(int i = 0; i < MEASURE_ROUNDS; i ++)
+				parser.parse(payload);
+			final long allocated = threadBean.getThreadAllocatedBytes(threadId) - start;
+			minimum = Math.min(minimum, allocated / MEASURE_ROUNDS);
+		}
+		return minimum;
+	}
+
+	private static void assertDecoded(final List<Response<byte[], Object>> result){
+		if(result.size() != 1 || result.getFirst().hasError())
+			Assertions.fail("Cannot decode the corpus message: " + result);
+	}
+
+	private static Properties loadBudgets() throws IOException{
+		final Properties budgets = new Properties();
+		try(final Reader reader = Files.newBufferedReader(BUDGETS_FILE, StandardCharsets.UTF_8)){
+			budgets.load(reader);
+		}
+		return budgets;
+	}
+
+	private static void storeBudgets(final TreeMap<String, Long> measured) throws IOException{
+		try(final Writer writer = Files.newBufferedWriter(BUDGETS_FILE, StandardCharsets.UTF_8)){
+			writer.write("# Bytes allocated per decoded message, for each template (see AllocationBudgetTest).\n");
+			writer.write("# Regenerate with `mvn test-compile surefire:test@allocation-budget -Dboxon.allocationBudget.update=true`.\n");
+			for(final var entry : measured.entrySet())
+				writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+		}
+	}
+
+}
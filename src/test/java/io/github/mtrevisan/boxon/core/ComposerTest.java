@@ -24,6 +24,11 @@
  */
 package io.github.mtrevisan.boxon.core;
 
+import io.github.mtrevisan.boxon.annotations.Checksum;
+import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+import io.github.mtrevisan.boxon.annotations.bindings.BindInteger;
+import io.github.mtrevisan.boxon.annotations.bindings.BindString;
+import io.github.mtrevisan.boxon.annotations.checksummers.CRC16CCITT_FALSE;
 import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageASCII;
 import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageHex;
 import io.github.mtrevisan.boxon.core.codecs.queclink.DeviceTypes;
@@ -32,6 +37,10 @@ import io.github.mtrevisan.boxon.utils.TestHelper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +48,78 @@ import java.util.Map;
 
 class ComposerTest{
 
+	@TemplateHeader(start = "tc", end = "\r\n")
+	static class ChecksumMessage{
+		@BindString(size = "2")
+		String header = "tc";
+		@BindInteger(size = "16")
+		short value = 0x1234;
+		@Checksum(skipStart = 2, skipEnd = 4, algorithm = CRC16CCITT_FALSE.class, checksumSize = 16)
+		short checksum;
+	}
+
+	@TemplateHeader(start = "tu", end = "\r\n")
+	static class ConditionalChecksumMessage{
+		@BindString(size = "2")
+		String header = "tu";
+		@BindInteger(size = "16")
+		short value = 0x1234;
+		@Checksum(condition = "value == 0", skipStart = 2, skipEnd = 4, algorithm = CRC16CCITT_FALSE.class, checksumSize = 16)
+		short checksum = 0x0102;
+	}
+
+
+	@Test
+	void composeWithChecksum() throws Exception{
+		Core core = CoreBuilder.builder()
+			.withDefaultCodecs()
+			.withTemplate(ChecksumMessage.class)
+			.build();
+		Composer composer = Composer.create(core);
+
+		Response<ChecksumMessage, byte[]> composeResult = composer.compose(new ChecksumMessage());
+
+		if(composeResult.hasError())
+			Assertions.fail(composeResult.getError());
+		Assertions.assertEquals("746312340EC90D0A",
+			StringHelper.toHexString(composeResult.getMessage()));
+
+		//parse back (verifies the checksum):
+		Parser parser = Parser.create(core);
+		List<Response<byte[], Object>> result = parser.parse(composeResult.getMessage());
+
+		Assertions.assertEquals(1, result.size());
+		if(result.getFirst().hasError())
+			Assertions.fail(result.getFirst().getError());
+	}
+
+	@Test
+	void composeWithUnmetChecksumCondition() throws Exception{
+		Core core = CoreBuilder.builder()
+			.withDefaultCodecs()
+			.withTemplate(ConditionalChecksumMessage.class)
+			.build();
+		Composer composer = Composer.create(core);
+
+		Response<ConditionalChecksumMessage, byte[]> composeResult = composer.compose(new ConditionalChecksumMessage());
+
+		//the checksum is neither calculated nor written
+		if(composeResult.hasError())
+			Assertions.fail(composeResult.getError());
+		Assertions.assertEquals("747512340D0A",
+			StringHelper.toHexString(composeResult.getMessage()));
+
+		//parse back (the checksum is neither read nor verified):
+		Parser parser = Parser.create(core);
+		List<Response<byte[], Object>> result = parser.parse(composeResult.getMessage());
+
+		Assertions.assertEquals(1, result.size());
+		if(result.getFirst().hasError())
+			Assertions.fail(result.getFirst().getError());
+		ConditionalChecksumMessage message = (ConditionalChecksumMessage)result.getFirst().getMessage();
+		Assertions.assertEquals(0x1234, message.value);
+	}
+
 	@Test
 	void parseAndComposeSingleMessageHex() throws Exception{
 		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
@@ -103,4 +184,98 @@ class ComposerTest{
 		Assertions.assertArrayEquals(payload, composeResult.getMessage());
 	}
 
+	@Test
+	void composeIntoTargets() throws Exception{
+		Core core = CoreBuilder.builder()
+			.withDefaultCodecs()
+			.withTemplate(ChecksumMessage.class)
+			.build();
+		Composer composer = Composer.create(core);
+		byte[] expected = StringHelper.hexToByteArray("746312340EC90D0A");
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(16)
+			.position(3);
+		Response<ChecksumMessage, ByteBuffer> bufferResult = composer.compose(new ChecksumMessage(), buffer);
+		if(bufferResult.hasError())
+			Assertions.fail(bufferResult.getError());
+		Assertions.assertEquals(3 + expected.length, buffer.position());
+		Assertions.assertEquals(ByteBuffer.wrap(expected), bufferResult.getMessage());
+
+		//a heap buffer is written straight into its array
+		ByteBuffer heapBuffer = ByteBuffer.allocate(16)
+			.position(3);
+		Response<ChecksumMessage, ByteBuffer> heapBufferResult = composer.compose(new ChecksumMessage(), heapBuffer);
+		if(heapBufferResult.hasError())
+			Assertions.fail(heapBufferResult.getError());
+		Assertions.assertEquals(3 + expected.length, heapBuffer.position());
+		Assertions.assertEquals(ByteBuffer.wrap(expected), heapBufferResult.getMessage());
+		Assertions.assertSame(heapBuffer.array(), heapBufferResult.getMessage().array());
+
+		ByteBuffer smallBuffer = ByteBuffer.allocate(4);
+		Response<ChecksumMessage, ByteBuffer> smallBufferResult = composer.compose(new ChecksumMessage(), smallBuffer);
+		Assertions.assertTrue(smallBufferResult.hasError());
+		Assertions.assertEquals(0, smallBuffer.position());
+
+		ByteBuffer smallDirectBuffer = ByteBuffer.allocateDirect(4);
+		Response<ChecksumMessage, ByteBuffer> smallDirectBufferResult = composer.compose(new ChecksumMessage(), smallDirectBuffer);
+		Assertions.assertTrue(smallDirectBufferResult.hasError());
+		Assertions.assertEquals(0, smallDirectBuffer.position());
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		Response<ChecksumMessage, Integer> streamResult = composer.compose(new ChecksumMessage(), os);
+		if(streamResult.hasError())
+			Assertions.fail(streamResult.getError());
+		Assertions.assertEquals(expected.length, streamResult.getMessage());
+		Assertions.assertArrayEquals(expected, os.toByteArray());
+
+		os.reset();
+		Response<ChecksumMessage, Integer> channelResult = composer.compose(new ChecksumMessage(), Channels.newChannel(os));
+		if(channelResult.hasError())
+			Assertions.fail(channelResult.getError());
+		Assertions.assertEquals(expected.length, channelResult.getMessage());
+		Assertions.assertArrayEquals(expected, os.toByteArray());
+
+		Pipe pipe = Pipe.open();
+		try(Pipe.SinkChannel sink = pipe.sink(); Pipe.SourceChannel source = pipe.source()){
+			sink.configureBlocking(false);
+			Assertions.assertThrows(IllegalArgumentException.class, () -> composer.compose(new ChecksumMessage(), sink));
+		}
+	}
+
+	@Test
+	void composeAll() throws Exception{
+		Core core = CoreBuilder.builder()
+			.withDefaultCodecs()
+			.withTemplate(ChecksumMessage.class)
+			.build();
+		Composer composer = Composer.create(core);
+		byte[] expected = StringHelper.hexToByteArray("746312340EC90D0A");
+
+		BatchResponse batch = composer.composeAll(List.of(new ChecksumMessage(), "not a template", new ChecksumMessage()));
+
+		Assertions.assertEquals(3, batch.size());
+		Assertions.assertTrue(batch.hasErrors());
+		Assertions.assertNull(batch.getError(0));
+		Assertions.assertNotNull(batch.getError(1));
+		Assertions.assertNull(batch.getMessage(1));
+		Assertions.assertEquals(expected.length, batch.getStart(1));
+		Assertions.assertEquals(batch.getStart(1), batch.getEnd(1));
+		Assertions.assertEquals(ByteBuffer.wrap(expected), batch.getMessage(2));
+		Assertions.assertEquals(2, batch.getMessages().length);
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		Assertions.assertEquals(2 * expected.length, batch.writeTo(Channels.newChannel(os)));
+		Assertions.assertArrayEquals(addAll(expected, expected), os.toByteArray());
+
+		//the buffer of the next message is sized on the last message of the batch, not on the whole batch
+		Assertions.assertEquals(expected.length, composer.getSizeHint());
+	}
+
+	private static byte[] addAll(final byte[] array1, final byte[] array2){
+		final byte[] joinedArray = new byte[array1.length + array2.length];
+		System.arraycopy(array1, 0, joinedArray, 0, array1.length);
+		System.arraycopy(array2, 0, joinedArray, array1.length, array2.length);
+		return joinedArray;
+	}
+
 }
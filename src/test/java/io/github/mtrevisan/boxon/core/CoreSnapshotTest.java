@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.core;
+
+import io.github.mtrevisan.boxon.annotations.validators.IMEIValidator;
+import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMaskHex;
+import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageHex;
+import io.github.mtrevisan.boxon.core.codecs.queclink.DeviceTypes;
+import io.github.mtrevisan.boxon.core.codecs.queclink.REGConfigurationASCII;
+import io.github.mtrevisan.boxon.helpers.StringHelper;
+import io.github.mtrevisan.boxon.io.Evaluator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InvalidClassException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+class CoreSnapshotTest{
+
+	private static final byte[] PAYLOAD = StringHelper.hexToByteArray("2b41434b066f2446010a0311235e40035110420600ffff07e30405083639001265b60d0a");
+
+
+	@Test
+	void restore(@TempDir final Path folder) throws Exception{
+		Core core = createBuilder(CoreBuilder.builder())
+			.withTemplate(ACKMessageHex.class)
+			.withConfiguration(REGConfigurationASCII.class)
+			.build();
+		Parser.create(core)
+			.parse(PAYLOAD);
+		Path snapshot = folder.resolve("core.snapshot");
+		core.writeSnapshot(snapshot);
+		List<String> expressions = List.copyOf(Evaluator.getParsedExpressions());
+
+		Evaluator.initialize(0);
+		Core restored = createBuilder(CoreBuilder.fromSnapshot(snapshot))
+			.build();
+
+		Assertions.assertTrue(Evaluator.getParsedExpressions().containsAll(expressions));
+		Assertions.assertEquals(1, restored.getTemplateParser().getTemplates().size());
+		Assertions.assertEquals(1, restored.getConfigurationParser().getConfigurations().size());
+		List<Response<byte[], Object>> result = Parser.create(restored)
+			.parse(PAYLOAD);
+		Assertions.assertEquals(1, result.size());
+		Assertions.assertFalse(result.getFirst().hasError());
+		Response<ACKMessageHex, byte[]> composeResult = Composer.create(restored)
+			.compose((ACKMessageHex)result.getFirst().getMessage());
+		Assertions.assertFalse(composeResult.hasError());
+		Assertions.assertArrayEquals(PAYLOAD, composeResult.getMessage());
+	}
+
+	@Test
+	void boundedParsedExpressions(){
+		Evaluator.initialize(2);
+		try{
+			Evaluator.prepare("1 + 1");
+			Evaluator.prepare("2 + 2");
+			Evaluator.prepare("3 + 3");
+
+			//as many as the cache can hold
+			Assertions.assertEquals(Set.of("2 + 2", "3 + 3"), Evaluator.getParsedExpressions());
+		}
+		finally{
+			Evaluator.initialize(0);
+		}
+	}
+
+	@Test
+	void changedClass(@TempDir final Path folder) throws Exception{
+		Core core = createBuilder(CoreBuilder.builder())
+			.withTemplate(ACKMessageHex.class)
+			.build();
+		Path snapshot = folder.resolve("core.snapshot");
+		core.writeSnapshot(snapshot);
+
+		//alter the fingerprint of the only template
+		byte[] data = Files.readAllBytes(snapshot);
+		int fingerprintIndex = Integer.BYTES + Short.BYTES + Short.BYTES + versionLength() + Integer.BYTES + Short.BYTES
+			+ ACKMessageHex.class.getName().getBytes(StandardCharsets.UTF_8).length;
+		data[fingerprintIndex + Long.BYTES - 1] ^= 0x01;
+		Files.write(snapshot, data);
+
+		Assertions.assertThrows(InvalidClassException.class, () -> CoreBuilder.fromSnapshot(snapshot));
+	}
+
+	@Test
+	void differentLibraryVersion(@TempDir final Path folder) throws Exception{
+		Core core = createBuilder(CoreBuilder.builder())
+			.withTemplate(ACKMessageHex.class)
+			.build();
+		Path snapshot = folder.resolve("core.snapshot");
+		core.writeSnapshot(snapshot);
+
+		//alter the last character of the version of the library
+		Assertions.assertTrue(versionLength() > 0);
+		byte[] data = Files.readAllBytes(snapshot);
+		data[Integer.BYTES + Short.BYTES + Short.BYTES + versionLength() - 1] ^= 0x01;
+		Files.write(snapshot, data);
+
+		Assertions.assertThrows(StreamCorruptedException.class, () -> CoreBuilder.fromSnapshot(snapshot));
+	}
+
+	@Test
+	void referencedTypes(){
+		List<String> types = CoreSnapshot.referencedTypes(ACKMessageHex.class)
+			.stream()
+			.map(Class::getName)
+			.toList();
+
+		//the converters, validators, and nested types are fingerprinted along with the template
+		Assertions.assertTrue(types.contains(ACKMessageHex.class.getName()));
+		Assertions.assertTrue(types.contains("io.github.mtrevisan.boxon.core.codecs.queclink.QueclinkHelper$VersionConverter"));
+		Assertions.assertTrue(types.contains(IMEIValidator.class.getName()));
+		Assertions.assertTrue(types.contains(ACKMaskHex.class.getName()));
+		Assertions.assertFalse(types.contains(String.class.getName()));
+	}
+
+	@Test
+	void notASnapshot(@TempDir final Path folder) throws Exception{
+		Path snapshot = folder.resolve("core.snapshot");
+		Files.write(snapshot, PAYLOAD);
+
+		Assertions.assertThrows(StreamCorruptedException.class, () -> CoreBuilder.fromSnapshot(snapshot));
+	}
+
+
+	private static CoreBuilder createBuilder(CoreBuilder builder) throws NoSuchMethodException{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0x46, "QUECLINK_GB200S");
+		return builder
+			.withContext(Map.of("deviceTypes", deviceTypes))
+			.withContext(CoreSnapshotTest.class.getDeclaredMethod("headerLength"))
+			.withDefaultCodecs();
+	}
+
+	private static int versionLength(){
+		return CoreSnapshot.libraryVersion()
+			.getBytes(StandardCharsets.UTF_8).length;
+	}
+
+	private static int headerLength(){
+		return 4;
+	}
+
+}
@@ -31,15 +31,28 @@ import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageASCII;
 import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageHex;
 import io.github.mtrevisan.boxon.core.codecs.queclink.DeviceTypes;
 import io.github.mtrevisan.boxon.core.codecs.teltonika.MessageHex;
+import io.github.mtrevisan.boxon.exceptions.DecodeException;
+import io.github.mtrevisan.boxon.exceptions.TemplateException;
 import io.github.mtrevisan.boxon.helpers.StringHelper;
 import io.github.mtrevisan.boxon.utils.TestHelper;
 import io.github.mtrevisan.boxon.utils.TimeWatch;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 
 class ParserTest{
@@ -227,6 +240,319 @@ class ParserTest{
 			Assertions.fail(result.get(0).getError());
 		if(result.get(1).hasError())
 			Assertions.fail(result.get(1).getError());
+		Assertions.assertEquals(0, result.get(0).getSourceStart());
+		Assertions.assertEquals(payload2.length, result.get(0).getSourceEnd());
+		Assertions.assertArrayEquals(payload2, result.get(0).getSource());
+		Assertions.assertArrayEquals(payload2, result.get(0).copySource());
+		Assertions.assertEquals(payload2.length, result.get(1).getSourceStart());
+		Assertions.assertEquals(payload.length, result.get(1).getSourceEnd());
+		Assertions.assertArrayEquals(payload1, result.get(1).copySource());
+		ByteBuffer frame = result.get(1).getSourceBuffer();
+		Assertions.assertTrue(frame.isReadOnly());
+		Assertions.assertEquals(ByteBuffer.wrap(payload1), frame);
+	}
+
+	@Test
+	void parseWithSharedSources() throws Exception{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0x46, "QUECLINK_GB200S")
+			.with((byte)0xCF, "QUECLINK_GV350M");
+		Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", deviceTypes)
+			.withContext(ParserTest.class.getDeclaredMethod("headerLength"))
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageHex.class)
+			.withTemplate(ACKMessageASCII.class)
+			.build();
+		Parser parser = Parser.create(core)
+			.withSharedSources();
+
+		byte[] payload1 = StringHelper.hexToByteArray("2b41434b066f2446010a0311235e40035110420600ffff07e30405083639001265b60d0a");
+		byte[] payload2 = TestHelper.toByteArray("+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$");
+		byte[] payload = addAll(payload2, payload1);
+		List<Response<byte[], Object>> result = parser.parse(payload);
+
+		Assertions.assertEquals(2, result.size());
+		Assertions.assertSame(payload, result.get(0).getSource());
+		Assertions.assertSame(payload, result.get(1).getSource());
+		Assertions.assertEquals(payload2.length, result.get(1).getSourceStart());
+		Assertions.assertArrayEquals(payload1, result.get(1).copySource());
+		ByteBuffer frame = result.get(1).getSourceBuffer();
+		Assertions.assertTrue(frame.isReadOnly());
+		Assertions.assertEquals(ByteBuffer.wrap(payload1), frame);
+	}
+
+	@Test
+	void parseWithConsumer() throws Exception{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0xCF, "QUECLINK_GV350M");
+		Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", deviceTypes)
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageASCII.class)
+			.build();
+		Parser parser = Parser.create(core);
+
+		byte[] payload = TestHelper.toByteArray("+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$+ACK:GTIOB,CF8002,359464038116666,40.5,2,0020,,,20170101123542,11F0$");
+		List<Response<byte[], Object>> result = new ArrayList<>();
+		parser.parse(payload, result::add);
+
+		Assertions.assertEquals(parser.parse(payload).size(), result.size());
+		Assertions.assertEquals(2, result.size());
+		Assertions.assertFalse(result.get(0).hasError());
+		Assertions.assertFalse(result.get(1).hasError());
+	}
+
+	@Test
+	void parseWithVisitorStoppingEarly() throws Exception{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0xCF, "QUECLINK_GV350M");
+		Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", deviceTypes)
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageASCII.class)
+			.build();
+		Parser parser = Parser.create(core);
+
+		byte[] payload = TestHelper.toByteArray("+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$+ACK:GTIOB,CF8002,359464038116666,40.5,2,0020,,,20170101123542,11F0$");
+		AtomicInteger messages = new AtomicInteger();
+		parser.parse(payload, new ParserVisitor(){
+			@Override
+			public boolean onMessage(final Response<byte[], Object> response){
+				messages.incrementAndGet();
+				return false;
+			}
+
+			@Override
+			public boolean onError(final Response<byte[], Object> response){
+				Assertions.fail(response.getError());
+				return false;
+			}
+		});
+
+		Assertions.assertEquals(1, messages.get());
+	}
+
+	@Test
+	void parseWithVisitorResync() throws Exception{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0xCF, "QUECLINK_GV350M");
+		Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", deviceTypes)
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageASCII.class)
+			.build();
+		Parser parser = Parser.create(core);
+
+		byte[] payload = TestHelper.toByteArray("+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,2017010112+ACK:GTIOB,CF8002,359464038116666,40.5,2,0020,,,20170101123542,11F0$");
+		List<String> events = new ArrayList<>();
+		parser.parse(payload, new ParserVisitor(){
+			@Override
+			public boolean onMessage(final Response<byte[], Object> response){
+				events.add("message@" + response.getSourceStart());
+				return true;
+			}
+
+			@Override
+			public boolean onError(final Response<byte[], Object> response){
+				events.add("error@" + response.getSourceStart());
+				return true;
+			}
+
+			@Override
+			public boolean onResync(final long fromPosition, final long toPosition){
+				events.add("resync@" + fromPosition + "-" + toPosition);
+				return true;
+			}
+		});
+
+		Assertions.assertEquals(List.of("error@0", "resync@0-58", "message@58"), events);
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void decodeExceptionIndexSaturates(){
+		DecodeException error = DecodeException.create(Integer.MAX_VALUE + 10l, null);
+
+		Assertions.assertEquals(Integer.MAX_VALUE + 10l, error.getErrorPosition());
+		Assertions.assertEquals(Integer.MAX_VALUE, error.getErrorIndex());
+		Assertions.assertEquals(12, DecodeException.create(12, null).getErrorIndex());
+	}
+
+	@Test
+	void parseWithoutTemplate() throws Exception{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0xCF, "QUECLINK_GV350M");
+		Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", deviceTypes)
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageASCII.class)
+			.build();
+		Parser parser = Parser.create(core);
+
+		byte[] payload = TestHelper.toByteArray("garbage+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$");
+		List<Response<byte[], Object>> result = parser.parse(payload);
+
+		Assertions.assertEquals(2, result.size());
+		Assertions.assertTrue(result.get(0).hasError());
+		Assertions.assertFalse(result.get(1).hasError());
+		Exception error = result.get(0).getError();
+		Assertions.assertInstanceOf(DecodeException.class, error);
+		Assertions.assertEquals(0l, ((DecodeException)error).getErrorPosition());
+		Assertions.assertInstanceOf(TemplateException.class, error.getCause());
+		Assertions.assertEquals(0, error.getStackTrace().length);
+		Assertions.assertEquals(0, error.getCause().getStackTrace().length);
+		Assertions.assertEquals("Cannot find any template for given raw message" + System.lineSeparator() + "   at index 0",
+			error.getMessage());
+		Assertions.assertEquals(7, result.get(0).getSourceEnd());
+	}
+
+	@Test
+	void parseFileInWindows(@TempDir final Path folder) throws Exception{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0xCF, "QUECLINK_GV350M");
+		Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", deviceTypes)
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageASCII.class)
+			.build();
+		Parser parser = Parser.create(core)
+			.withFileWindowSize(100);
+
+		StringBuilder content = new StringBuilder();
+		for(int i = 0; i < 20; i ++){
+			content.append("+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$");
+			if(i % 7 == 3)
+				content.append("garbage");
+		}
+		byte[] payload = TestHelper.toByteArray(content.toString());
+		File file = Files.write(folder.resolve("capture.bin"), payload)
+			.toFile();
+
+		List<Response<byte[], Object>> expected = parser.parse(payload);
+		List<Response<byte[], Object>> result = parser.parse(file);
+
+		Assertions.assertEquals(23, expected.size());
+		Assertions.assertEquals(expected.size(), result.size());
+		for(int i = 0; i < expected.size(); i ++){
+			Response<byte[], Object> expectedResponse = expected.get(i);
+			Response<byte[], Object> response = result.get(i);
+			Assertions.assertEquals(expectedResponse.hasError(), response.hasError());
+			Assertions.assertEquals(expectedResponse.getSourceStart(), response.getSourceStart());
+			Assertions.assertEquals(expectedResponse.getSourceEnd(), response.getSourceEnd());
+			Assertions.assertArrayEquals(expectedResponse.copySource(), response.copySource());
+		}
+	}
+
+	@Test
+	void parseFileWithMessageStraddlingWindow(@TempDir final Path folder) throws Exception{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0xCF, "QUECLINK_GV350M");
+		Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", deviceTypes)
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageASCII.class)
+			.build();
+		String message1 = "+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$";
+		//the payload of the second message contains a header
+		String message2 = "+ACK:GTIOB,CF8002,359464038116666,45.5,+BCK:2,0020,,,20170101123542,11F0$";
+		//the first window ends right after the header within the second message
+		int windowSize = message1.length() + message2.indexOf("+BCK:") + 6;
+		Parser parser = Parser.create(core)
+			.withFileWindowSize(windowSize);
+
+		byte[] payload = TestHelper.toByteArray(message1 + message2);
+		File file = Files.write(folder.resolve("capture.bin"), payload)
+			.toFile();
+
+		List<Response<byte[], Object>> result = parser.parse(file);
+
+		Assertions.assertEquals(2, result.size());
+		if(result.get(0).hasError())
+			Assertions.fail(result.get(0).getError());
+		if(result.get(1).hasError())
+			Assertions.fail(result.get(1).getError());
+		Assertions.assertEquals(message1.length(), result.get(1).getSourceStart());
+		Assertions.assertEquals(payload.length, result.get(1).getSourceEnd());
+	}
+
+	@Test
+	void parallelStreamFile(@TempDir final Path folder) throws Exception{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0xCF, "QUECLINK_GV350M");
+		Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", deviceTypes)
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageASCII.class)
+			.build();
+		Parser parser = Parser.create(core)
+			.withFileWindowSize(200);
+
+		StringBuilder content = new StringBuilder();
+		for(int i = 0; i < 500; i ++){
+			content.append("+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$");
+			if(i % 3 == 1)
+				content.append("garbage");
+		}
+		byte[] payload = TestHelper.toByteArray(content.toString());
+		Path file = Files.write(folder.resolve("capture.bin"), payload);
+
+		List<Response<byte[], Object>> expected = parser.parse(payload);
+		List<Response<byte[], Object>> result;
+		try(Stream<Response<byte[], Object>> stream = parser.stream(file)){
+			result = stream.parallel()
+				.toList();
+		}
+
+		Assertions.assertEquals(668, expected.size());
+		Assertions.assertEquals(expected.size(), result.size());
+		for(int i = 0; i < expected.size(); i ++){
+			Response<byte[], Object> expectedResponse = expected.get(i);
+			Response<byte[], Object> response = result.get(i);
+			Assertions.assertEquals(expectedResponse.hasError(), response.hasError());
+			Assertions.assertEquals(expectedResponse.getSourceStart(), response.getSourceStart());
+			Assertions.assertEquals(expectedResponse.getSourceEnd(), response.getSourceEnd());
+		}
+
+		try(Stream<Response<byte[], Object>> stream = parser.stream(file)){
+			Spliterator<Response<byte[], Object>> suffix = stream.spliterator();
+			Spliterator<Response<byte[], Object>> prefix = suffix.trySplit();
+			Assertions.assertNotNull(prefix);
+
+			List<Response<byte[], Object>> prefixResult = new ArrayList<>();
+			prefix.forEachRemaining(prefixResult::add);
+			Assertions.assertEquals(expected.get(prefixResult.size()).getSourceStart(), prefixResult.getLast().getSourceEnd());
+			suffix.forEachRemaining(prefixResult::add);
+			Assertions.assertEquals(expected.size(), prefixResult.size());
+		}
+	}
+
+	@Test
+	void findNextMessageStartGrowingProbe(@TempDir final Path folder) throws Exception{
+		DeviceTypes<Byte> deviceTypes = DeviceTypes.<Byte>create()
+			.with((byte)0xCF, "QUECLINK_GV350M");
+		Core core = CoreBuilder.builder()
+			.withContext("deviceTypes", deviceTypes)
+			.withDefaultCodecs()
+			.withTemplate(ACKMessageASCII.class)
+			.build();
+		Parser parser = Parser.create(core)
+			.withFileWindowSize(1_000);
+
+		String message = "+ACK:GTIOB,CF8002,359464038116666,45.5,2,0020,,,20170101123542,11F0$";
+		byte[] payload = TestHelper.toByteArray(message + "x".repeat(100) + message);
+		Path file = Files.write(folder.resolve("capture.bin"), payload);
+
+		ByteBuffer probe = ByteBuffer.allocate(16);
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+			//the header is past the first probes
+			Assertions.assertEquals(message.length() + 100, parser.findNextMessageStart(channel, 1l, payload.length, probe));
+			//the header right at the start of the probe
+			Assertions.assertEquals(message.length() + 100, parser.findNextMessageStart(channel, message.length() + 100,
+				payload.length, probe));
+			//no header up to the end
+			Assertions.assertEquals(-1l, parser.findNextMessageStart(channel, message.length() + 101, payload.length, probe));
+		}
 	}
 
 	@Test
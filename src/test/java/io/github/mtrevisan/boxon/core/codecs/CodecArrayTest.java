@@ -33,12 +33,14 @@ import io.github.mtrevisan.boxon.annotations.bindings.ByteOrder;
 import io.github.mtrevisan.boxon.annotations.bindings.ConverterChoices;
 import io.github.mtrevisan.boxon.annotations.bindings.ObjectChoices;
 import io.github.mtrevisan.boxon.annotations.converters.NullConverter;
+import io.github.mtrevisan.boxon.annotations.validators.NullValidator;
 import io.github.mtrevisan.boxon.annotations.validators.Validator;
 import io.github.mtrevisan.boxon.core.Core;
 import io.github.mtrevisan.boxon.core.CoreBuilder;
 import io.github.mtrevisan.boxon.core.Parser;
 import io.github.mtrevisan.boxon.core.Response;
 import io.github.mtrevisan.boxon.core.helpers.BitReader;
+import io.github.mtrevisan.boxon.core.helpers.BitSetHelper;
 import io.github.mtrevisan.boxon.core.helpers.BitWriter;
 import io.github.mtrevisan.boxon.core.helpers.generators.AnnotationCreator;
 import io.github.mtrevisan.boxon.exceptions.BoxonException;
@@ -48,6 +50,7 @@ import io.github.mtrevisan.boxon.io.Codec;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -126,6 +129,164 @@ class CodecArrayTest{
 		}
 	}
 
+	@Test
+	void arrayPrimitiveBytes() throws BoxonException{
+		Codec codec = new CodecDefault();
+		byte[] encodedValue = {0x01, (byte)0xFF, 0x23, 0x45};
+		Map<String, Object> annotationData = Map.of(
+			"annotationType", BindInteger.class.getName(),
+			"size", "8",
+			"byteOrder", ByteOrder.BIG_ENDIAN,
+			"validator", NullValidator.class.getName(),
+			"converter", NullConverter.class.getName(),
+			"selectConverterFrom", Map.of(
+				"annotationType", ConverterChoices.class.getName(),
+				"alternatives", Collections.emptyList()
+			)
+		);
+		BindInteger annotation = AnnotationCreator.createAnnotation(BindInteger.class, annotationData);
+		Map<String, Object> collectionAnnotationData = Map.of(
+			"annotationType", BindAsArray.class.getName(),
+			"size", Integer.toString(encodedValue.length)
+		);
+		BindAsArray collectionAnnotation = AnnotationCreator.createAnnotation(BindAsArray.class, collectionAnnotationData);
+
+		BitWriter writer = BitWriter.create();
+		codec.encode(writer, annotation, collectionAnnotation, null, encodedValue);
+		writer.flush();
+
+		Assertions.assertArrayEquals(encodedValue, writer.array());
+
+		BitReaderInterface reader = BitReader.wrap(writer);
+		Object decoded = codec.decode(reader, annotation, collectionAnnotation, null);
+
+		Assertions.assertArrayEquals(encodedValue, (byte[])decoded);
+	}
+
+	@Test
+	void arrayPrimitiveUnaligned() throws BoxonException{
+		Codec codec = new CodecDefault();
+		int[] encodedValue = {0x0123, 0x0FFF, 0x0001};
+		Map<String, Object> annotationData = Map.of(
+			"annotationType", BindInteger.class.getName(),
+			"size", "12",
+			"byteOrder", ByteOrder.BIG_ENDIAN,
+			"validator", AlwaysPassIntValidator.class.getName(),
+			"converter", NullConverter.class.getName(),
+			"selectConverterFrom", Map.of(
+				"annotationType", ConverterChoices.class.getName(),
+				"alternatives", Collections.emptyList()
+			)
+		);
+		BindInteger annotation = AnnotationCreator.createAnnotation(BindInteger.class, annotationData);
+		Map<String, Object> collectionAnnotationData = Map.of(
+			"annotationType", BindAsArray.class.getName(),
+			"size", Integer.toString(encodedValue.length)
+		);
+		BindAsArray collectionAnnotation = AnnotationCreator.createAnnotation(BindAsArray.class, collectionAnnotationData);
+
+		BitWriter writer = BitWriter.create();
+		codec.encode(writer, annotation, collectionAnnotation, null, encodedValue);
+		writer.flush();
+
+		Assertions.assertArrayEquals(new byte[]{0x12, 0x3F, (byte)0xFF, 0x00, 0x10}, writer.array());
+
+		BitReaderInterface reader = BitReader.wrap(writer);
+		Object decoded = codec.decode(reader, annotation, collectionAnnotation, null);
+
+		Assertions.assertArrayEquals(encodedValue, (int[])decoded);
+	}
+
+	@Test
+	void arrayPrimitiveLittleEndianUnaligned() throws BoxonException{
+		assertLittleEndianRoundTrip(12, new int[]{0x0123, 0x0FFF, 0x0800});
+		assertLittleEndianRoundTrip(24, new int[]{0x12_3456, 0x7F_FFFF, 0x00_0001});
+	}
+
+	private static void assertLittleEndianRoundTrip(final int size, final int[] encodedValue) throws BoxonException{
+		Codec codec = new CodecDefault();
+		Map<String, Object> annotationData = Map.of(
+			"annotationType", BindInteger.class.getName(),
+			"size", Integer.toString(size),
+			"byteOrder", ByteOrder.LITTLE_ENDIAN,
+			"validator", AlwaysPassIntValidator.class.getName(),
+			"converter", NullConverter.class.getName(),
+			"selectConverterFrom", Map.of(
+				"annotationType", ConverterChoices.class.getName(),
+				"alternatives", Collections.emptyList()
+			)
+		);
+		BindInteger annotation = AnnotationCreator.createAnnotation(BindInteger.class, annotationData);
+		Map<String, Object> collectionAnnotationData = Map.of(
+			"annotationType", BindAsArray.class.getName(),
+			"size", Integer.toString(encodedValue.length)
+		);
+		BindAsArray collectionAnnotation = AnnotationCreator.createAnnotation(BindAsArray.class, collectionAnnotationData);
+
+		BitWriter writer = BitWriter.create();
+		codec.encode(writer, annotation, collectionAnnotation, null, encodedValue);
+		writer.flush();
+
+		//the bits must be the ones of the big integer path
+		BitWriter expectedWriter = BitWriter.create();
+		for(int value : encodedValue)
+			expectedWriter.writeBitSet(BitSetHelper.createBitSet(size, BigInteger.valueOf(value), ByteOrder.LITTLE_ENDIAN), size);
+		expectedWriter.flush();
+		Assertions.assertArrayEquals(expectedWriter.array(), writer.array());
+
+		BitReaderInterface reader = BitReader.wrap(writer);
+		Object decoded = codec.decode(reader, annotation, collectionAnnotation, null);
+
+		BitReaderInterface expectedReader = BitReader.wrap(expectedWriter);
+		int[] expectedDecoded = new int[encodedValue.length];
+		for(int i = 0; i < expectedDecoded.length; i ++)
+			expectedDecoded[i] = BitSetHelper.toObjectiveType(expectedReader.readBitSet(size), size, ByteOrder.LITTLE_ENDIAN)
+				.intValue();
+		Assertions.assertArrayEquals(expectedDecoded, (int[])decoded);
+	}
+
+	@Test
+	void arrayPrimitiveWithObjectValidator() throws BoxonException{
+		Codec codec = new CodecDefault();
+		BigInteger[] encodedValue = {BigInteger.valueOf(0x0123), BigInteger.valueOf(0x0456)};
+		Map<String, Object> annotationData = Map.of(
+			"annotationType", BindInteger.class.getName(),
+			"size", "16",
+			"byteOrder", ByteOrder.BIG_ENDIAN,
+			"validator", AlwaysPassObjectValidator.class.getName(),
+			"converter", NullConverter.class.getName(),
+			"selectConverterFrom", Map.of(
+				"annotationType", ConverterChoices.class.getName(),
+				"alternatives", Collections.emptyList()
+			)
+		);
+		BindInteger annotation = AnnotationCreator.createAnnotation(BindInteger.class, annotationData);
+		Map<String, Object> collectionAnnotationData = Map.of(
+			"annotationType", BindAsArray.class.getName(),
+			"size", Integer.toString(encodedValue.length)
+		);
+		BindAsArray collectionAnnotation = AnnotationCreator.createAnnotation(BindAsArray.class, collectionAnnotationData);
+
+		BitWriter writer = BitWriter.create();
+		codec.encode(writer, annotation, collectionAnnotation, null, encodedValue);
+		writer.flush();
+
+		Assertions.assertArrayEquals(new byte[]{0x01, 0x23, 0x04, 0x56}, writer.array());
+
+		BitReaderInterface reader = BitReader.wrap(writer);
+		Object decoded = codec.decode(reader, annotation, collectionAnnotation, null);
+
+		//an input type that is not an array still receives an array of big integers
+		Assertions.assertArrayEquals(encodedValue, (BigInteger[])decoded);
+	}
+
+	private static class AlwaysPassObjectValidator implements Validator<Object>{
+		@Override
+		public boolean isValid(final Object value){
+			return true;
+		}
+	}
+
 	@Test
 	void arrayOfSameObject() throws BoxonException{
 		CodecObject codec = new CodecObject();
@@ -256,6 +256,34 @@ class CodecIntegerTest{
 		Assertions.assertEquals(encodedValue, decoded);
 	}
 
+	@Test
+	void bitmapLittleEndianNotMultipleOfByte(){
+		assertBitmapMatchesBitSet(12, ByteOrder.LITTLE_ENDIAN);
+		assertBitmapMatchesBitSet(24, ByteOrder.LITTLE_ENDIAN);
+		assertBitmapMatchesBitSet(12, ByteOrder.BIG_ENDIAN);
+		assertBitmapMatchesBitSet(24, ByteOrder.BIG_ENDIAN);
+	}
+
+	private static void assertBitmapMatchesBitSet(final int size, final ByteOrder byteOrder){
+		long[] values = {0l, 1l, 0x0123l, 0x0800l, 0x0FFFl, 0x12_3456l, 0x80_0000l, 0xFF_FFFFl};
+		for(long value : values){
+			long bits = value & ((1l << size) - 1);
+
+			BitSet expectedBitmap = BitSetHelper.createBitSet(size, BigInteger.valueOf(bits), byteOrder);
+			Assertions.assertEquals(toLong(expectedBitmap), BitSetHelper.createBitmap(size, bits, byteOrder),
+				"createBitmap of " + Long.toHexString(bits) + " on " + size + " bits, " + byteOrder);
+
+			BigInteger expectedValue = BitSetHelper.toObjectiveType(BitSet.valueOf(new long[]{bits}), size, byteOrder);
+			Assertions.assertEquals(expectedValue.longValue(), BitSetHelper.toObjectiveType(bits, size, byteOrder),
+				"toObjectiveType of " + Long.toHexString(bits) + " on " + size + " bits, " + byteOrder);
+		}
+	}
+
+	private static long toLong(final BitSet bitmap){
+		long[] words = bitmap.toLongArray();
+		return (words.length > 0? words[0]: 0l);
+	}
+
 	/**
 	 * Right pad a string with a specified character.
 	 *
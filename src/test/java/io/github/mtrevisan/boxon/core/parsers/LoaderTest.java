@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.boxon.core.parsers;
 
+import io.github.mtrevisan.boxon.annotations.TemplateHeader;
 import io.github.mtrevisan.boxon.core.codecs.CodecLoader;
 import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageASCII;
 import io.github.mtrevisan.boxon.core.codecs.queclink.ACKMessageHex;
@@ -36,9 +37,22 @@ import io.github.mtrevisan.boxon.io.BitReaderInterface;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 
 class LoaderTest{
 
+	@TemplateHeader(start = "+ACK")
+	static class NoDataMessage{
+		String text;
+	}
+
+
 	@Test
 	void loadFromMap(){
 		CodecLoader.clearCodecs();
@@ -72,6 +86,21 @@ class LoaderTest{
 		Assertions.assertTrue(exc.getMessage().startsWith("No data can be extracted from this class: "));
 	}
 
+	@Test
+	void loadCodecsAfterTemplatesReportsFirstError(){
+		CodecLoader.clearCodecs();
+		TemplateLoader templateLoader = TemplateLoader.create();
+		String message = Assertions.assertThrows(AnnotationException.class, () -> templateLoader.loadTemplatesFrom(LoaderTest.class))
+			.getMessage();
+
+		//templates are extracted in parallel, but the error reported must always be the same
+		for(int i = 0; i < 10; i ++){
+			Exception exc = Assertions.assertThrows(AnnotationException.class,
+				() -> templateLoader.loadTemplatesFrom(LoaderTest.class));
+			Assertions.assertEquals(message, exc.getMessage());
+		}
+	}
+
 	@Test
 	void loadTemplate() throws Exception{
 		CodecLoader.clearCodecs();
@@ -87,6 +116,74 @@ class LoaderTest{
 		Assertions.assertEquals(ACKMessageHex.class, template.getType());
 	}
 
+	@Test
+	void loadTemplateLazily() throws Exception{
+		CodecLoader.clearCodecs();
+		CodecLoader.loadDefaultCodecs();
+		TemplateLoader templateLoader = TemplateLoader.create();
+		templateLoader.withLazyLoading(true);
+		templateLoader.loadTemplate(ACKMessageHex.class);
+
+		byte[] payload = StringHelper.hexToByteArray("2b41434b066f2446010a0311235e40035110420600ffff07e30405083639001265b60d0a");
+		List<Callable<Template<?>>> tasks = new ArrayList<>();
+		for(int i = 0; i < 8; i ++)
+			tasks.add(() -> templateLoader.getTemplate(BitReader.wrap(payload)));
+		List<Future<Template<?>>> templates;
+		try(ExecutorService executor = Executors.newFixedThreadPool(tasks.size())){
+			templates = executor.invokeAll(tasks);
+		}
+
+		Template<?> template = templates.getFirst().get();
+		Assertions.assertEquals(ACKMessageHex.class, template.getType());
+		for(int i = 1; i < templates.size(); i ++)
+			Assertions.assertSame(template, templates.get(i).get());
+	}
+
+	@Test
+	void loadInvalidTemplateLazily() throws Exception{
+		CodecLoader.clearCodecs();
+		CodecLoader.loadDefaultCodecs();
+		TemplateLoader templateLoader = TemplateLoader.create();
+		templateLoader.withLazyLoading(true);
+		templateLoader.loadTemplate(NoDataMessage.class);
+
+		byte[] payload = StringHelper.hexToByteArray("2b41434b066f2446010a0311235e40035110420600ffff07e30405083639001265b60d0a");
+		BitReaderInterface reader = BitReader.wrap(payload);
+		TemplateException exc = Assertions.assertThrows(TemplateException.class, () -> templateLoader.getTemplate(reader));
+		Assertions.assertEquals("Cannot find any template for given raw message", exc.getMessage());
+		Assertions.assertTrue(templateLoader.getTemplates().isEmpty());
+	}
+
+	@Test
+	void reloadTemplates() throws Exception{
+		CodecLoader.clearCodecs();
+		CodecLoader.loadDefaultCodecs();
+		TemplateLoader templateLoader = TemplateLoader.create();
+		templateLoader.loadTemplate(TemplateTest.Message.class);
+
+		byte[] payload = StringHelper.hexToByteArray("2b41434b066f2446010a0311235e40035110420600ffff07e30405083639001265b60d0a");
+		Assertions.assertEquals(TemplateTest.Message.class, templateLoader.getTemplate(BitReader.wrap(payload)).getType());
+
+		templateLoader.reloadTemplatesFrom(ACKMessageHex.class);
+
+		Assertions.assertEquals(ACKMessageHex.class, templateLoader.getTemplate(BitReader.wrap(payload)).getType());
+		Assertions.assertThrows(TemplateException.class, () -> templateLoader.getTemplate(TemplateTest.Message.class));
+	}
+
+	@Test
+	void reloadTemplatesKeepsPreviousOnError() throws Exception{
+		CodecLoader.clearCodecs();
+		CodecLoader.loadDefaultCodecs();
+		TemplateLoader templateLoader = TemplateLoader.create();
+		templateLoader.loadTemplate(ACKMessageHex.class);
+
+		CodecLoader.clearCodecs();
+		Assertions.assertThrows(AnnotationException.class, () -> templateLoader.reloadTemplatesFrom(LoaderTest.class));
+
+		byte[] payload = StringHelper.hexToByteArray("2b41434b066f2446010a0311235e40035110420600ffff07e30405083639001265b60d0a");
+		Assertions.assertEquals(ACKMessageHex.class, templateLoader.getTemplate(BitReader.wrap(payload)).getType());
+	}
+
 	@Test
 	void cannotLoadTemplate(){
 		CodecLoader.clearCodecs();
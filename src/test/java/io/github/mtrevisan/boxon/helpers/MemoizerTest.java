@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.helpers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+
+class MemoizerTest{
+
+	@Test
+	void boundedMemoizeComputesOutsideTheLock() throws Exception{
+		//each computation waits for the other one, so they must run concurrently
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		Function<Integer, String> memoized = Memoizer.memoize(input -> {
+			try{
+				barrier.await(5, TimeUnit.SECONDS);
+			}
+			catch(Exception e){
+				throw new IllegalStateException(e);
+			}
+			return "value" + input;
+		}, 10);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try{
+			Future<String> first = executor.submit(() -> memoized.apply(1));
+			Future<String> second = executor.submit(() -> memoized.apply(2));
+
+			Assertions.assertEquals("value1", first.get(10, TimeUnit.SECONDS));
+			Assertions.assertEquals("value2", second.get(10, TimeUnit.SECONDS));
+		}
+		finally{
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void boundedMemoizeKeepsTheMostRecentlyUsed(){
+		AtomicInteger calls = new AtomicInteger();
+		Function<Integer, Integer> memoized = Memoizer.memoize(input -> {
+			calls.incrementAndGet();
+			return input * 2;
+		}, 2);
+
+		Assertions.assertEquals(2, memoized.apply(1));
+		Assertions.assertEquals(4, memoized.apply(2));
+		Assertions.assertEquals(2, memoized.apply(1));
+		Assertions.assertEquals(2, calls.get());
+
+		//evicts the least recently used input
+		Assertions.assertEquals(6, memoized.apply(3));
+		Assertions.assertEquals(2, memoized.apply(1));
+		Assertions.assertEquals(3, calls.get());
+		Assertions.assertEquals(4, memoized.apply(2));
+		Assertions.assertEquals(4, calls.get());
+	}
+
+}
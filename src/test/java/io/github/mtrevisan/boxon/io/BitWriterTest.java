@@ -31,6 +31,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
 import java.util.BitSet;
 
 
@@ -54,6 +56,90 @@ class BitWriterTest{
 		Assertions.assertEquals(value, reader.readBitSet(Long.SIZE << 1));
 	}
 
+	@Test
+	void bitSetUnaligned(){
+		BitSet value = BitSet.valueOf(new long[]{0x0AB5l});
+		writer.skipBits(3);
+		writer.writeBitSet(value, 12);
+		BitReaderInterface reader = BitReader.wrap(writer);
+
+		Assertions.assertEquals("156A", reader.toString());
+		reader.skip(3);
+		Assertions.assertEquals(value, reader.readBitSet(12));
+	}
+
+	@Test
+	void bitSetLargeUnaligned(){
+		BitSet value = new BitSet();
+		for(int i = 0; i < 3_000; i += 3)
+			value.set(i);
+		writer.skipBits(5);
+		writer.writeBitSet(value, 3_001);
+		writer.writeByte((byte)0x16);
+		BitReaderInterface reader = BitReader.wrap(writer);
+
+		reader.skip(5);
+		Assertions.assertEquals(value, reader.readBitSet(3_001));
+		Assertions.assertEquals((byte)0x16, reader.readByte());
+	}
+
+	@Test
+	void byteUnaligned(){
+		writer.skipBits(3);
+		writer.writeByte((byte)0x7A);
+		writer.writeShort((short)0x1234, ByteOrder.BIG_ENDIAN);
+		BitReaderInterface reader = BitReader.wrap(writer);
+
+		Assertions.assertEquals("0F424680", reader.toString());
+		reader.skip(3);
+		Assertions.assertEquals((byte)0x7A, reader.readByte());
+		Assertions.assertEquals((short)0x1234, reader.readShort(ByteOrder.BIG_ENDIAN));
+	}
+
+	@Test
+	void bits(){
+		writer.writeBits(0x05l, 3);
+		writer.writeBits(0x1234_5678_9ABCl, 48);
+		writer.writeBits(-1l, 5);
+		BitReaderInterface reader = BitReader.wrap(writer);
+
+		Assertions.assertEquals("A2468ACF13579F", reader.toString());
+	}
+
+	@Test
+	void defaultBits(){
+		//an implementation that relies on the default methods
+		BitWriterInterface defaultWriter = delegateTo(BitWriterInterface.class, writer);
+		defaultWriter.writeBits(0x05l, 3);
+		defaultWriter.writeBits(0x1234_5678_9ABCl, 48);
+		defaultWriter.writeBits(-1l, 5);
+		BitReaderInterface reader = delegateTo(BitReaderInterface.class, BitReader.wrap(writer));
+
+		Assertions.assertEquals(0x05l, reader.readBits(3));
+		Assertions.assertEquals(0x1234_5678_9ABCl, reader.readBits(48));
+		Assertions.assertEquals(0x1Fl, reader.readBits(5));
+	}
+
+	private static <T> T delegateTo(final Class<T> type, final T delegate){
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+			(proxy, method, arguments) -> (method.isDefault()
+				? InvocationHandler.invokeDefault(proxy, method, arguments)
+				: method.invoke(delegate, arguments))));
+	}
+
+	@Test
+	void growBuffer(){
+		byte[] value = new byte[1_000];
+		for(int i = 0; i < value.length; i ++)
+			value[i] = (byte)i;
+		writer.writeBytes(value);
+		writer.writeLong(0x1234_5678_1234_4568l, ByteOrder.BIG_ENDIAN);
+		BitReaderInterface reader = BitReader.wrap(writer);
+
+		Assertions.assertArrayEquals(value, reader.readBytes(value.length));
+		Assertions.assertEquals(0x1234_5678_1234_4568l, reader.readLong(ByteOrder.BIG_ENDIAN));
+	}
+
 	@Test
 	void bytePrimitive(){
 		byte value = 0x16;
@@ -180,4 +266,26 @@ class BitWriterTest{
 		Assertions.assertEquals("7700", reader.toString());
 	}
 
+	@Test
+	void patchSlot(){
+		writer.writeByte((byte)'w');
+		int slot = writer.reserveSlot(Short.SIZE);
+		writer.writeByte((byte)'w');
+		writer.patchSlot(slot, 0x1234, Short.SIZE);
+		BitReaderInterface reader = BitReader.wrap(writer);
+
+		Assertions.assertEquals("77123477", reader.toString());
+	}
+
+	@Test
+	void patchUnalignedSlot(){
+		writer.skipBits(3);
+		int slot = writer.reserveSlot(7);
+		writer.skipBits(2);
+		writer.patchSlot(slot, 0x7F, 7);
+		BitReaderInterface reader = BitReader.wrap(writer);
+
+		Assertions.assertEquals("1FC0", reader.toString());
+	}
+
 }
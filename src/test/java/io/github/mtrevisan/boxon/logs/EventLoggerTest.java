@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.logs;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+
+class EventLoggerTest{
+
+	@Test
+	void noOpListenerHasNoCapabilities(){
+		EventListener listener = EventListener.getNoOpInstance();
+
+		Assertions.assertEquals(EventListener.CAPABILITY_NONE, listener.getCapabilities());
+		Assertions.assertFalse(listener.hasCapability(EventListener.CAPABILITY_FIELD_EVENTS));
+	}
+
+	@Test
+	void loggerRequestsFieldEventsOnlyOnTrace(){
+		//the test configuration logs at debug level
+		EventLogger logger = EventLogger.getInstance();
+
+		Assertions.assertFalse(logger.hasCapability(EventListener.CAPABILITY_FIELD_EVENTS));
+	}
+
+	@Test
+	void asyncLoggerDoesNotBlock() throws InterruptedException{
+		CountDownLatch sinkStarted = new CountDownLatch(1);
+		CountDownLatch releaseSink = new CountDownLatch(1);
+		AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(createBlockingLogger(sinkStarted, releaseSink), 4);
+		try{
+			dispatcher.dispatch(Level.ERROR, "first", new Object[0], null);
+			//wait for the background thread to be stuck in the sink
+			sinkStarted.await();
+
+			Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+				for(int i = 0; i < 100; i ++)
+					dispatcher.dispatch(Level.ERROR, "event {}", new Object[]{i}, null);
+			});
+
+			//the buffer holds 4 events, while the sink holds the first one
+			Assertions.assertEquals(100l - 4l, dispatcher.getDroppedEvents());
+		}
+		finally{
+			releaseSink.countDown();
+		}
+		Assertions.assertEquals(0l, EventLogger.getInstance().getDroppedEvents());
+	}
+
+	@Test
+	void asyncLoggerSnapshotsParameters() throws InterruptedException{
+		CountDownLatch sinkStarted = new CountDownLatch(1);
+		CountDownLatch releaseSink = new CountDownLatch(1);
+		CountDownLatch logged = new CountDownLatch(2);
+		List<String> messages = new CopyOnWriteArrayList<>();
+		InvocationHandler handler = (proxy, method, args) -> {
+			if(method.isDefault())
+				return InvocationHandler.invokeDefault(proxy, method, args);
+			if(method.getReturnType() == boolean.class)
+				return true;
+			if(method.getReturnType() == String.class)
+				return "capturing";
+
+			messages.add((String)args[0]);
+			sinkStarted.countDown();
+			releaseSink.await();
+			logged.countDown();
+			return null;
+		};
+		Logger logger = (Logger)Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[]{Logger.class}, handler);
+		AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(logger, 4);
+
+		int[] values = {1, 2};
+		StringBuilder text = new StringBuilder("a");
+		try{
+			dispatcher.dispatch(Level.ERROR, "first", new Object[0], null);
+			sinkStarted.await();
+
+			dispatcher.dispatch(Level.ERROR, "values {} {}", new Object[]{values, text}, null);
+			//the caller changes the parameters while the event is still in the buffer
+			values[0] = 9;
+			text.append('b');
+		}
+		finally{
+			releaseSink.countDown();
+		}
+
+		Assertions.assertTrue(logged.await(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(List.of("first", "values [1, 2] a"), messages);
+	}
+
+	private static Logger createBlockingLogger(final CountDownLatch sinkStarted, final CountDownLatch releaseSink){
+		InvocationHandler handler = (proxy, method, args) -> {
+			if(method.isDefault())
+				return InvocationHandler.invokeDefault(proxy, method, args);
+			if(method.getReturnType() == boolean.class)
+				return true;
+			if(method.getReturnType() == String.class)
+				return "blocking";
+
+			//a logging method: block until released
+			sinkStarted.countDown();
+			releaseSink.await();
+			return null;
+		};
+		return (Logger)Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[]{Logger.class}, handler);
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.logs;
+
+import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+import io.github.mtrevisan.boxon.annotations.bindings.BindInteger;
+import io.github.mtrevisan.boxon.annotations.bindings.BindString;
+import io.github.mtrevisan.boxon.core.Composer;
+import io.github.mtrevisan.boxon.core.Core;
+import io.github.mtrevisan.boxon.core.CoreBuilder;
+import io.github.mtrevisan.boxon.core.Parser;
+import io.github.mtrevisan.boxon.core.Response;
+import io.github.mtrevisan.boxon.helpers.StringHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+
+class MetricsListenerTest{
+
+	@TemplateHeader(start = "tc", end = "\r\n")
+	static class SimpleMessage{
+		@BindString(size = "2")
+		String header = "tc";
+		@BindInteger(size = "16")
+		short value = 0x1234;
+	}
+
+
+	@Test
+	void collectMetrics() throws Exception{
+		MetricsListener metrics = MetricsListener.create();
+		Core core = CoreBuilder.builder()
+			.withEventListener(metrics)
+			.withDefaultCodecs()
+			.withTemplate(SimpleMessage.class)
+			.build();
+		Composer composer = Composer.create(core);
+		Parser parser = Parser.create(core);
+
+		Response<SimpleMessage, byte[]> composeResult = composer.compose(new SimpleMessage());
+		Assertions.assertFalse(composeResult.hasError());
+		//two garbage bytes in front of the message
+		List<Response<byte[], Object>> result = parser.parse(StringHelper.hexToByteArray("0000746312340D0A"));
+		Assertions.assertEquals(2, result.size());
+
+		MetricsListener.Snapshot snapshot = metrics.snapshot();
+		MetricsListener.TemplateSnapshot templateSnapshot = snapshot.templates()
+			.get(SimpleMessage.class.getName());
+		Assertions.assertEquals(1l, templateSnapshot.encodedMessages());
+		Assertions.assertEquals(6l, templateSnapshot.encodedBytes());
+		Assertions.assertEquals(1l, templateSnapshot.encodeLatency().count());
+		Assertions.assertEquals(1l, templateSnapshot.decodedMessages());
+		Assertions.assertEquals(6l, templateSnapshot.decodedBytes());
+		Assertions.assertEquals(1l, templateSnapshot.decodeLatency().count());
+		Assertions.assertEquals(1l, snapshot.templates().get(MetricsListener.UNKNOWN_TEMPLATE).decodeErrors());
+		Assertions.assertEquals(1l, snapshot.resynchronizations());
+		Assertions.assertEquals(2l, snapshot.skippedBytes());
+		Assertions.assertEquals(1, snapshot.errors().size());
+	}
+
+	@Test
+	void histogramBuckets(){
+		for(long value = 0l; value < 1_000_000l; value += 7l){
+			int index = LatencyHistogram.indexOf(value);
+			long highest = LatencyHistogram.highestEquivalentValue(index);
+
+			Assertions.assertTrue(value <= highest);
+			Assertions.assertEquals(index, LatencyHistogram.indexOf(highest));
+			Assertions.assertTrue(highest - value <= Math.max(1l, value >>> 5));
+		}
+		Assertions.assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+
+		LatencyHistogram histogram = new LatencyHistogram();
+		for(long value = 1l; value <= 1_000l; value ++)
+			histogram.record(value);
+		MetricsListener.HistogramSnapshot snapshot = histogram.snapshot();
+
+		Assertions.assertEquals(1_000l, snapshot.count());
+		Assertions.assertEquals(500.5, snapshot.mean(), 0.001);
+		Assertions.assertEquals(1_000l, snapshot.max());
+		Assertions.assertTrue(Math.abs(snapshot.p50() - 500l) <= 16l);
+		Assertions.assertTrue(Math.abs(snapshot.p99() - 990l) <= 32l);
+	}
+
+}
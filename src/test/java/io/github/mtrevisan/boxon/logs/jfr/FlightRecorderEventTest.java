@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020-2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.logs.jfr;
+
+import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+import io.github.mtrevisan.boxon.annotations.bindings.BindInteger;
+import io.github.mtrevisan.boxon.annotations.bindings.BindString;
+import io.github.mtrevisan.boxon.core.Composer;
+import io.github.mtrevisan.boxon.core.Core;
+import io.github.mtrevisan.boxon.core.CoreBuilder;
+import io.github.mtrevisan.boxon.core.Parser;
+import io.github.mtrevisan.boxon.helpers.StringHelper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+
+class FlightRecorderEventTest{
+
+	@TemplateHeader(start = "jf", end = "\r\n")
+	static class RecordedMessage{
+		@BindString(size = "2")
+		String header = "jf";
+		@BindInteger(size = "16")
+		short value = 0x1234;
+	}
+
+
+	@Test
+	void recordEvents() throws Exception{
+		Path file = Files.createTempFile("boxon", ".jfr");
+		try(Recording recording = new Recording()){
+			recording.enable(MessageDecodedEvent.NAME);
+			recording.enable(MessageEncodedEvent.NAME);
+			recording.enable(ResyncEvent.NAME);
+			recording.enable(TemplateLoadedEvent.NAME);
+			recording.start();
+
+			Core core = CoreBuilder.builder()
+				.withDefaultCodecs()
+				.withTemplate(RecordedMessage.class)
+				.build();
+			Composer.create(core)
+				.compose(new RecordedMessage());
+			//two garbage bytes in front of the message
+			Parser.create(core)
+				.parse(StringHelper.hexToByteArray("00006A6612340D0A"));
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		try{
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+			Assertions.assertEquals(1l, count(events, TemplateLoadedEvent.NAME));
+			Assertions.assertEquals(1l, count(events, MessageEncodedEvent.NAME));
+			Assertions.assertEquals(2l, count(events, MessageDecodedEvent.NAME));
+			RecordedEvent resync = events.stream()
+				.filter(event -> event.getEventType().getName().equals(ResyncEvent.NAME))
+				.findFirst()
+				.orElseThrow();
+			Assertions.assertEquals(2l, resync.getLong("skippedBytes"));
+			RecordedEvent decoded = events.stream()
+				.filter(event -> event.getEventType().getName().equals(MessageDecodedEvent.NAME) && event.getString("errorType") == null)
+				.findFirst()
+				.orElseThrow();
+			Assertions.assertEquals(RecordedMessage.class.getName(), decoded.getString("templateName"));
+			Assertions.assertEquals(6l, decoded.getLong("size"));
+		}
+		finally{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static long count(final List<RecordedEvent> events, final String name){
+		return events.stream()
+			.filter(event -> event.getEventType().getName().equals(name))
+			.count();
+	}
+
+}
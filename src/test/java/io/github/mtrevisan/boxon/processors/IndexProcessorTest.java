@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.boxon.processors;
+
+import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+import io.github.mtrevisan.boxon.annotations.configurations.ConfigurationHeader;
+import io.github.mtrevisan.boxon.helpers.ClassIndex;
+import io.github.mtrevisan.boxon.helpers.ReflectiveClassLoader;
+import io.github.mtrevisan.boxon.io.Codec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+
+class IndexProcessorTest{
+
+	private static final String TEMPLATE_SOURCE = """
+		package sample.messages;
+
+		import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+		import io.github.mtrevisan.boxon.annotations.bindings.BindInteger;
+		import io.github.mtrevisan.boxon.io.Codec;
+
+		@TemplateHeader(start = "+ACK")
+		public class AckMessage{
+			@BindInteger(size = "8")
+			byte type;
+
+			abstract static class CustomCodec implements Codec{}
+		}
+		""";
+	private static final String CONFIGURATION_SOURCE = """
+		package sample.messages.configurations;
+
+		import io.github.mtrevisan.boxon.annotations.configurations.ConfigurationHeader;
+
+		@ConfigurationHeader(shortDescription = "Sample", start = "AT+")
+		public class SampleConfiguration{}
+		""";
+	private static final String ADDED_TEMPLATE_SOURCE = """
+		package sample.messages;
+
+		import io.github.mtrevisan.boxon.annotations.TemplateHeader;
+
+		@TemplateHeader(start = "+NACK")
+		public class NackMessage{}
+		""";
+
+
+	@Test
+	void writeAndReadIndex(@TempDir final Path folder) throws Exception{
+		Path sources = Files.createDirectories(folder.resolve("sources"));
+		Path classes = Files.createDirectories(folder.resolve("classes"));
+		Path templateSource = Files.writeString(sources.resolve("AckMessage.java"), TEMPLATE_SOURCE);
+		Path configurationSource = Files.writeString(sources.resolve("SampleConfiguration.java"), CONFIGURATION_SOURCE);
+
+		Assertions.assertTrue(compile(classes, true, templateSource, configurationSource));
+
+		List<String> index = Files.readAllLines(classes.resolve(ClassIndex.RESOURCE_NAME));
+		Assertions.assertTrue(index.contains("package=sample.messages,2"));
+		Assertions.assertTrue(index.contains("package=sample.messages.configurations,1"));
+		Assertions.assertTrue(index.contains(TemplateHeader.class.getName() + "=sample.messages.AckMessage"));
+		Assertions.assertTrue(index.contains(Codec.class.getName() + "=sample.messages.AckMessage$CustomCodec"));
+		Assertions.assertTrue(index.contains(ConfigurationHeader.class.getName() + "=sample.messages.configurations.SampleConfiguration"));
+
+		//the classes are not visible to the classpath scanner: they can be found only through the index
+		try(URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())){
+			Class<?> templateClass = classLoader.loadClass("sample.messages.AckMessage");
+			ReflectiveClassLoader reflectiveClassLoader = ReflectiveClassLoader.createFrom(templateClass);
+
+			Assertions.assertEquals(List.of(templateClass), reflectiveClassLoader.extractClassesWithAnnotation(TemplateHeader.class));
+			Assertions.assertEquals(List.of(classLoader.loadClass("sample.messages.AckMessage$CustomCodec")),
+				reflectiveClassLoader.extractClassesImplementing(Codec.class));
+			Assertions.assertEquals(List.of(classLoader.loadClass("sample.messages.configurations.SampleConfiguration")),
+				reflectiveClassLoader.extractClassesWithAnnotation(ConfigurationHeader.class));
+		}
+
+		//a class compiled without the processor makes the index stale
+		Path addedTemplateSource = Files.writeString(sources.resolve("NackMessage.java"), ADDED_TEMPLATE_SOURCE);
+		Assertions.assertTrue(compile(classes, false, addedTemplateSource));
+		try(URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())){
+			Assertions.assertFalse(ClassIndex.load(classLoader).covers("sample.messages"));
+			Assertions.assertTrue(ClassIndex.load(classLoader).covers("sample.messages.configurations"));
+
+			//the package is scanned, and the scanner cannot see the classes
+			ReflectiveClassLoader reflectiveClassLoader = ReflectiveClassLoader.createFrom(classLoader.loadClass("sample.messages.AckMessage"));
+			Assertions.assertEquals(List.of(), reflectiveClassLoader.extractClassesWithAnnotation(TemplateHeader.class));
+		}
+	}
+
+	private static boolean compile(final Path classes, final boolean withProcessor, final Path... sources) throws Exception{
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		String boxonClasses = Path.of(TemplateHeader.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, null,
+			List.of((withProcessor? "-proc:full": "-proc:none"), "-classpath", boxonClasses + File.pathSeparator + classes,
+				"-d", classes.toString()), null,
+			compiler.getStandardFileManager(null, null, null).getJavaFileObjects(sources));
+		if(withProcessor)
+			task.setProcessors(List.of(new IndexProcessor()));
+		return task.call();
+	}
+
+}